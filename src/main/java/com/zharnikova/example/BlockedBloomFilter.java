@@ -0,0 +1,208 @@
+package com.zharnikova.example;
+
+import java.util.SplittableRandom;
+
+/**
+ *     -  MyHashMap (. MyHashMap.enableBloomFilter())
+ *  -  64- :  k      long,   -        
+ * (     -).      k    ,    
+ *      k     0..63 ,   -    65536 
+ * (   );        -.
+ *      :     ,         ,
+ *  bitsPerKey    expectedFalsePositiveRate(),   .
+ *   ,   :  ,     ,       
+ *   .     (  " "),  MyHashMap   (recordRemoval())
+ *   ,      expectedKeys.     (incrementalResize  false)
+ *   ,             transfer()
+ * (MyHashMap.migratingBloomFilter)   ,   .
+ *    MyHashMap  Entry.hash,         hashCode().
+ */
+final class BlockedBloomFilter {
+
+    /**
+     *   - (   )
+     */
+    static final int MAX_HASHES = 12;
+
+    private static final int PATTERN_COUNT = 1024;
+    private static final long BLOCK_MIX = 0x9E3779B97F4A7C15L;
+    private static final long MASK_MIX = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * PATTERNS[k] - PATTERN_COUNT     k  (8   k,    )
+     */
+    private static final long[][] PATTERNS = new long[MAX_HASHES + 1][PATTERN_COUNT];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int k = 1; k <= MAX_HASHES; k++) {
+            for (int i = 0; i < PATTERN_COUNT; i++) {
+                long pattern = 0;
+                while (Long.bitCount(pattern) < k) {
+                    pattern |= 1L << random.nextInt(Long.SIZE);
+                }
+                PATTERNS[k][i] = pattern;
+            }
+        }
+    }
+
+    /**
+     *         expectedKeys 
+     */
+    final double targetFalsePositiveRate;
+
+    /**
+     *  - (  )
+     */
+    final int hashes;
+
+    /**
+     *     ,   targetFalsePositiveRate     
+     */
+    final double bitsPerKey;
+
+    private final long[] patterns;
+    private long[] words;
+    private int expectedKeys;
+    private int removals;
+
+    /**
+     *   "  "
+     */
+    long rejectCount;
+
+    /**
+     *   :   " ",       ( MyHashMap)
+     */
+    long falsePositiveCount;
+
+    /**
+     * @param falsePositiveRate   , 0 < falsePositiveRate < 1
+     * @param expectedKeys        
+     * @throws IllegalArgumentException    (0, 1)
+     */
+    BlockedBloomFilter(double falsePositiveRate, int expectedKeys) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("   : " + falsePositiveRate);
+        }
+        this.targetFalsePositiveRate = falsePositiveRate;
+        this.hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(-Math.log(falsePositiveRate) / Math.log(2))));
+        double perKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        while (expectedFalsePositiveRate(Long.SIZE / perKey, hashes) > falsePositiveRate && perKey < Long.SIZE) {
+            perKey += 0.25;
+        }
+        this.bitsPerKey = perKey;
+        this.patterns = PATTERNS[hashes];
+        reset(expectedKeys);
+    }
+
+    /**
+     *  reset   ,   expectedKeys ;  rejectCount  falsePositiveCount 
+     *
+     * @param expectedKeys   
+     */
+    void reset(int expectedKeys) {
+        this.expectedKeys = Math.max(1, expectedKeys);
+        this.words = new long[(int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(this.expectedKeys * bitsPerKey / Long.SIZE))];
+        this.removals = 0;
+    }
+
+    /**
+     *  mightContain  -: false -    -    , true -  
+     *
+     * @param hash -  ( MyHashMap.hash())
+     * @return boolean false,    
+     */
+    boolean mightContain(int hash) {
+        long x = hash * BLOCK_MIX;
+        long mask = mask(x);
+        if ((words[index(x)] & mask) != mask) {
+            rejectCount++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     *  add   -
+     *
+     * @param hash -  
+     */
+    void add(int hash) {
+        long x = hash * BLOCK_MIX;
+        words[index(x)] |= mask(x);
+    }
+
+    /**
+     *  recordRemoval   ,    
+     *
+     * @return boolean true,    ,    
+     */
+    boolean recordRemoval() {
+        return ++removals > expectedKeys >>> 2;
+    }
+
+    /**
+     *   -  32  x,     (   )
+     */
+    private int index(long x) {
+        return (int) (((x >>> 32) * words.length) >>> 32);
+    }
+
+    /**
+     *   - ,   10   x      6 
+     */
+    private long mask(long x) {
+        x = (x ^ (x >>> 29)) * MASK_MIX;
+        x ^= x >>> 32;
+        return Long.rotateLeft(patterns[(int) x & (PATTERN_COUNT - 1)], (int) (x >>> 58));
+    }
+
+    /**
+     * @return long    
+     */
+    long memoryBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * @return int  ,    
+     */
+    int expectedKeys() {
+        return expectedKeys;
+    }
+
+    /**
+     *  expectedFalsePositiveRate      keys 
+     *
+     * @param keys    
+     * @return double    
+     */
+    double expectedFalsePositiveRate(int keys) {
+        return expectedFalsePositiveRate((double) keys / words.length, hashes);
+    }
+
+    /**
+     *     :          keysPerWord,
+     *     j     (1 - (1 - 1 / 64)^(k * j))^k.      
+     *     ,  bitsPerKey    ,       .
+     *
+     * @param keysPerWord     
+     * @param hashes       -
+     * @return double    
+     */
+    static double expectedFalsePositiveRate(double keysPerWord, int hashes) {
+        if (keysPerWord <= 0) {
+            return 0;
+        }
+        double empty = 1 - 1.0 / Long.SIZE;
+        int last = (int) (keysPerWord + 12 * Math.sqrt(keysPerWord) + 20);
+        double probability = Math.exp(-keysPerWord);
+        double rate = 0;
+        for (int j = 0; j <= last; j++) {
+            rate += probability * Math.pow(1 - Math.pow(empty, (double) hashes * j), hashes);
+            probability *= keysPerWord / (j + 1);
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,119 @@
+package com.zharnikova.example;
+
+/**
+ *     MyHashMap,   MyHashMap.bloomFilterStats()  MyHashMap.enableBloomFilter()
+ *  ,     :   get()/containsKey()      
+ *     (  -   ,    ).
+ *  .
+ */
+public final class BloomFilterStats {
+
+    private final int size;
+    private final int expectedKeys;
+    private final double targetFalsePositiveRate;
+    private final double expectedFalsePositiveRate;
+    private final int hashFunctions;
+    private final double bitsPerExpectedKey;
+    private final long memoryBytes;
+    private final long rejectCount;
+    private final long falsePositiveCount;
+
+    BloomFilterStats(int size, BlockedBloomFilter filter) {
+        this.size = size;
+        this.expectedKeys = filter.expectedKeys();
+        this.targetFalsePositiveRate = filter.targetFalsePositiveRate;
+        this.expectedFalsePositiveRate = filter.expectedFalsePositiveRate(size);
+        this.hashFunctions = filter.hashes;
+        this.bitsPerExpectedKey = filter.bitsPerKey;
+        this.memoryBytes = filter.memoryBytes();
+        this.rejectCount = filter.rejectCount;
+        this.falsePositiveCount = filter.falsePositiveCount;
+    }
+
+    /**
+     * @return int    
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return int  ,     (  );      
+     */
+    public int expectedKeys() {
+        return expectedKeys;
+    }
+
+    /**
+     * @return double      expectedKeys() 
+     */
+    public double targetFalsePositiveRate() {
+        return targetFalsePositiveRate;
+    }
+
+    /**
+     * @return double        
+     */
+    public double expectedFalsePositiveRate() {
+        return expectedFalsePositiveRate;
+    }
+
+    /**
+     * @return int  - (  )
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * @return double      (,   targetFalsePositiveRate())
+     */
+    public double bitsPerExpectedKey() {
+        return bitsPerExpectedKey;
+    }
+
+    /**
+     * @return long    
+     */
+    public long memoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * @return double          (Infinity   )
+     */
+    public double bitsPerKey() {
+        return memoryBytes * 8.0 / size;
+    }
+
+    /**
+     * @return long  ,     ,    
+     */
+    public long rejectCount() {
+        return rejectCount;
+    }
+
+    /**
+     * @return long   :   ,    
+     */
+    public long falsePositiveCount() {
+        return falsePositiveCount;
+    }
+
+    /**
+     * @return double         (NaN,     )
+     */
+    public double observedFalsePositiveRate() {
+        return (double) falsePositiveCount / (falsePositiveCount + rejectCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilterStats{size=" + size + ", expectedKeys=" + expectedKeys
+                + ", targetFalsePositiveRate=" + targetFalsePositiveRate + ", expectedFalsePositiveRate=" + expectedFalsePositiveRate
+                + ", hashFunctions=" + hashFunctions + ", bitsPerExpectedKey=" + bitsPerExpectedKey
+                + ", memoryBytes=" + memoryBytes + ", bitsPerKey=" + bitsPerKey()
+                + ", rejectCount=" + rejectCount + ", falsePositiveCount=" + falsePositiveCount
+                + ", observedFalsePositiveRate=" + observedFalsePositiveRate() + '}';
+    }
+}
@@ -0,0 +1,554 @@
+package com.zharnikova.example;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.ToIntBiFunction;
+
+/**
+ *    MyHashMap       
+ *    (LinkedEntry)       (AccessOrderDeque),
+ *        O(1),   .
+ *     (EvictionPolicy):
+ * LRU -     ,  ,      ;
+ * TINY_LFU - W-TinyLFU:       (LRU, WINDOW_PERCENT  ),     
+ *     ( LRU:    )      FrequencySketch
+ *    ,     .         .
+ *    weigher (     1,     ).
+ *    evictionListener.  hitCount, missCount  evictionCount    .
+ * get()   (   ), containsKey() - .      (treeBins()).
+ *      : weigher  evictionListener  ,     FrequencySketch  .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class BoundedMyHashMap<K, V> extends MyHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     *  
+     */
+    public enum EvictionPolicy {
+        /**
+         *  ,      
+         */
+        LRU,
+        /**
+         *  LRU         (W-TinyLFU)
+         */
+        TINY_LFU
+    }
+
+    /**
+     *   W-TinyLFU   ,  
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     *       W-TinyLFU,  
+     */
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    /**
+     *    
+     */
+    private final long maximumWeight;
+
+    /**
+     *     null,     1
+     */
+    private final transient ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     *  
+     */
+    private final EvictionPolicy policy;
+
+    /**
+     *     null
+     */
+    private final transient BiConsumer<? super K, ? super V> evictionListener;
+
+    /**
+     *  (W-TinyLFU)    (LRU),     
+     */
+    private final transient AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+
+    /**
+     *     W-TinyLFU
+     */
+    private final transient AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+
+    /**
+     *     W-TinyLFU
+     */
+    private final transient AccessOrderDeque<K, V> protectedDeque = new AccessOrderDeque<>();
+
+    /**
+     *       null  LRU
+     */
+    private final transient FrequencySketch sketch;
+
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long totalWeight;
+    private long windowWeight;
+    private long protectedWeight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     *      maximumSize    LRU
+     *
+     * @param maximumSize   
+     */
+    public BoundedMyHashMap(long maximumSize) {
+
+        this(maximumSize, EvictionPolicy.LRU);
+    }
+
+    /**
+     *      maximumSize     
+     *
+     * @param maximumSize   
+     * @param policy       
+     */
+    public BoundedMyHashMap(long maximumSize, EvictionPolicy policy) {
+
+        this(maximumSize, null, policy, null);
+    }
+
+    /**
+     *      
+     *
+     * @param maximumWeight       (  ,  weigher  null)
+     * @param weigher             ( )  null,     1
+     * @param policy            
+     * @param evictionListener     null
+     * @throws IllegalArgumentException  maximumWeight 
+     */
+    public BoundedMyHashMap(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher,
+                            EvictionPolicy policy, BiConsumer<? super K, ? super V> evictionListener) {
+        super();
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("  : " + maximumWeight);
+        }
+        if (policy == null) {
+            throw new NullPointerException();
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.evictionListener = evictionListener;
+        if (policy == EvictionPolicy.TINY_LFU) {
+            windowMaximum = Math.max(1, maximumWeight * WINDOW_PERCENT / 100);
+            protectedMaximum = (maximumWeight - windowMaximum) * PROTECTED_PERCENT / 100;
+            sketch = new FrequencySketch(weigher == null ? maximumWeight : Math.min(maximumWeight, 1 << 20));
+        } else {
+            windowMaximum = maximumWeight;
+            protectedMaximum = 0;
+            sketch = null;
+        }
+    }
+
+    /**
+     *         ;      hitCount  missCount
+     *
+     * @param key  HashMap
+     * @return V    null
+     */
+    @Override
+    public V get(Object key) {
+        Entry<K, V> entry = key == null ? null : getEntry(key);
+        if (entry == null) {
+            missCount++;
+            if (sketch != null && key != null) {
+                sketch.increment(hash(key));
+            }
+            return null;
+        }
+        hitCount++;
+        onAccess((LinkedEntry<K, V>) entry);
+        return entry.v;
+    }
+
+    /**
+     *      defaultValue;   ,  get()
+     *
+     * @param key           HashMap
+     * @param defaultValue   
+     * @return V    defaultValue
+     */
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        Entry<K, V> entry = key == null ? null : getEntry(key);
+        if (entry == null) {
+            missCount++;
+            return defaultValue;
+        }
+        hitCount++;
+        onAccess((LinkedEntry<K, V>) entry);
+        return entry.v;
+    }
+
+    /**
+     * @return long   get()
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return long   get()
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return long   
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return double     get() (1,    )
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return long    
+     */
+    public long weightedSize() {
+        return totalWeight;
+    }
+
+    /**
+     * @return long    
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     *      function(, ),        ,
+     *     maximumWeight;       
+     *
+     * @param function ,   
+     */
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        super.replaceAll(function);
+        evict();
+    }
+
+    /**
+     *  writeObject  :      FrequencySketch    (null)
+     *
+     * @param out  
+     * @throws NotSerializableException 
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    @Override
+    Entry<K, V> newEntry(int hash, K key, V value, Entry<K, V> next) {
+        return new LinkedEntry<>(hash, key, value, next);
+    }
+
+    @Override
+    boolean treeBins() {
+        return false;
+    }
+
+    @Override
+    void afterEntryInsertion(Entry<K, V> entry) {
+        LinkedEntry<K, V> e = (LinkedEntry<K, V>) entry;
+        e.weight = weigh(e.k, e.v);
+        e.region = WINDOW;
+        window.addLast(e);
+        windowWeight += e.weight;
+        totalWeight += e.weight;
+        if (sketch != null) {
+            sketch.increment(e.hash);
+        }
+        evict();
+    }
+
+    @Override
+    void afterEntryAccess(Entry<K, V> entry) {
+        LinkedEntry<K, V> e = (LinkedEntry<K, V>) entry;
+        int delta = reweigh(e);
+        onAccess(e);
+        if (delta > 0) {
+            evict();
+        }
+    }
+
+    @Override
+    void afterValueReplacement(Entry<K, V> entry) {
+        reweigh((LinkedEntry<K, V>) entry);
+    }
+
+    @Override
+    void afterEntryRemoval(Entry<K, V> entry) {
+        LinkedEntry<K, V> e = (LinkedEntry<K, V>) entry;
+        dequeOf(e).remove(e);
+        totalWeight -= e.weight;
+        if (e.region == WINDOW) {
+            windowWeight -= e.weight;
+        } else if (e.region == PROTECTED) {
+            protectedWeight -= e.weight;
+        }
+    }
+
+    /**
+     *                
+     *
+     * @param e 
+     * @return int  
+     */
+    private int reweigh(LinkedEntry<K, V> e) {
+        int weight = weigh(e.k, e.v);
+        int delta = weight - e.weight;
+        if (delta != 0) {
+            e.weight = weight;
+            totalWeight += delta;
+            if (e.region == WINDOW) {
+                windowWeight += delta;
+            } else if (e.region == PROTECTED) {
+                protectedWeight += delta;
+            }
+        }
+        return delta;
+    }
+
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("  : " + weight);
+        }
+        return weight;
+    }
+
+    private AccessOrderDeque<K, V> dequeOf(LinkedEntry<K, V> e) {
+        return e.region == WINDOW ? window : e.region == PROBATION ? probation : protectedDeque;
+    }
+
+    /**
+     *    :  LRU   -    ,
+     *    W-TinyLFU -     (    ,   )
+     *
+     * @param e 
+     */
+    private void onAccess(LinkedEntry<K, V> e) {
+        if (sketch != null) {
+            sketch.increment(e.hash);
+        }
+        if (e.region == PROBATION) {
+            probation.remove(e);
+            e.region = PROTECTED;
+            protectedDeque.addLast(e);
+            protectedWeight += e.weight;
+            while (protectedWeight > protectedMaximum && protectedDeque.first != null && protectedDeque.first != e) {
+                LinkedEntry<K, V> demoted = protectedDeque.first;
+                protectedDeque.remove(demoted);
+                protectedWeight -= demoted.weight;
+                demoted.region = PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            dequeOf(e).moveToLast(e);
+        }
+    }
+
+    /**
+     *  ,     maximumWeight
+     *  W-TinyLFU     windowMaximum:        ,
+     *    ,         ,    .
+     */
+    private void evict() {
+        if (sketch != null) {
+            while (windowWeight > windowMaximum && window.first != null) {
+                LinkedEntry<K, V> candidate = window.first;
+                window.remove(candidate);
+                windowWeight -= candidate.weight;
+                candidate.region = PROBATION;
+                probation.addLast(candidate);
+                if (totalWeight > maximumWeight) {
+                    LinkedEntry<K, V> victim = probation.first;
+                    if (victim == candidate || sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                        evictEntry(victim);
+                    } else {
+                        evictEntry(candidate);
+                    }
+                }
+            }
+        }
+        while (totalWeight > maximumWeight) {
+            LinkedEntry<K, V> victim = probation.first != null ? probation.first
+                    : protectedDeque.first != null ? protectedDeque.first : window.first;
+            if (victim == null) {
+                break;
+            }
+            evictEntry(victim);
+        }
+    }
+
+    private void evictEntry(LinkedEntry<K, V> victim) {
+        remove(victim.k);
+        evictionCount++;
+        if (evictionListener != null) {
+            evictionListener.accept(victim.k, victim.v);
+        }
+    }
+
+    /**
+     *  : Entry     ,     W-TinyLFU
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class LinkedEntry<K, V> extends Entry<K, V> {
+        LinkedEntry<K, V> before;
+        LinkedEntry<K, V> after;
+        int weight;
+        byte region;
+
+        LinkedEntry(int hash, K k, V v, Entry<K, V> next) {
+            super(hash, k, v, next);
+        }
+    }
+
+    /**
+     *       (count-min sketch)   W-TinyLFU
+     *  long   16  ;       4  long (    -),
+     *    -     (  15).  sampleSize     ,
+     *     ,  ,    ,   .
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        /**
+         * @param maximumSize     (  )
+         */
+        FrequencySketch(long maximumSize) {
+            int size = 8;
+            while (size < maximumSize && size < (1 << 26)) {
+                size <<= 1;
+            }
+            table = new long[size];
+            tableMask = size - 1;
+            sampleSize = 10 * size;
+        }
+
+        /**
+         * @param hash - 
+         * @return int    0  15
+         */
+        int frequency(int hash) {
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                long spread = spread(hash, i);
+                int index = (int) (spread >>> 32) & tableMask;
+                int offset = ((int) spread & 15) << 2;
+                frequency = Math.min(frequency, (int) (table[index] >>> offset) & 15);
+            }
+            return frequency;
+        }
+
+        /**
+         *    (,  15,  )
+         *
+         * @param hash - 
+         */
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                long spread = spread(hash, i);
+                int index = (int) (spread >>> 32) & tableMask;
+                int offset = ((int) spread & 15) << 2;
+                if (((table[index] >>> offset) & 15) != 15) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private static long spread(int hash, int i) {
+            long x = (hash + SEEDS[i]) * SEEDS[(i + 1) & 3];
+            return x ^ (x >>> 29);
+        }
+    }
+
+    /**
+     *      before  after:    (first)   (last)
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class AccessOrderDeque<K, V> {
+        LinkedEntry<K, V> first;
+        LinkedEntry<K, V> last;
+
+        void addLast(LinkedEntry<K, V> e) {
+            e.after = null;
+            e.before = last;
+            if (last == null) {
+                first = e;
+            } else {
+                last.after = e;
+            }
+            last = e;
+        }
+
+        void remove(LinkedEntry<K, V> e) {
+            if (e.before == null) {
+                first = e.after;
+            } else {
+                e.before.after = e.after;
+            }
+            if (e.after == null) {
+                last = e.before;
+            } else {
+                e.after.before = e.before;
+            }
+            e.before = e.after = null;
+        }
+
+        void moveToLast(LinkedEntry<K, V> e) {
+            if (last != e) {
+                remove(e);
+                addLast(e);
+            }
+        }
+    }
+}
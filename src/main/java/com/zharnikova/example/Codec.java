@@ -0,0 +1,190 @@
+package com.zharnikova.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *           ( OffHeapMyHashMap)
+ *  (equals)     :         .
+ *  : INT, LONG ( ), STRING (UTF-8)  BYTES ( ).
+ *
+ * @param <T></T>   
+ */
+public interface Codec<T> {
+
+    /**
+     * Integer - 4 
+     */
+    Codec<Integer> INT = new Codec<>() {
+        @Override
+        public int size(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer value, MemorySegment segment, long offset) {
+            segment.set(ValueLayout.JAVA_INT_UNALIGNED, offset, value);
+        }
+
+        @Override
+        public Integer read(MemorySegment segment, long offset, int size) {
+            return segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        }
+    };
+
+    /**
+     * Long - 8 
+     */
+    Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int size(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long value, MemorySegment segment, long offset) {
+            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, offset, value);
+        }
+
+        @Override
+        public Long read(MemorySegment segment, long offset, int size) {
+            return segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset);
+        }
+    };
+
+    /**
+     * String -    UTF-8;   (char,    )   ,    BMP
+     * (   UTF-8, WTF-8).       '?',       ,
+     *      size().       UTF-8.
+     */
+    Codec<String> STRING = new Codec<>() {
+        @Override
+        public int size(String value) {
+            int size = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    size += 1;
+                } else if (c < 0x800) {
+                    size += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    size += 4;
+                    i++;
+                } else {
+                    size += 3;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public void write(String value, MemorySegment segment, long offset) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) c);
+                } else if (c < 0x800) {
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xC0 | c >> 6));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xF0 | cp >> 18));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | cp >> 12 & 0x3F));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | cp >> 6 & 0x3F));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | cp & 0x3F));
+                } else {
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xE0 | c >> 12));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | c >> 6 & 0x3F));
+                    segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+
+        /**
+         *     (0xED 0xA0..0xBF) -  UTF-8   String;   
+         */
+        @Override
+        public String read(MemorySegment segment, long offset, int size) {
+            byte[] bytes = new byte[size];
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, size);
+            for (int i = 0; i + 1 < size; i++) {
+                if (bytes[i] == (byte) 0xED && (bytes[i + 1] & 0xE0) == 0xA0) {
+                    return decodeWtf8(bytes);
+                }
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private String decodeWtf8(byte[] bytes) {
+            StringBuilder sb = new StringBuilder(bytes.length);
+            int i = 0;
+            while (i < bytes.length) {
+                int b = bytes[i] & 0xFF;
+                if (b < 0x80) {
+                    sb.append((char) b);
+                    i += 1;
+                } else if (b < 0xE0) {
+                    sb.append((char) ((b & 0x1F) << 6 | bytes[i + 1] & 0x3F));
+                    i += 2;
+                } else if (b < 0xF0) {
+                    sb.append((char) ((b & 0x0F) << 12 | (bytes[i + 1] & 0x3F) << 6 | bytes[i + 2] & 0x3F));
+                    i += 3;
+                } else {
+                    sb.appendCodePoint((b & 0x07) << 18 | (bytes[i + 1] & 0x3F) << 12 | (bytes[i + 2] & 0x3F) << 6 | bytes[i + 3] & 0x3F);
+                    i += 4;
+                }
+            }
+            return sb.toString();
+        }
+    };
+
+    /**
+     * byte[] -    (       )
+     */
+    Codec<byte[]> BYTES = new Codec<>() {
+        @Override
+        public int size(byte[] value) {
+            return value.length;
+        }
+
+        @Override
+        public void write(byte[] value, MemorySegment segment, long offset) {
+            MemorySegment.copy(value, 0, segment, ValueLayout.JAVA_BYTE, offset, value.length);
+        }
+
+        @Override
+        public byte[] read(MemorySegment segment, long offset, int size) {
+            byte[] bytes = new byte[size];
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset, bytes, 0, size);
+            return bytes;
+        }
+    };
+
+    /**
+     *   ,   
+     *
+     * @param value 
+     * @return int   
+     */
+    int size(T value);
+
+    /**
+     *    ,   offset ( size(value) )
+     *
+     * @param value   
+     * @param segment  
+     * @param offset    
+     */
+    void write(T value, MemorySegment segment, long offset);
+
+    /**
+     *    size  ,   offset
+     *
+     * @param segment  
+     * @param offset    
+     * @param size      
+     * @return T 
+     */
+    T read(MemorySegment segment, long offset, int size);
+}
@@ -0,0 +1,783 @@
+package com.zharnikova.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ *  -      API,   MyHashMap
+ *  (get, containsKey)   :     VarHandle   acquire,    val  next - volatile.
+ *        compareAndSet,     -   (synchronized)   ,
+ *  ,     ,    .
+ *    : ,   ,  ResizeState,   ,   
+ * (ForwardingNode)      ,      transferIndex   .
+ *  ,  ,   .
+ *     LongAdder,       .
+ *     ,    MyHashMap.
+ * putIfAbsent, computeIfAbsent  merge ;  computeIfAbsent  merge          .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class ConcurrentMyHashMap<K, V> {
+
+    /**
+     *  -   (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *    - = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *   ,        
+     */
+    private static final int MIN_TRANSFER_STRIDE = 16;
+
+    /**
+     * - ForwardingNode
+     */
+    static final int MOVED = -1;
+
+    /**
+     * - ReservationNode
+     */
+    static final int RESERVED = -2;
+
+    /**
+     *  -   ( )
+     */
+    static final int HASH_BITS = 0x7fffffff;
+
+    /**
+     *  ,      
+     */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    private static final VarHandle TAB = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle TABLE;
+    private static final VarHandle RESIZING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TABLE = lookup.findVarHandle(ConcurrentMyHashMap.class, "table", Node[].class);
+            RESIZING = lookup.findVarHandle(ConcurrentMyHashMap.class, "resizing", ResizeState.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     *  ;     
+     */
+    private volatile Node<K, V>[] table;
+
+    /**
+     *      null
+     */
+    private volatile ResizeState<K, V> resizing;
+
+    /**
+     *   ,   ,    (capacity * loadFactor)
+     */
+    private volatile int threshold;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *  
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     *    (capacity=16, load factor=0.75)
+     */
+    public ConcurrentMyHashMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  -
+     */
+    public ConcurrentMyHashMap(int initialCapacity) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *       
+     *
+     * @param initialCapacity  -
+     * @param loadFactor         
+     * @throws IllegalArgumentException       
+     */
+    public ConcurrentMyHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.loadFactor = loadFactor;
+        this.threshold = (int) (capacity * loadFactor);
+        this.table = newTable(capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newTable(int n) {
+        return (Node<K, V>[]) new Node<?, ?>[n];
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Node<K, V> tabAt(Node<K, V>[] tab, int i) {
+        return (Node<K, V>) TAB.getAcquire(tab, i);
+    }
+
+    static <K, V> boolean casTabAt(Node<K, V>[] tab, int i, Node<K, V> expected, Node<K, V> value) {
+        return TAB.compareAndSet(tab, i, expected, value);
+    }
+
+    static <K, V> void setTabAt(Node<K, V>[] tab, int i, Node<K, V> value) {
+        TAB.setRelease(tab, i, value);
+    }
+
+    /**
+     *  -   ,  MyHashMap.hash(),     :
+     *  -     (MOVED, RESERVED).
+     *
+     * @param key 
+     * @return int  -
+     */
+    static int spread(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & HASH_BITS;
+    }
+
+    /**
+     *    (    - )
+     *
+     * @return int  
+     */
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *      null,    (   null).  .
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Node<K, V> e = find(table, spread(key), key);
+        return e == null ? null : e.val;
+    }
+
+    /**
+     * ,      key.  .
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     *     key,   ForwardingNode   
+     *
+     * @param tab  
+     * @param hash - 
+     * @param key  
+     * @return Node<K, V></K,>   null
+     */
+    static <K, V> Node<K, V> find(Node<K, V>[] tab, int hash, Object key) {
+        outer:
+        for (;;) {
+            for (Node<K, V> e = tabAt(tab, (tab.length - 1) & hash); e != null; e = e.next) {
+                if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                    return e;
+                }
+                if (e.hash == MOVED) {
+                    tab = ((ForwardingNode<K, V>) e).nextTable;
+                    continue outer;
+                }
+                if (e.hash < 0) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     *   -     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws NullPointerException      null
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     *    -,    
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V     null,   
+     * @throws NullPointerException      null
+     */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     *    m   
+     *
+     * @param m -
+     */
+    public void putAll(MyHashMap<? extends K, ? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        int binCount = 0;
+        for (Node<K, V>[] tab = table; ; ) {
+            int i = (tab.length - 1) & hash;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                if (casTabAt(tab, i, null, new Node<>(hash, key, value, null))) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+            } else {
+                V oldValue = null;
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f.hash < 0) {
+                            throw new IllegalStateException("  ");
+                        }
+                        binCount = 1;
+                        for (Node<K, V> e = f; ; e = e.next, binCount++) {
+                            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                                oldValue = e.val;
+                                if (!onlyIfAbsent) {
+                                    e.val = value;
+                                }
+                                break;
+                            }
+                            if (e.next == null) {
+                                e.next = new Node<>(hash, key, value, null);
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    if (oldValue != null) {
+                        return oldValue;
+                    }
+                    break;
+                }
+            }
+        }
+        addCount(1);
+        return null;
+    }
+
+    /**
+     *    ,     -    mappingFunction   
+     *        ;    null,   .
+     *
+     * @param key              HashMap
+     * @param mappingFunction ,    
+     * @return V    
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        V val = null;
+        int binCount = 0;
+        boolean added = false;
+        for (Node<K, V>[] tab = table; ; ) {
+            int i = (tab.length - 1) & hash;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                Node<K, V> r = new ReservationNode<>();
+                synchronized (r) {
+                    if (casTabAt(tab, i, null, r)) {
+                        binCount = 1;
+                        Node<K, V> node = null;
+                        try {
+                            if ((val = mappingFunction.apply(key)) != null) {
+                                node = new Node<>(hash, key, val, null);
+                                added = true;
+                            }
+                        } finally {
+                            setTabAt(tab, i, node);
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f.hash < 0) {
+                            throw new IllegalStateException("  ");
+                        }
+                        binCount = 1;
+                        for (Node<K, V> e = f; ; e = e.next, binCount++) {
+                            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                                val = e.val;
+                                break;
+                            }
+                            if (e.next == null) {
+                                if ((val = mappingFunction.apply(key)) != null) {
+                                    e.next = new Node<>(hash, key, val, null);
+                                    added = true;
+                                }
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            }
+        }
+        if (added) {
+            addCount(1);
+        }
+        return val;
+    }
+
+    /**
+     *   value,   ,     remappingFunction( , value);
+     *    null,  
+     *
+     * @param key                HashMap
+     * @param value                
+     * @param remappingFunction      
+     * @return V    null,   
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int hash = spread(key);
+        V val = null;
+        int delta = 0;
+        int binCount = 0;
+        for (Node<K, V>[] tab = table; ; ) {
+            int i = (tab.length - 1) & hash;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                if (casTabAt(tab, i, null, new Node<>(hash, key, value, null))) {
+                    delta = 1;
+                    val = value;
+                    break;
+                }
+            } else if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+            } else {
+                synchronized (f) {
+                    if (tabAt(tab, i) == f) {
+                        if (f.hash < 0) {
+                            throw new IllegalStateException("  ");
+                        }
+                        binCount = 1;
+                        for (Node<K, V> e = f, pred = null; ; pred = e, e = e.next, binCount++) {
+                            if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                                val = remappingFunction.apply(e.val, value);
+                                if (val != null) {
+                                    e.val = val;
+                                } else {
+                                    delta = -1;
+                                    if (pred != null) {
+                                        pred.next = e.next;
+                                    } else {
+                                        setTabAt(tab, i, e.next);
+                                    }
+                                }
+                                break;
+                            }
+                            if (e.next == null) {
+                                delta = 1;
+                                val = value;
+                                e.next = new Node<>(hash, key, val, null);
+                                break;
+                            }
+                        }
+                    }
+                }
+                if (binCount != 0) {
+                    break;
+                }
+            }
+        }
+        if (delta != 0) {
+            addCount(delta);
+        }
+        return val;
+    }
+
+    /**
+     *     key    
+     *
+     * @param key  HashMap
+     * @return V     null
+     */
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int hash = spread(key);
+        for (Node<K, V>[] tab = table; ; ) {
+            int i = (tab.length - 1) & hash;
+            Node<K, V> f = tabAt(tab, i);
+            if (f == null) {
+                return null;
+            }
+            if (f.hash == MOVED) {
+                tab = helpTransfer(tab, (ForwardingNode<K, V>) f);
+                continue;
+            }
+            V oldValue = null;
+            boolean validated = false;
+            synchronized (f) {
+                if (tabAt(tab, i) == f) {
+                    validated = true;
+                    for (Node<K, V> e = f, pred = null; e != null; pred = e, e = e.next) {
+                        if (e.hash == hash && (e.key == key || key.equals(e.key))) {
+                            oldValue = e.val;
+                            if (pred != null) {
+                                pred.next = e.next;
+                            } else {
+                                setTabAt(tab, i, e.next);
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+            if (validated) {
+                if (oldValue != null) {
+                    addCount(-1);
+                }
+                return oldValue;
+            }
+        }
+    }
+
+    /**
+     *   ;         ,   threshold
+     *
+     * @param delta   
+     */
+    private void addCount(long delta) {
+        count.add(delta);
+        if (delta <= 0) {
+            return;
+        }
+        ResizeState<K, V> rs = resizing;
+        if (rs != null) {
+            transfer(rs, false);
+            return;
+        }
+        Node<K, V>[] tab = table;
+        if (count.sum() >= threshold && tab.length < MAXIMUM_CAPACITY) {
+            int n = tab.length;
+            rs = new ResizeState<>(tab, newTable(n << 1), Math.max((n >>> 3) / NCPU, MIN_TRANSFER_STRIDE));
+            if (RESIZING.compareAndSet(this, null, rs)) {
+                transfer(rs, true);
+            }
+        }
+    }
+
+    /**
+     *   ,     ForwardingNode,      
+     *
+     * @param tab ,    ForwardingNode
+     * @param f   ForwardingNode
+     * @return Node<K, V>[]</K,>  
+     */
+    private Node<K, V>[] helpTransfer(Node<K, V>[] tab, ForwardingNode<K, V> f) {
+        ResizeState<K, V> rs = resizing;
+        if (rs != null && rs.oldTab == tab) {
+            transfer(rs, false);
+        }
+        return f.nextTable;
+    }
+
+    /**
+     *         
+     *  ,  rs.active (    0,     ;      active),
+     *     rs.stride ,
+     *  rs.transferIndex  compareAndSet,    .       :      -
+     *   i    i + n   (   ,       ),
+     *       ForwardingNode. ,    rs.active  0,   .
+     *    compareAndSet  rs.oldTab:         (  table
+     *      ),      ForwardingNode  ,    .
+     *
+     * @param rs      
+     * @param joined true,         rs.active
+     */
+    private void transfer(ResizeState<K, V> rs, boolean joined) {
+        for (int a; !joined; ) {
+            if ((a = rs.active.get()) == 0) {
+                return;
+            }
+            if (rs.active.compareAndSet(a, a + 1)) {
+                joined = true;
+            }
+        }
+        Node<K, V>[] oldTab = rs.oldTab;
+        Node<K, V>[] newTab = rs.newTab;
+        int n = oldTab.length;
+        ForwardingNode<K, V> fwd = new ForwardingNode<>(newTab);
+        for (int hi; (hi = rs.transferIndex.get()) > 0; ) {
+            int lo = Math.max(hi - rs.stride, 0);
+            if (!rs.transferIndex.compareAndSet(hi, lo)) {
+                continue;
+            }
+            for (int i = hi - 1; i >= lo; ) {
+                Node<K, V> f = tabAt(oldTab, i);
+                if (f == null) {
+                    if (casTabAt(oldTab, i, null, fwd)) {
+                        i--;
+                    }
+                    continue;
+                }
+                if (f.hash == MOVED) {
+                    i--;
+                    continue;
+                }
+                synchronized (f) {
+                    if (tabAt(oldTab, i) == f) {
+                        Node<K, V> loHead = null;
+                        Node<K, V> hiHead = null;
+                        for (Node<K, V> e = f; e != null; e = e.next) {
+                            if ((e.hash & n) == 0) {
+                                loHead = new Node<>(e.hash, e.key, e.val, loHead);
+                            } else {
+                                hiHead = new Node<>(e.hash, e.key, e.val, hiHead);
+                            }
+                        }
+                        setTabAt(newTab, i, loHead);
+                        setTabAt(newTab, i + n, hiHead);
+                        setTabAt(oldTab, i, fwd);
+                        i--;
+                    }
+                }
+            }
+        }
+        if (rs.active.decrementAndGet() == 0) {
+            if (TABLE.compareAndSet(this, oldTab, newTab)) {
+                threshold = newTab.length < MAXIMUM_CAPACITY ? (int) (newTab.length * loadFactor) : Integer.MAX_VALUE;
+            }
+            resizing = null;
+        }
+    }
+
+    /**
+     *   action   -
+     *   :    ConcurrentModificationException      -  .
+     *
+     * @param action   -
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Node<K, V>[] tab = table;
+        for (int i = 0; i < tab.length; i++) {
+            forEachInBin(tab, i, action);
+        }
+    }
+
+    private static <K, V> void forEachInBin(Node<K, V>[] tab, int i, BiConsumer<? super K, ? super V> action) {
+        Node<K, V> f = tabAt(tab, i);
+        if (f != null && f.hash == MOVED) {
+            Node<K, V>[] next = ((ForwardingNode<K, V>) f).nextTable;
+            forEachInBin(next, i, action);
+            forEachInBin(next, i + tab.length, action);
+            return;
+        }
+        for (Node<K, V> e = f; e != null; e = e.next) {
+            V v = e.val;
+            if (e.hash >= 0 && v != null) {
+                action.accept(e.key, v);
+            }
+        }
+    }
+
+    /**
+     *     (,     MyHashMap.keySet())
+     *
+     * @return Set<K></K>  
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        forEach((k, v) -> keys.add(k));
+        return keys;
+    }
+
+    /**
+     *     -
+     *
+     * @return Set<Map.Entry<K, V>></Map.Entry<K,>  -
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = new HashSet<>();
+        forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+        return entries;
+    }
+
+    /**
+     *     ( )
+     *
+     * @return Collection<V></V>  
+     */
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        forEach((k, v) -> values.add(v));
+        return values;
+    }
+
+    /**
+     *  
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V val;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V val, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.val = val;
+            this.next = next;
+        }
+    }
+
+    /**
+     * ,             
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class ForwardingNode<K, V> extends Node<K, V> {
+        final Node<K, V>[] nextTable;
+
+        ForwardingNode(Node<K, V>[] nextTable) {
+            super(MOVED, null, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    /**
+     * ,    ,  computeIfAbsent  
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class ReservationNode<K, V> extends Node<K, V> {
+        ReservationNode() {
+            super(RESERVED, null, null, null);
+        }
+    }
+
+    /**
+     *    ,    ,    
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class ResizeState<K, V> {
+        final Node<K, V>[] oldTab;
+        final Node<K, V>[] newTab;
+        final int stride;
+
+        /**
+         *      ;   ,    stride
+         */
+        final AtomicInteger transferIndex;
+
+        /**
+         *  ,    ;       transfer()
+         */
+        final AtomicInteger active = new AtomicInteger(1);
+
+        ResizeState(Node<K, V>[] oldTab, Node<K, V>[] newTab, int stride) {
+            this.oldTab = oldTab;
+            this.newTab = newTab;
+            this.stride = stride;
+            this.transferIndex = new AtomicInteger(oldTab.length);
+        }
+    }
+}
@@ -0,0 +1,928 @@
+package com.zharnikova.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * -   (MyHashMap),        (write-ahead log)     
+ *  put()  remove()    MyHashMap    (Codec)   ;     
+ *   FileChannel        CRC32C.      (force),  SyncPolicy:
+ * ALWAYS -     force(),  ,  ,   force() ( , group commit);
+ * INTERVAL -         syncIntervalMillis; OS -   ,      .
+ *     checkpointBytes,     (checkpoint):       
+ *   ,      .         .
+ *            ( wal-N.log  N     );
+ *        (  )  ,   , ,   .
+ *      ,  MappedMyHashMap.
+ *  :      ,       ,      force(),
+ *    .        .
+ *      (Long -> Long, DurableMapBenchmark):  70   put()  35   MyHashMap   
+ *   145   ;    ,       .  ALWAYS    put()  force().
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class DurableMyHashMap<K, V> implements AutoCloseable {
+
+    /**
+     *     
+     */
+    public enum SyncPolicy {
+        /**
+         * put()  remove()   force();     force()
+         */
+        ALWAYS,
+        /**
+         *         syncIntervalMillis;      
+         */
+        INTERVAL,
+        /**
+         *     syncIntervalMillis (   ),  force()  :
+         *       ,      - ,     
+         */
+        OS
+    }
+
+    /**
+     *    ("MHMWAL01")
+     */
+    static final long WAL_MAGIC = 0x4D484D57414C3031L;
+
+    /**
+     *     ("MHMCKPT1")
+     */
+    static final long CHECKPOINT_MAGIC = 0x4D484D434B505431L;
+
+    /**
+     *   
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     *   : MAGIC, , 
+     */
+    private static final int WAL_HEADER_SIZE = 20;
+
+    /**
+     *   :    CRC32C 
+     */
+    private static final int BLOCK_HEADER_SIZE = 8;
+
+    /**
+     *   : MAGIC, ,  ,  
+     */
+    private static final int CHECKPOINT_HEADER_SIZE = 24;
+
+    /**
+     *   
+     */
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    /**
+     *        
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     *  ,        (64 )
+     */
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+
+    /**
+     *       INTERVAL  OS
+     */
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+
+    /**
+     *  close()     
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static final String CHECKPOINT_FILE = "checkpoint.bin";
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+
+    private final Path directory;
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private final SyncPolicy syncPolicy;
+    private final long checkpointBytes;
+    private final MyHashMap<K, V> map;
+
+    /**
+     *  map, active  appendedSeq
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     *   , spare, writtenSeq  crc;   lock
+     */
+    private final ReentrantLock ioLock = new ReentrantLock();
+
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService syncer;
+
+    private Batch active;
+    private Batch spare;
+    private long appendedSeq;
+    private long writtenSeq;
+    private volatile long durableSeq;
+    private FileChannel wal;
+    private long generation;
+    private volatile long walBytes;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     *  :  ,       write()
+     */
+    private static final class Batch {
+        final ByteBuffer buffer;
+        final MemorySegment segment;
+        int used = BLOCK_HEADER_SIZE;
+        long lastSeq;
+
+        Batch(int capacity) {
+            buffer = ByteBuffer.allocateDirect(capacity);
+            segment = MemorySegment.ofBuffer(buffer);
+        }
+    }
+
+    /**
+     *     ( INTERVAL,    100 ,    64  )   
+     *
+     * @param directory    
+     * @param keyCodec    
+     * @param valueCodec  
+     * @throws IOException         
+     */
+    public DurableMyHashMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        this(directory, keyCodec, valueCodec, SyncPolicy.INTERVAL, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     *       :   ,        
+     *
+     * @param directory             (,   )
+     * @param keyCodec            
+     * @param valueCodec          
+     * @param syncPolicy             
+     * @param syncIntervalMillis     INTERVAL  OS ( ALWAYS  )
+     * @param checkpointBytes     ,     
+     * @throws IOException                      
+     * @throws IllegalArgumentException       
+     */
+    public DurableMyHashMap(Path directory, Codec<K> keyCodec, Codec<V> valueCodec, SyncPolicy syncPolicy,
+                            long syncIntervalMillis, long checkpointBytes) throws IOException {
+        if (syncIntervalMillis <= 0 && syncPolicy != SyncPolicy.ALWAYS) {
+            throw new IllegalArgumentException("   : " + syncIntervalMillis);
+        }
+        if (checkpointBytes <= 0) {
+            throw new IllegalArgumentException("     : " + checkpointBytes);
+        }
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.syncPolicy = syncPolicy;
+        this.checkpointBytes = checkpointBytes;
+        Files.createDirectories(directory);
+
+        this.map = readCheckpoint();
+        long firstGeneration = generation;
+        long lastGeneration = firstGeneration - 1;
+        for (long walGeneration : walGenerations()) {
+            if (walGeneration < firstGeneration) {
+                Files.delete(walPath(walGeneration));
+            } else {
+                replayWal(walGeneration);
+                lastGeneration = walGeneration;
+            }
+        }
+        this.generation = Math.max(firstGeneration, lastGeneration + 1);
+        this.wal = createWal(generation);
+        this.walBytes = WAL_HEADER_SIZE;
+        this.active = new Batch(BUFFER_SIZE);
+        this.spare = new Batch(BUFFER_SIZE);
+
+        if (syncPolicy == SyncPolicy.ALWAYS) {
+            this.syncer = null;
+        } else {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "DurableMyHashMap-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            boolean force = syncPolicy == SyncPolicy.INTERVAL;
+            syncer.scheduleWithFixedDelay(() -> {
+                if (!closed && failure == null) {
+                    try {
+                        flush(force, 0);
+                    } catch (RuntimeException ignored) {
+                        //    failure     
+                    }
+                }
+            }, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return int  
+     */
+    public int size() {
+        lock.lock();
+        try {
+            ensureOpen();
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     *     null,    (  )
+     *
+     * @param key  HashMap
+     * @return V   null
+     */
+    public V get(Object key) {
+        lock.lock();
+        try {
+            ensureOpen();
+            return map.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     *     defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue   
+     * @return V   defaultValue
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        lock.lock();
+        try {
+            ensureOpen();
+            return map.getOrDefault(key, defaultValue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param key  HashMap
+     * @return boolean true,     
+     */
+    public boolean containsKey(Object key) {
+        lock.lock();
+        try {
+            ensureOpen();
+            return map.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     *         ;  SyncPolicy.ALWAYS      
+     *     ,   ,       .
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException           null
+     * @throws IllegalStateException   
+     * @throws UncheckedIOException       (      )
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new RuntimeException("Key  value  null: " + key);
+        }
+        int keyLength = keyCodec.size(key);
+        int valueLength = valueCodec.size(value);
+        int recordLength = 1 + Integer.BYTES + keyLength + Integer.BYTES + valueLength;
+        V oldValue;
+        long seq;
+        lock.lock();
+        try {
+            Batch batch = reserve(recordLength);
+            MemorySegment segment = batch.segment;
+            long offset = batch.used;
+            segment.set(ValueLayout.JAVA_BYTE, offset, PUT);
+            segment.set(INT, offset + 1, keyLength);
+            keyCodec.write(key, segment, offset + 1 + Integer.BYTES);
+            segment.set(INT, offset + 1 + Integer.BYTES + keyLength, valueLength);
+            valueCodec.write(value, segment, offset + 1 + 2 * Integer.BYTES + keyLength);
+            oldValue = map.put(key, value);
+            batch.used += recordLength;
+            seq = ++appendedSeq;
+            batch.lastSeq = seq;
+        } finally {
+            lock.unlock();
+        }
+        afterAppend(seq);
+        return oldValue;
+    }
+
+    /**
+     *        (   ,   )
+     *
+     * @param key  HashMap
+     * @return V    null
+     * @throws IllegalStateException   
+     * @throws UncheckedIOException      
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        K k = (K) key;
+        int keyLength = keyCodec.size(k);
+        int recordLength = 1 + Integer.BYTES + keyLength;
+        V oldValue;
+        long seq;
+        lock.lock();
+        try {
+            Batch batch = reserve(recordLength);
+            if (!map.containsKey(key)) {
+                return null;
+            }
+            MemorySegment segment = batch.segment;
+            long offset = batch.used;
+            segment.set(ValueLayout.JAVA_BYTE, offset, REMOVE);
+            segment.set(INT, offset + 1, keyLength);
+            keyCodec.write(k, segment, offset + 1 + Integer.BYTES);
+            oldValue = map.remove(key);
+            batch.used += recordLength;
+            seq = ++appendedSeq;
+            batch.lastSeq = seq;
+        } finally {
+            lock.unlock();
+        }
+        afterAppend(seq);
+        return oldValue;
+    }
+
+    /**
+     *  action   ;     
+     *
+     * @param action 
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        lock.lock();
+        try {
+            ensureOpen();
+            map.forEach(action);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     *          :          
+     *
+     * @throws IllegalStateException   
+     * @throws UncheckedIOException     
+     */
+    public void sync() {
+        ensureOpen();
+        flush(true, 0);
+    }
+
+    /**
+     *   :   ,     ,     
+     *  ,     checkpointBytes;       .
+     *
+     * @throws IllegalStateException   
+     * @throws UncheckedIOException     
+     */
+    public void checkpoint() {
+        ensureOpen();
+        ioLock.lock();
+        try {
+            lock.lock();
+            try {
+                flush(true, 0);
+                long next = generation + 1;
+                FileChannel nextWal = createWal(next);
+                try {
+                    Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+                    writeCheckpoint(temporary, next);
+                    Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    forceDirectory();
+                } catch (IOException | RuntimeException e) {
+                    nextWal.close();
+                    Files.deleteIfExists(walPath(next));
+                    throw e;
+                }
+                wal.close();
+                wal = nextWal;
+                generation = next;
+                walBytes = WAL_HEADER_SIZE;
+                for (long walGeneration : walGenerations()) {
+                    if (walGeneration < next) {
+                        Files.delete(walPath(walGeneration));
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * @return long       (    )
+     */
+    public long walBytes() {
+        return walBytes;
+    }
+
+    /**
+     *   ,         .     .
+     *      :    .
+     *
+     * @throws IOException       ,          
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (syncer != null) {
+            //  shutdownNow():    wal.write()/force()  FileChannel (ClosedByInterruptException)
+            syncer.shutdown();
+            try {
+                syncer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ioLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            try {
+                if (failure == null) {
+                    flush(true, 0);
+                }
+            } catch (UncheckedIOException e) {
+                // flush()     failure
+            } finally {
+                closed = true;
+                wal.close();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * ,          -
+     *
+     * @throws IllegalStateException   
+     * @throws UncheckedIOException       
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException(" ");
+        }
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("  ,     ", e);
+        }
+    }
+
+    /**
+     *  reserve  ,        length;   lock
+     *   ,         (flush()),     ioLock -> lock.
+     *
+     * @param length  
+     * @return Batch  
+     */
+    private Batch reserve(int length) {
+        ensureOpen();
+        while (active.buffer.capacity() - active.used < length) {
+            lock.unlock();
+            try {
+                flush(false, length);
+            } finally {
+                lock.lock();
+            }
+            ensureOpen();
+        }
+        return active;
+    }
+
+    /**
+     *  afterAppend      :      ALWAYS    ,   
+     *
+     * @param seq  
+     */
+    private void afterAppend(long seq) {
+        if (syncPolicy == SyncPolicy.ALWAYS && durableSeq < seq) {
+            ioLock.lock();
+            try {
+                if (durableSeq < seq) {
+                    flush(true, 0);
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        }
+        if (walBytes >= checkpointBytes) {
+            ioLock.lock();
+            try {
+                if (walBytes >= checkpointBytes && !closed) {
+                    checkpoint();
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    /**
+     *  flush     ( lock)      ( ioLock),  force -    
+     *       force(),     ,   force()      -
+     *    .
+     *
+     * @param force       true,      
+     * @param minCapacity       (   )
+     */
+    private void flush(boolean force, int minCapacity) {
+        ioLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            Batch batch = null;
+            lock.lock();
+            try {
+                if (active.used > BLOCK_HEADER_SIZE || active.buffer.capacity() - active.used < minCapacity) {
+                    batch = active;
+                    Batch next = spare;
+                    if (next == null || next.buffer.capacity() - BLOCK_HEADER_SIZE < minCapacity) {
+                        next = new Batch(Math.max(BUFFER_SIZE, minCapacity + BLOCK_HEADER_SIZE));
+                    }
+                    spare = null;
+                    active = next;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (batch != null) {
+                writeBlock(batch);
+                if (batch.buffer.capacity() == BUFFER_SIZE) {
+                    spare = batch;
+                }
+            }
+            if (force && durableSeq < writtenSeq) {
+                wal.force(false);
+                durableSeq = writtenSeq;
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException(e);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     *  writeBlock       : , CRC32C, ;   ioLock
+     *
+     * @param batch 
+     * @throws IOException    
+     */
+    private void writeBlock(Batch batch) throws IOException {
+        int used = batch.used;
+        if (used > BLOCK_HEADER_SIZE) {
+            ByteBuffer buffer = batch.buffer;
+            buffer.limit(used).position(BLOCK_HEADER_SIZE);
+            crc.reset();
+            crc.update(buffer);
+            batch.segment.set(INT, 0, used - BLOCK_HEADER_SIZE);
+            batch.segment.set(INT, Integer.BYTES, (int) crc.getValue());
+            buffer.position(0);
+            while (buffer.hasRemaining()) {
+                wal.write(buffer);
+            }
+            walBytes += used;
+            writtenSeq = batch.lastSeq;
+        }
+        batch.buffer.clear();
+        batch.used = BLOCK_HEADER_SIZE;
+    }
+
+    /**
+     *  createWal      walGeneration  ,   
+     *
+     * @param walGeneration 
+     * @return FileChannel ,   
+     * @throws IOException     
+     */
+    private FileChannel createWal(long walGeneration) throws IOException {
+        FileChannel channel = FileChannel.open(walPath(walGeneration),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(WAL_HEADER_SIZE);
+            MemorySegment segment = MemorySegment.ofBuffer(header);
+            segment.set(LONG, 0, WAL_MAGIC);
+            segment.set(INT, 8, FORMAT_VERSION);
+            segment.set(LONG, 12, walGeneration);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+            forceDirectory();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /**
+     *  replayWal   map     ,       
+     *          ,           ,
+     *    ,   , ,   .
+     *
+     * @param walGeneration  
+     * @throws IOException           
+     */
+    private void replayWal(long walGeneration) throws IOException {
+        Path path = walPath(walGeneration);
+        long valid;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ); Arena arena = Arena.ofConfined()) {
+            long length = channel.size();
+            if (length < WAL_HEADER_SIZE) {
+                valid = 0;
+            } else {
+                MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+                if (file.get(LONG, 0) != WAL_MAGIC || file.get(INT, 8) != FORMAT_VERSION || file.get(LONG, 12) != walGeneration) {
+                    throw new IOException("    DurableMyHashMap  " + walGeneration + ": " + path);
+                }
+                valid = WAL_HEADER_SIZE;
+                CRC32C check = new CRC32C();
+                while (valid + BLOCK_HEADER_SIZE <= length) {
+                    int blockLength = file.get(INT, valid);
+                    if (blockLength <= 0 || valid + BLOCK_HEADER_SIZE + blockLength > length) {
+                        break;
+                    }
+                    MemorySegment block = file.asSlice(valid + BLOCK_HEADER_SIZE, blockLength);
+                    check.reset();
+                    check.update(block.asByteBuffer());
+                    if ((int) check.getValue() != file.get(INT, valid + Integer.BYTES)) {
+                        break;
+                    }
+                    applyBlock(block);
+                    valid += BLOCK_HEADER_SIZE + blockLength;
+                }
+                if (valid == length) {
+                    return;
+                }
+            }
+        }
+        if (valid == 0) {
+            Files.delete(path);
+        } else {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     *  applyBlock   map    
+     *
+     * @param block  
+     */
+    private void applyBlock(MemorySegment block) {
+        long offset = 0;
+        long end = block.byteSize();
+        while (offset < end) {
+            byte type = block.get(ValueLayout.JAVA_BYTE, offset);
+            int keyLength = block.get(INT, offset + 1);
+            K key = keyCodec.read(block, offset + 1 + Integer.BYTES, keyLength);
+            offset += 1 + Integer.BYTES + keyLength;
+            if (type == PUT) {
+                int valueLength = block.get(INT, offset);
+                map.put(key, valueCodec.read(block, offset + Integer.BYTES, valueLength));
+                offset += Integer.BYTES + valueLength;
+            } else {
+                map.remove(key);
+            }
+        }
+    }
+
+    /**
+     *  writeCheckpoint   map   path: ,  (   ,    )  CRC32C  
+     *   lock,     :       ,   -     walGeneration.
+     *
+     * @param path          
+     * @param walGeneration  ,      
+     * @throws IOException    
+     */
+    private void writeCheckpoint(Path path, long walGeneration) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckpointWriter writer = new CheckpointWriter(channel);
+            MemorySegment header = writer.reserve(CHECKPOINT_HEADER_SIZE);
+            header.set(LONG, 0, CHECKPOINT_MAGIC);
+            header.set(INT, 8, FORMAT_VERSION);
+            header.set(LONG, 12, walGeneration);
+            header.set(INT, 20, map.size());
+            try {
+                map.forEach((key, value) -> {
+                    try {
+                        int keyLength = keyCodec.size(key);
+                        int valueLength = valueCodec.size(value);
+                        MemorySegment record = writer.reserve(2 * Integer.BYTES + keyLength + valueLength);
+                        record.set(INT, 0, keyLength);
+                        keyCodec.write(key, record, Integer.BYTES);
+                        record.set(INT, Integer.BYTES + keyLength, valueLength);
+                        valueCodec.write(value, record, 2 * Integer.BYTES + keyLength);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.finish();
+            channel.force(true);
+        }
+    }
+
+    /**
+     *       CRC32C
+     */
+    private final class CheckpointWriter {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private MemorySegment segment = MemorySegment.ofBuffer(buffer);
+        private int used;
+
+        CheckpointWriter(FileChannel channel) {
+            this.channel = channel;
+            crc.reset();
+        }
+
+        /**
+         *     length   (   ,    )
+         */
+        MemorySegment reserve(int length) throws IOException {
+            if (buffer.capacity() - used < length) {
+                drain();
+                if (buffer.capacity() < length) {
+                    buffer = ByteBuffer.allocateDirect(length);
+                    segment = MemorySegment.ofBuffer(buffer);
+                }
+            }
+            MemorySegment slice = segment.asSlice(used, length);
+            used += length;
+            return slice;
+        }
+
+        /**
+         *  CRC32C   
+         */
+        void finish() throws IOException {
+            drain();
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+            MemorySegment.ofBuffer(trailer).set(INT, 0, (int) crc.getValue());
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.limit(used).position(0);
+            crc.update(buffer);
+            buffer.position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            used = 0;
+        }
+    }
+
+    /**
+     *  readCheckpoint    (  )   MyHashMap    ,   
+     *
+     * @return MyHashMap<K, V></K,>       
+     * @throws IOException    
+     */
+    private MyHashMap<K, V> readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(path)) {
+            generation = 0;
+            return new MyHashMap<>();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ); Arena arena = Arena.ofConfined()) {
+            long length = channel.size();
+            if (length < CHECKPOINT_HEADER_SIZE + Integer.BYTES) {
+                throw new IOException("    : " + length);
+            }
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, length, arena);
+            CRC32C check = new CRC32C();
+            check.update(file.asSlice(0, length - Integer.BYTES).asByteBuffer());
+            if ((int) check.getValue() != file.get(INT, length - Integer.BYTES)) {
+                throw new IOException("     : " + path);
+            }
+            if (file.get(LONG, 0) != CHECKPOINT_MAGIC || file.get(INT, 8) != FORMAT_VERSION) {
+                throw new IOException("     DurableMyHashMap: " + path);
+            }
+            generation = file.get(LONG, 12);
+            int count = file.get(INT, 20);
+            MyHashMap<K, V> loaded = MyHashMap.withExpectedSize(count);
+            long offset = CHECKPOINT_HEADER_SIZE;
+            for (int i = 0; i < count; i++) {
+                int keyLength = file.get(INT, offset);
+                K key = keyCodec.read(file, offset + Integer.BYTES, keyLength);
+                offset += Integer.BYTES + keyLength;
+                int valueLength = file.get(INT, offset);
+                loaded.put(key, valueCodec.read(file, offset + Integer.BYTES, valueLength));
+                offset += Integer.BYTES + valueLength;
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * @return List<Long></Long>      
+     * @throws IOException     
+     */
+    private List<Long> walGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, WAL_PREFIX + "*" + WAL_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(WAL_PREFIX.length(), name.length() - WAL_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    //     
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path walPath(long walGeneration) {
+        return directory.resolve(WAL_PREFIX + walGeneration + WAL_SUFFIX);
+    }
+
+    /**
+     *     ,        (       -  )
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Windows      
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.zharnikova.example;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * MyHashMap,           (TTL)
+ * ,    ,     get(), containsKey()   ,
+ *         (hierarchical timing wheel):
+ *               
+ * ( , ,   ,   ). ,       O(1);
+ *        ,      ,   ,
+ *             .       O(1),
+ *      .
+ *       (put, replace, compute, merge);    .
+ *    Ticker (  System.nanoTime()),       .
+ * size(),   forEach()   ,     ; cleanUp()   ,      .
+ *      (treeBins()).      : Ticker  ,     .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class ExpiringMyHashMap<K, V> extends MyHashMap<K, V> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     *    
+     */
+    @FunctionalInterface
+    public interface Ticker {
+
+        /**
+         * @return long     (   )
+         */
+        long read();
+
+        /**
+         * @return Ticker   System.nanoTime()
+         */
+        static Ticker system() {
+            return System::nanoTime;
+        }
+    }
+
+    /**
+     *    ;   -   
+     */
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+
+    /**
+     *       ( ,   , ,   )
+     *    
+     */
+    private static final long[] SPANS = {
+            ceilingPowerOfTwo(TimeUnit.SECONDS.toNanos(1)),
+            ceilingPowerOfTwo(TimeUnit.MINUTES.toNanos(1)),
+            ceilingPowerOfTwo(TimeUnit.HOURS.toNanos(1)),
+            ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1)),
+            BUCKETS[3] * ceilingPowerOfTwo(TimeUnit.DAYS.toNanos(1))
+    };
+
+    /**
+     * ,       
+     */
+    private static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    /**
+     *  
+     */
+    private final transient Ticker ticker;
+
+    /**
+     *   ,   put(K, V),  ,  0,    
+     */
+    private final long defaultTtlNanos;
+
+    /**
+     *  :   -      
+     */
+    private final transient TimedEntry<K, V>[][] wheel;
+
+    /**
+     * ,    
+     */
+    private transient long nanos;
+
+    /**
+     *  ,      (0 -  )
+     */
+    private transient long pendingTtlNanos;
+
+    /**
+     *          
+     */
+    public ExpiringMyHashMap() {
+
+        this(0, TimeUnit.NANOSECONDS, Ticker.system());
+    }
+
+    /**
+     *      
+     *
+     * @param ticker  
+     */
+    public ExpiringMyHashMap(Ticker ticker) {
+
+        this(0, TimeUnit.NANOSECONDS, ticker);
+    }
+
+    /**
+     * ,   ,   put(K, V),  defaultTtl
+     *
+     * @param defaultTtl     (0 -  )
+     * @param unit         defaultTtl
+     * @param ticker      
+     * @throws IllegalArgumentException  defaultTtl 
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringMyHashMap(long defaultTtl, TimeUnit unit, Ticker ticker) {
+        super();
+        if (defaultTtl < 0) {
+            throw new IllegalArgumentException("  : " + defaultTtl);
+        }
+        if (ticker == null) {
+            throw new NullPointerException();
+        }
+        this.ticker = ticker;
+        this.defaultTtlNanos = unit.toNanos(defaultTtl);
+        this.pendingTtlNanos = defaultTtlNanos;
+        this.nanos = ticker.read();
+        wheel = (TimedEntry<K, V>[][]) new TimedEntry<?, ?>[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = (TimedEntry<K, V>[]) new TimedEntry<?, ?>[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = new TimedEntry<>(0, null, null, null);
+                wheel[i][j].previousInWheel = wheel[i][j];
+                wheel[i][j].nextInWheel = wheel[i][j];
+            }
+        }
+    }
+
+    /**
+     *  writeObject  :        (null),   Ticker  
+     *
+     * @param out  
+     * @throws NotSerializableException 
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException(getClass().getName());
+    }
+
+    private static long ceilingPowerOfTwo(long x) {
+        return 1L << -Long.numberOfLeadingZeros(x - 1);
+    }
+
+    /**
+     *  ,     ttl  
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @param ttl     ()
+     * @return V   (   )  null
+     * @throws IllegalArgumentException  ttl  
+     */
+    public V put(K key, V value, Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("  : " + ttl);
+        }
+        pendingTtlNanos = ttlNanos;
+        try {
+            return put(key, value);
+        } finally {
+            pendingTtlNanos = defaultTtlNanos;
+        }
+    }
+
+    /**
+     *     
+     *
+     * @param key  HashMap
+     * @return Duration  , Duration.ZERO,   ,  null,    (  )
+     */
+    public Duration timeToLive(Object key) {
+        TimedEntry<K, V> entry = liveEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        return entry.expires ? Duration.ofNanos(entry.expiresAt - nanos) : Duration.ZERO;
+    }
+
+    /**
+     *     ,    ,   
+     */
+    public void cleanUp() {
+        advance(ticker.read());
+    }
+
+    @Override
+    public V get(Object key) {
+        TimedEntry<K, V> entry = liveEntry(key);
+        return entry == null ? null : entry.v;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        TimedEntry<K, V> entry = liveEntry(key);
+        return entry == null ? defaultValue : entry.v;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return liveEntry(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        purgeIfExpired(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        TimedEntry<K, V> entry = purgeIfExpired(key);
+        if (entry != null && entry.v != null) {
+            return entry.v;
+        }
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        purgeIfExpired(key);
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        purgeIfExpired(key);
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        TimedEntry<K, V> entry = purgeIfExpired(key);
+        if (entry != null && entry.v != null) {
+            return entry.v;
+        }
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        purgeIfExpired(key);
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        purgeIfExpired(key);
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        purgeIfExpired(key);
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public V remove(Object key) {
+        purgeIfExpired(key);
+        return super.remove(key);
+    }
+
+    /**
+     *      ,      
+     *
+     * @param key  HashMap
+     * @return TimedEntry<K, V></K,>   null
+     */
+    private TimedEntry<K, V> liveEntry(Object key) {
+        advance(ticker.read());
+        if (key == null) {
+            return null;
+        }
+        TimedEntry<K, V> entry = (TimedEntry<K, V>) getEntry(key);
+        return entry == null || isExpired(entry) ? null : entry;
+    }
+
+    /**
+     *      ,     ,      
+     *
+     * @param key  HashMap
+     * @return TimedEntry<K, V></K,>     null
+     */
+    private TimedEntry<K, V> purgeIfExpired(Object key) {
+        advance(ticker.read());
+        if (key == null) {
+            return null;
+        }
+        TimedEntry<K, V> entry = (TimedEntry<K, V>) getEntry(key);
+        if (entry != null && isExpired(entry)) {
+            super.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private boolean isExpired(TimedEntry<K, V> entry) {
+        return entry.expires && entry.expiresAt - nanos <= 0;
+    }
+
+    @Override
+    Entry<K, V> newEntry(int hash, K key, V value, Entry<K, V> next) {
+        return new TimedEntry<>(hash, key, value, next);
+    }
+
+    @Override
+    boolean treeBins() {
+        return false;
+    }
+
+    @Override
+    void afterEntryInsertion(Entry<K, V> entry) {
+        setExpiration((TimedEntry<K, V>) entry);
+    }
+
+    @Override
+    void afterEntryAccess(Entry<K, V> entry) {
+        setExpiration((TimedEntry<K, V>) entry);
+    }
+
+    @Override
+    void afterEntryRemoval(Entry<K, V> entry) {
+        unlink((TimedEntry<K, V>) entry);
+    }
+
+    /**
+     *    pendingTtlNanos          
+     *
+     * @param entry  
+     */
+    private void setExpiration(TimedEntry<K, V> entry) {
+        unlink(entry);
+        if (pendingTtlNanos == 0) {
+            entry.expires = false;
+            return;
+        }
+        entry.expires = true;
+        entry.expiresAt = nanos + pendingTtlNanos;
+        schedule(entry);
+    }
+
+    /**
+     *       ,      
+     *
+     * @param entry   
+     */
+    private void schedule(TimedEntry<K, V> entry) {
+        long duration = entry.expiresAt - nanos;
+        TimedEntry<K, V> sentinel = wheel[BUCKETS.length - 1][0];
+        for (int i = 0; i < BUCKETS.length - 1; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = entry.expiresAt >>> SHIFT[i];
+                sentinel = wheel[i][(int) (ticks & (BUCKETS[i] - 1))];
+                break;
+            }
+        }
+        TimedEntry<K, V> last = sentinel.previousInWheel;
+        entry.previousInWheel = last;
+        entry.nextInWheel = sentinel;
+        last.nextInWheel = entry;
+        sentinel.previousInWheel = entry;
+    }
+
+    private void unlink(TimedEntry<K, V> entry) {
+        if (entry.nextInWheel != null) {
+            entry.previousInWheel.nextInWheel = entry.nextInWheel;
+            entry.nextInWheel.previousInWheel = entry.previousInWheel;
+            entry.previousInWheel = null;
+            entry.nextInWheel = null;
+        }
+    }
+
+    /**
+     *    currentTime:   ,    ,        
+     * ( ,    );    ,      .
+     *           ,             .
+     *
+     * @param currentTime  
+     */
+    private void advance(long currentTime) {
+        long previousTime = nanos;
+        if (currentTime - previousTime <= 0) {
+            return;
+        }
+        nanos = currentTime;
+        for (int i = 0; i < BUCKETS.length; i++) {
+            long previousTicks = previousTime >>> SHIFT[i];
+            long currentTicks = currentTime >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            int mask = BUCKETS[i] - 1;
+            int start = (int) (previousTicks & mask);
+            int end = start + (int) Math.min(delta + 1, BUCKETS[i]);
+            for (int j = start; j < end; j++) {
+                expire(wheel[i][j & mask]);
+            }
+        }
+    }
+
+    /**
+     *         ,      
+     *
+     * @param sentinel   
+     */
+    private void expire(TimedEntry<K, V> sentinel) {
+        TimedEntry<K, V> entry = sentinel.nextInWheel;
+        sentinel.previousInWheel = sentinel;
+        sentinel.nextInWheel = sentinel;
+        while (entry != sentinel) {
+            TimedEntry<K, V> next = entry.nextInWheel;
+            entry.previousInWheel = null;
+            entry.nextInWheel = null;
+            if (entry.expiresAt - nanos <= 0) {
+                super.remove(entry.k);
+            } else {
+                schedule(entry);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     *           
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    static final class TimedEntry<K, V> extends Entry<K, V> {
+        TimedEntry<K, V> previousInWheel;
+        TimedEntry<K, V> nextInWheel;
+        long expiresAt;
+        boolean expires;
+
+        TimedEntry(int hash, K k, V v, Entry<K, V> next) {
+            super(hash, k, v, next);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.zharnikova.example;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ *     ,   MyHashMap.freeze()
+ *          size   ,  Entry   next.
+ *       -,   CHD (hash, displace and compress):
+ *     (  BUCKET_SIZE   ),       seed,
+ *   - mix(hash, seed)        .      ;
+ *         ,      seed ( ).
+ *   -    seeds,       equals(),   .
+ *          ,     - - (fingerprints).
+ *   -       int  BUCKET_SIZE .
+ * -    hashCode() ,     hashCode()     :
+ *       ,       overflow ( MyHashMap).
+ *        (HashingStrategy),  hashCode()  equals()    hash()  equals().
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public final class FrozenMyHashMap<K, V> {
+
+    /**
+     *       CHD
+     */
+    private static final int BUCKET_SIZE = 4;
+
+    /**
+     *   seed,         
+     */
+    private static final int MAX_SEED = 1 << 20;
+
+    /**
+     *   ;     i   keys[i]
+     */
+    private final Object[] keys;
+
+    /**
+     *   
+     */
+    private final Object[] values;
+
+    /**
+     * seed   CHD;   -(i + 1) ,       i
+     */
+    private final int[] seeds;
+
+    /**
+     *   mix(hashCode(), 0)   ;   equals()  
+     */
+    private final byte[] fingerprints;
+
+    /**
+     * , hashCode()    hashCode()   ,  null,   
+     */
+    private final MyHashMap<K, V> overflow;
+
+    /**
+     *         null,   hashCode()  equals()  
+     */
+    private final HashingStrategy<Object> strategy;
+
+    /**
+     *     source;   source    
+     *
+     * @param source    
+     * @param strategy      null
+     */
+    @SuppressWarnings("unchecked")
+    FrozenMyHashMap(MyHashMap<K, V> source, HashingStrategy<? super K> strategy) {
+        this.strategy = (HashingStrategy<Object>) strategy;
+        int n = source.size();
+        Object[] allKeys = new Object[n];
+        Object[] allValues = new Object[n];
+        int[] hashes = new int[n];
+        long[] byHash = new long[n];
+        int[] count = new int[1];
+        source.forEach((key, value) -> {
+            int i = count[0]++;
+            allKeys[i] = key;
+            allValues[i] = value;
+            hashes[i] = hashOf(key);
+            byHash[i] = (long) hashes[i] << 32 | i;
+        });
+
+        Arrays.sort(byHash);
+        int[] primary = new int[n];
+        int m = 0;
+        MyHashMap<K, V> rest = null;
+        for (int j = 0; j < n; j++) {
+            int i = (int) byHash[j];
+            if (j > 0 && (int) (byHash[j] >>> 32) == (int) (byHash[j - 1] >>> 32)) {
+                if (rest == null) {
+                    rest = strategy == null ? new MyHashMap<>() : new MyHashMap<>(strategy);
+                }
+                rest.put(key(allKeys, i), value(allValues, i));
+            } else {
+                primary[m++] = i;
+            }
+        }
+        overflow = rest;
+
+        keys = new Object[m];
+        values = new Object[m];
+        fingerprints = new byte[m];
+        int[] slots = new int[m];
+        int bucketCount = Math.max(1, (m + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        int[] builtSeeds;
+        while ((builtSeeds = build(hashes, primary, m, bucketCount, slots)) == null) {
+            bucketCount <<= 1;
+        }
+        seeds = builtSeeds;
+        for (int j = 0; j < m; j++) {
+            keys[slots[j]] = allKeys[primary[j]];
+            values[slots[j]] = allValues[primary[j]];
+            fingerprints[slots[j]] = (byte) mix(hashes[primary[j]], 0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K key(Object[] keys, int i) {
+        return (K) keys[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Object[] values, int i) {
+        return (V) values[i];
+    }
+
+    /**
+     *  build  seed       slots[j]   primary[j]
+     *      ( ),    ,    .
+     *       seed = 1, 2, ...,          .
+     *
+     * @param hashes      hashCode()  
+     * @param primary        
+     * @param m              
+     * @param bucketCount  
+     * @param slots       :     
+     * @return int[] seed   null,   -    seed  MAX_SEED
+     */
+    private static int[] build(int[] hashes, int[] primary, int m, int bucketCount, int[] slots) {
+        int[] bucketOf = new int[m];
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int j = 0; j < m; j++) {
+            bucketOf[j] = reduce(mix(hashes[primary[j]], 0), bucketCount);
+            bucketStart[bucketOf[j] + 1]++;
+        }
+        int maxBucket = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            maxBucket = Math.max(maxBucket, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[m];
+        int[] fill = Arrays.copyOf(bucketStart, bucketCount);
+        for (int j = 0; j < m; j++) {
+            members[fill[bucketOf[j]]++] = j;
+        }
+
+        int[] bySizeStart = new int[maxBucket + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            bySizeStart[maxBucket - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+        }
+        for (int s = 0; s <= maxBucket; s++) {
+            bySizeStart[s + 1] += bySizeStart[s];
+        }
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[bySizeStart[maxBucket - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+        }
+
+        int[] seeds = new int[bucketCount];
+        boolean[] taken = new boolean[m];
+        int[] tried = new int[maxBucket];
+        int nextFree = 0;
+        for (int b : order) {
+            int from = bucketStart[b], size = bucketStart[b + 1] - from;
+            if (size == 0) {
+                break;
+            }
+            if (size == 1) {
+                while (taken[nextFree]) {
+                    nextFree++;
+                }
+                taken[nextFree] = true;
+                slots[members[from]] = nextFree;
+                seeds[b] = -nextFree - 1;
+                continue;
+            }
+            int seed = 1;
+            while (!place(hashes, primary, members, from, size, seed, taken, tried, m)) {
+                if (++seed == MAX_SEED) {
+                    return null;
+                }
+            }
+            for (int k = 0; k < size; k++) {
+                slots[members[from + k]] = tried[k];
+            }
+            seeds[b] = seed;
+        }
+        return seeds;
+    }
+
+    /**
+     *       seed:       
+     *         tried,    .
+     */
+    private static boolean place(int[] hashes, int[] primary, int[] members, int from, int size, int seed,
+                                 boolean[] taken, int[] tried, int m) {
+        for (int k = 0; k < size; k++) {
+            int slot = reduce(mix(hashes[primary[members[from + k]]], seed), m);
+            if (taken[slot]) {
+                for (int u = 0; u < k; u++) {
+                    taken[tried[u]] = false;
+                }
+                return false;
+            }
+            taken[slot] = true;
+            tried[k] = slot;
+        }
+        return true;
+    }
+
+    /**
+     *  hashCode()   seed ( SplitMix64),    seed    
+     *
+     * @param hash hashCode() 
+     * @param seed seed  (0 -   )
+     * @return int  -
+     */
+    static int mix(int hash, int seed) {
+        long x = (hash & 0xFFFFFFFFL) ^ (seed * 0x9E3779B97F4A7C15L);
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (x ^ (x >>> 31));
+    }
+
+    /**
+     *  32- -   [0, n)  ( ,    )
+     *
+     * @param x -
+     * @param n  
+     * @return int   0  n - 1
+     */
+    static int reduce(int x, int n) {
+        return (int) (((x & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    /**
+     *    ,     key,  -1
+     *
+     * @param key 
+     * @return int    -1
+     */
+    private int indexOf(Object key) {
+        int m = keys.length;
+        if (m == 0) {
+            return -1;
+        }
+        int hash = hashOf(key);
+        int bucketHash = mix(hash, 0);
+        int seed = seeds[reduce(bucketHash, seeds.length)];
+        int slot = seed < 0 ? -seed - 1 : reduce(mix(hash, seed), m);
+        if (fingerprints[slot] != (byte) bucketHash) {
+            return -1;
+        }
+        Object k = keys[slot];
+        return k == key || (strategy == null ? key.equals(k) : strategy.equals(key, k)) ? slot : -1;
+    }
+
+    /**
+     * @param key 
+     * @return int hashCode()   - 
+     */
+    private int hashOf(Object key) {
+        return strategy == null ? key.hashCode() : strategy.hash(key);
+    }
+
+    /**
+     *      null,    (   null)
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = indexOf(key);
+        if (slot >= 0) {
+            return (V) values[slot];
+        }
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    /**
+     *      defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue   
+     * @return V    defaultValue
+     */
+    public V getOrDefault(Object key, V defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,     
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        return indexOf(key) >= 0 || (overflow != null && overflow.containsKey(key));
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return keys.length + (overflow == null ? 0 : overflow.size());
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     *   action   -:    (  ),  overflow
+     *
+     * @param action   -
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+        if (overflow != null) {
+            overflow.forEach(action);
+        }
+    }
+}
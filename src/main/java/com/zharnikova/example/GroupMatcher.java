@@ -0,0 +1,71 @@
+package com.zharnikova.example;
+
+/**
+ *    GROUP_WIDTH   SwissMyHashMap   
+ *     :  i ,   ctrl[base + i]  .
+ *         create():    jdk.incubator.vector,
+ *    (VectorGroupMatcher),  -    8   long (ScalarGroupMatcher).
+ */
+interface GroupMatcher {
+
+    /**
+     *     
+     */
+    int GROUP_WIDTH = 16;
+
+    /**
+     *    
+     */
+    byte EMPTY = (byte) 0x80;
+
+    /**
+     *     ("")
+     */
+    byte DELETED = (byte) 0xFE;
+
+    /**
+     *   ,     h2 (7   - )
+     *
+     * @param ctrl   
+     * @param base  
+     * @param h2   7  -
+     * @return long   
+     */
+    long match(byte[] ctrl, int base, byte h2);
+
+    /**
+     *    
+     *
+     * @param ctrl   
+     * @param base  
+     * @return long   
+     */
+    long matchEmpty(byte[] ctrl, int base);
+
+    /**
+     *       (    )
+     *
+     * @param ctrl   
+     * @param base  
+     * @return long     
+     */
+    long matchEmptyOrDeleted(byte[] ctrl, int base);
+
+    /**
+     *  : ,   jdk.incubator.vector  (--add-modules jdk.incubator.vector),  .
+     *     Class.forName,       .
+     *
+     * @return GroupMatcher   
+     */
+    static GroupMatcher create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (GroupMatcher) Class.forName("com.zharnikova.example.VectorGroupMatcher")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarGroupMatcher();
+            }
+        }
+        return new ScalarGroupMatcher();
+    }
+}
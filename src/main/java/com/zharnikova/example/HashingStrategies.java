@@ -0,0 +1,228 @@
+package com.zharnikova.example;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ *   HashingStrategy   wyhash ( final4)
+ *    -    ,       .
+ */
+final class HashingStrategies {
+
+    /**
+     *   wyhash
+     */
+    private static final long SECRET0 = 0x2d358dccaa6c78a5L;
+    private static final long SECRET1 = 0x8bb84b93962eacc9L;
+    private static final long SECRET2 = 0x4b33a62ed433d4a3L;
+    private static final long SECRET3 = 0x4d5a2da51de1aa47L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private HashingStrategies() {
+    }
+
+    enum Identity implements HashingStrategy<Object> {
+        INSTANCE;
+
+        @Override
+        public int hash(Object key) {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object a, Object b) {
+            return a == b;
+        }
+    }
+
+    enum ByteArray implements HashingStrategy<byte[]> {
+        INSTANCE;
+
+        @Override
+        public int hash(byte[] key) {
+            return Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(byte[] a, byte[] b) {
+            return Arrays.equals(a, b);
+        }
+    }
+
+    enum IntArray implements HashingStrategy<int[]> {
+        INSTANCE;
+
+        @Override
+        public int hash(int[] key) {
+            return Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(int[] a, int[] b) {
+            return Arrays.equals(a, b);
+        }
+    }
+
+    enum CaseInsensitive implements HashingStrategy<String> {
+        INSTANCE;
+
+        /**
+         *    ,      -  ,     String.equalsIgnoreCase()
+         */
+        @Override
+        public int hash(String key) {
+            int h = 0;
+            for (int i = 0; i < key.length(); i++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+            }
+            return h;
+        }
+
+        @Override
+        public boolean equals(String a, String b) {
+            return a.equalsIgnoreCase(b);
+        }
+    }
+
+    static final class WyHashBytes implements HashingStrategy<byte[]>, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+
+        WyHashBytes(long seed) {
+            this.seed = seed;
+        }
+
+        @Override
+        public int hash(byte[] key) {
+            long h = wyhash(key, seed);
+            return (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public boolean equals(byte[] a, byte[] b) {
+            return Arrays.equals(a, b);
+        }
+    }
+
+    static final class WyHashString implements HashingStrategy<String>, Serializable {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+
+        WyHashString(long seed) {
+            this.seed = seed;
+        }
+
+        /**
+         *     4  64- ,     wymix,  16-  wyhash
+         */
+        @Override
+        public int hash(String key) {
+            int length = key.length();
+            long s = seed ^ wymix(seed ^ SECRET0, SECRET1);
+            int i = 0;
+            for (; i + 8 <= length; i += 8) {
+                s = wymix(chars(key, i) ^ SECRET1, chars(key, i + 4) ^ s);
+            }
+            long a = 0, b = 0;
+            if (i < length) {
+                a = chars(key, i, Math.min(4, length - i));
+                if (i + 4 < length) {
+                    b = chars(key, i + 4, length - i - 4);
+                }
+            }
+            a ^= SECRET1;
+            b ^= s;
+            long lo = a * b;
+            long hi = Math.unsignedMultiplyHigh(a, b);
+            long h = wymix(lo ^ SECRET0 ^ length, hi ^ SECRET1);
+            return (int) (h ^ (h >>> 32));
+        }
+
+        @Override
+        public boolean equals(String a, String b) {
+            return a.equals(b);
+        }
+
+        private static long chars(String s, int from) {
+            return s.charAt(from) | (long) s.charAt(from + 1) << 16 | (long) s.charAt(from + 2) << 32 | (long) s.charAt(from + 3) << 48;
+        }
+
+        private static long chars(String s, int from, int count) {
+            long x = 0;
+            for (int j = 0; j < count; j++) {
+                x |= (long) s.charAt(from + j) << (16 * j);
+            }
+            return x;
+        }
+    }
+
+    /**
+     * 128-  a  b,   xor    
+     */
+    static long wymix(long a, long b) {
+        return a * b ^ Math.unsignedMultiplyHigh(a, b);
+    }
+
+    private static long read8(byte[] p, int i) {
+        return (long) LONG_LE.get(p, i);
+    }
+
+    private static long read4(byte[] p, int i) {
+        return (int) INT_LE.get(p, i) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * wyhash final4   p   seed (  ,      C  little-endian)
+     *
+     * @param p    
+     * @param seed  
+     * @return long 64- -
+     */
+    static long wyhash(byte[] p, long seed) {
+        int len = p.length;
+        seed ^= wymix(seed ^ SECRET0, SECRET1);
+        long a, b;
+        if (len <= 16) {
+            if (len >= 4) {
+                int shift = (len >>> 3) << 2;
+                a = read4(p, 0) << 32 | read4(p, shift);
+                b = read4(p, len - 4) << 32 | read4(p, len - 4 - shift);
+            } else if (len > 0) {
+                a = (p[0] & 0xFFL) << 16 | (p[len >>> 1] & 0xFFL) << 8 | (p[len - 1] & 0xFFL);
+                b = 0;
+            } else {
+                a = b = 0;
+            }
+        } else {
+            int i = len, off = 0;
+            if (i >= 48) {
+                long see1 = seed, see2 = seed;
+                do {
+                    seed = wymix(read8(p, off) ^ SECRET1, read8(p, off + 8) ^ seed);
+                    see1 = wymix(read8(p, off + 16) ^ SECRET2, read8(p, off + 24) ^ see1);
+                    see2 = wymix(read8(p, off + 32) ^ SECRET3, read8(p, off + 40) ^ see2);
+                    off += 48;
+                    i -= 48;
+                } while (i >= 48);
+                seed ^= see1 ^ see2;
+            }
+            while (i > 16) {
+                seed = wymix(read8(p, off) ^ SECRET1, read8(p, off + 8) ^ seed);
+                i -= 16;
+                off += 16;
+            }
+            a = read8(p, off + i - 16);
+            b = read8(p, off + i - 8);
+        }
+        a ^= SECRET1;
+        b ^= seed;
+        long lo = a * b;
+        long hi = Math.unsignedMultiplyHigh(a, b);
+        return wymix(lo ^ SECRET0 ^ len, hi ^ SECRET1);
+    }
+}
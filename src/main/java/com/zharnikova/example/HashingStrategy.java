@@ -0,0 +1,90 @@
+package com.zharnikova.example;
+
+/**
+ *      MyHashMap,  hashCode()  equals()  
+ *    ,     hashCode()/equals() (,    ),  -   ,
+ *    -   seed,       - (hash flooding).
+ *    :  equals(a, b)  true,  hash(a) == hash(b).      null.
+ *       ,     Serializable (  ).
+ *
+ * @param <K></K>  HashMap
+ */
+public interface HashingStrategy<K> {
+
+    /**
+     *  - 
+     *
+     * @param key 
+     * @return int -
+     */
+    int hash(K key);
+
+    /**
+     *   
+     *
+     * @param a  
+     * @param b  
+     * @return boolean true,   
+     */
+    boolean equals(K a, K b);
+
+    /**
+     *     (==), - - System.identityHashCode()
+     *
+     * @param <K>  HashMap
+     * @return HashingStrategy<K></K>  
+     */
+    @SuppressWarnings("unchecked")
+    static <K> HashingStrategy<K> identity() {
+        return (HashingStrategy<K>) (HashingStrategy<?>) HashingStrategies.Identity.INSTANCE;
+    }
+
+    /**
+     *  byte[]    (Arrays.equals(), Arrays.hashCode())
+     *
+     * @return HashingStrategy<byte[]>   byte[]
+     */
+    static HashingStrategy<byte[]> byteArray() {
+        return HashingStrategies.ByteArray.INSTANCE;
+    }
+
+    /**
+     *  int[]    (Arrays.equals(), Arrays.hashCode())
+     *
+     * @return HashingStrategy<int[]>   int[]
+     */
+    static HashingStrategy<int[]> intArray() {
+        return HashingStrategies.IntArray.INSTANCE;
+    }
+
+    /**
+     *      (String.equalsIgnoreCase()); -   ,    
+     *
+     * @return HashingStrategy<String>   String   
+     */
+    static HashingStrategy<String> caseInsensitive() {
+        return HashingStrategies.CaseInsensitive.INSTANCE;
+    }
+
+    /**
+     *  byte[]   ,  -   wyhash   seed
+     *   seed        -,        .
+     *
+     * @param seed    (,   )
+     * @return HashingStrategy<byte[]>   byte[]  wyhash
+     */
+    static HashingStrategy<byte[]> wyhash(long seed) {
+        return new HashingStrategies.WyHashBytes(seed);
+    }
+
+    /**
+     *     (String.equals()),  -      seed   wyhash
+     * ( 4  UTF-16   64- ),      .
+     *
+     * @param seed   
+     * @return HashingStrategy<String>   String  seed
+     */
+    static HashingStrategy<String> wyhashString(long seed) {
+        return new HashingStrategies.WyHashString(seed);
+    }
+}
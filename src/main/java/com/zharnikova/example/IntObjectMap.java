@@ -0,0 +1,360 @@
+package com.zharnikova.example;
+
+/**
+ * -   int        ,   MyHashMap (put, get, remove, containsKey, size,  ,  )
+ *     int[],  -   Object[],  put        Entry   .
+ *     ,       (backward shift),  "".
+ *     0,    0     ( hasZeroKey  zeroValue).
+ *    forEach()    IntObjectConsumer,  .
+ *
+ * @param <V></V>  HashMap
+ */
+public class IntObjectMap<V> {
+
+    /**
+     *  -   (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *    - = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *  ; 0 ,   
+     */
+    private int[] keys;
+
+    /**
+     *  
+     */
+    private Object[] values;
+
+    /**
+     *      (  - 1)
+     */
+    private int mask;
+
+    /**
+     *      0
+     */
+    private boolean hasZeroKey;
+
+    /**
+     *   0
+     */
+    private V zeroValue;
+
+    /**
+     *   (  0)
+     */
+    private int size;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *     ,   ,     (capacity * loadFactor).
+     */
+    private int threshold;
+
+    /**
+     *    (capacity=16, load factor=0.75)
+     */
+    public IntObjectMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  -
+     */
+    public IntObjectMap(int initialCapacity) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *       
+     *      .          ,
+     *       1.
+     *
+     * @param initialCapacity  -
+     * @param loadFactor          (0 < loadFactor < 1)
+     * @throws IllegalArgumentException        
+     */
+    public IntObjectMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacity);
+    }
+
+    /**
+     *     capacity   mask  threshold
+     *
+     * @param capacity   ( )
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity < MAXIMUM_CAPACITY ? Math.min((int) (capacity * loadFactor), capacity - 1) : capacity - 1;
+    }
+
+    /**
+     *     .           ,
+     *     ,   ,    .
+     *
+     * @param key 
+     * @return int - 
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     *     key (key != 0)
+     *
+     * @param key 
+     * @return int    -1,   
+     */
+    private int indexOf(int key) {
+        int[] ks = keys;
+        int m = mask;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            int k = ks[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *      null,   
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     *      defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue ,    
+     * @return V  
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : (V) values[i];
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     *   -     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null,    
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == 0) {
+            V oldValue = hasZeroKey ? zeroValue : null;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        int[] ks = keys;
+        int m = mask;
+        int i = hash(key) & m;
+        for (int k; (k = ks[i]) != 0; i = (i + 1) & m) {
+            if (k == key) {
+                V oldValue = (V) values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        ks[i] = key;
+        values[i] = value;
+        if (++size - (hasZeroKey ? 1 : 0) > threshold) {
+            resize(ks.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     *    newCapacity      
+     *
+     * @param newCapacity   ( )
+     */
+    private void resize(int newCapacity) {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("  : " + size);
+        }
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        int[] ks = keys;
+        int m = mask;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key != 0) {
+                int i = hash(key) & m;
+                while (ks[i] != 0) {
+                    i = (i + 1) & m;
+                }
+                ks[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     *     key    
+     *      ,       ,        .
+     *
+     * @param key  HashMap
+     * @return V     null,    
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return null;
+            }
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return oldValue;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        V oldValue = (V) values[i];
+        int[] ks = keys;
+        int m = mask;
+        for (int next = (i + 1) & m; ks[next] != 0; next = (next + 1) & m) {
+            int home = hash(ks[next]) & m;
+            //      i,  i        home  next
+            if (((next - home) & m) >= ((next - i) & m)) {
+                ks[i] = ks[next];
+                values[i] = values[next];
+                i = next;
+            }
+        }
+        ks[i] = 0;
+        values[i] = null;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     *   action   -  
+     *
+     * @param action   -
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjectConsumer<V> action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        int[] ks = keys;
+        for (int i = 0; i < ks.length; i++) {
+            if (ks[i] != 0) {
+                action.accept(ks[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     *   -   forEach()
+     *
+     * @param <V></V>  HashMap
+     */
+    @FunctionalInterface
+    public interface IntObjectConsumer<V> {
+
+        /**
+         *   -
+         *
+         * @param key   
+         * @param value 
+         */
+        void accept(int key, V value);
+    }
+}
@@ -0,0 +1,352 @@
+package com.zharnikova.example;
+
+/**
+ * -   long   long    ,   MyHashMap (put, get, remove, containsKey, size,  ,  )
+ *     long[],  -   long[],  put          Entry   .
+ *     ,       (backward shift),  "".
+ *     0,    0     ( hasZeroKey  zeroValue).
+ *    forEach()    LongLongConsumer,  .
+ */
+public class LongLongMap {
+
+    /**
+     *  -   (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *    - = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *  ; 0 ,   
+     */
+    private long[] keys;
+
+    /**
+     *  
+     */
+    private long[] values;
+
+    /**
+     *      (  - 1)
+     */
+    private int mask;
+
+    /**
+     *      0
+     */
+    private boolean hasZeroKey;
+
+    /**
+     *   0
+     */
+    private long zeroValue;
+
+    /**
+     *   (  0)
+     */
+    private int size;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *     ,   ,     (capacity * loadFactor).
+     */
+    private int threshold;
+
+    /**
+     *    (capacity=16, load factor=0.75)
+     */
+    public LongLongMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  -
+     */
+    public LongLongMap(int initialCapacity) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *       
+     *      .          ,
+     *       1.
+     *
+     * @param initialCapacity  -
+     * @param loadFactor          (0 < loadFactor < 1)
+     * @throws IllegalArgumentException        
+     */
+    public LongLongMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacity);
+    }
+
+    /**
+     *     capacity   mask  threshold
+     *
+     * @param capacity   ( )
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity < MAXIMUM_CAPACITY ? Math.min((int) (capacity * loadFactor), capacity - 1) : capacity - 1;
+    }
+
+    /**
+     *     .           ,
+     *     ,   ,    .
+     *
+     * @param key 
+     * @return int - 
+     */
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     *     key (key != 0)
+     *
+     * @param key 
+     * @return int    -1,   
+     */
+    private int indexOf(long key) {
+        long[] ks = keys;
+        int m = mask;
+        for (int i = hash(key) & m; ; i = (i + 1) & m) {
+            long k = ks[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *      0,    (      0,  containsKey()  getOrDefault())
+     *
+     * @param key  HashMap
+     * @return long  
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     *      defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue ,    
+     * @return long  
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = indexOf(key);
+        return i < 0 ? defaultValue : values[i];
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     *   -     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return long    0,    
+     */
+    public long put(long key, long value) {
+        if (key == 0) {
+            long oldValue = hasZeroKey ? zeroValue : 0;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        long[] ks = keys;
+        int m = mask;
+        int i = hash(key) & m;
+        for (long k; (k = ks[i]) != 0; i = (i + 1) & m) {
+            if (k == key) {
+                long oldValue = values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        ks[i] = key;
+        values[i] = value;
+        if (++size - (hasZeroKey ? 1 : 0) > threshold) {
+            resize(ks.length * 2);
+        }
+        return 0;
+    }
+
+    /**
+     *    newCapacity      
+     *
+     * @param newCapacity   ( )
+     */
+    private void resize(int newCapacity) {
+        if (keys.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("  : " + size);
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(newCapacity);
+        long[] ks = keys;
+        int m = mask;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = hash(key) & m;
+                while (ks[i] != 0) {
+                    i = (i + 1) & m;
+                }
+                ks[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     *     key    
+     *      ,       ,        .
+     *
+     * @param key  HashMap
+     * @return long     0,    
+     */
+    public long remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return 0;
+            }
+            long oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return oldValue;
+        }
+        int i = indexOf(key);
+        if (i < 0) {
+            return 0;
+        }
+        long oldValue = values[i];
+        long[] ks = keys;
+        int m = mask;
+        for (int next = (i + 1) & m; ks[next] != 0; next = (next + 1) & m) {
+            int home = hash(ks[next]) & m;
+            //      i,  i        home  next
+            if (((next - home) & m) >= ((next - i) & m)) {
+                ks[i] = ks[next];
+                values[i] = values[next];
+                i = next;
+            }
+        }
+        ks[i] = 0;
+        values[i] = 0;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     *   action   -  
+     *
+     * @param action   -
+     */
+    public void forEach(LongLongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        long[] ks = keys;
+        for (int i = 0; i < ks.length; i++) {
+            if (ks[i] != 0) {
+                action.accept(ks[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     *   -   forEach()
+     */
+    @FunctionalInterface
+    public interface LongLongConsumer {
+
+        /**
+         *   -
+         *
+         * @param key   
+         * @param value 
+         */
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,617 @@
+package com.zharnikova.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * -,     ,    (FileChannel.map  MemorySegment)
+ *       ,      O(1):   ,
+ *           . Java-  .
+ *  :  (HEADER_SIZE ),   ,       .
+ *   MAGIC,   FORMAT_VERSION,  , ,   ,  
+ *    CRC32 .     force()  close(),       ,
+ *  ,      (,    ),     .
+ * ,      ,   OffHeapMyHashMap:    (Codec)        .
+ *           ;  ,    .
+ *   ,   MyHashMap.
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public final class MappedMyHashMap<K, V> implements AutoCloseable {
+
+    /**
+     *   MappedMyHashMap ("MYHASHMP")
+     */
+    static final long MAGIC = 0x4D59484153484D50L;
+
+    /**
+     *   
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     *  
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     *   
+     */
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 8;
+    private static final long CAPACITY_OFFSET = 12;
+    private static final long INDEX_OFFSET = 16;
+    private static final long SIZE_OFFSET = 24;
+    private static final long END_OFFSET = 32;
+    private static final long LOAD_FACTOR_OFFSET = 40;
+    private static final long CHECKSUM_OFFSET = 44;
+
+    /**
+     *     (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *     = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *   : long  , int -, int  
+     */
+    private static final int SLOT_SIZE = 16;
+
+    /**
+     *   : int  , int  
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     *    
+     */
+    private static final long GROWTH_STEP = 1 << 20;
+
+    /**
+     *  
+     */
+    private final Codec<K> keyCodec;
+
+    /**
+     *  
+     */
+    private final Codec<V> valueCodec;
+
+    /**
+     *  
+     */
+    private final FileChannel channel;
+
+    /**
+     *  ;       close()
+     */
+    private Arena arena;
+
+    /**
+     *  ,   
+     */
+    private MemorySegment file;
+
+    /**
+     *   (  )
+     */
+    private final float loadFactor;
+
+    /**
+     *    
+     */
+    private long index;
+
+    /**
+     *      ( - 1)
+     */
+    private int mask;
+
+    /**
+     *   ,   ,   
+     */
+    private int threshold;
+
+    /**
+     *  
+     */
+    private int size;
+
+    /**
+     *    
+     */
+    private long end;
+
+    /**
+     *  ,     
+     */
+    private byte[] scratch = new byte[64];
+
+    /**
+     *    scratch
+     */
+    private MemorySegment scratchSegment = MemorySegment.ofArray(scratch);
+
+    /**
+     *      force()
+     */
+    private boolean dirty;
+
+    /**
+     *   
+     */
+    private boolean closed;
+
+    /**
+     *        (capacity=16, load factor=0.75),      
+     *
+     * @param path         
+     * @param keyCodec    
+     * @param valueCodec  
+     * @throws IOException        
+     */
+    public MappedMyHashMap(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+
+        this(path, DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     *             
+     *    initialCapacity  loadFactor  :    .
+     *
+     * @param path              
+     * @param initialCapacity    
+     * @param loadFactor          (0 < loadFactor < 1)
+     * @param keyCodec         
+     * @param valueCodec       
+     * @throws IOException                     
+     * @throws IllegalArgumentException        
+     */
+    public MappedMyHashMap(Path path, int initialCapacity, float loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long length = channel.size();
+            if (length == 0) {
+                int capacity = 2;
+                while (capacity < initialCapacity) {
+                    capacity <<= 1;
+                }
+                this.loadFactor = loadFactor;
+                map(HEADER_SIZE + (long) capacity * SLOT_SIZE + GROWTH_STEP);
+                file.set(ValueLayout.JAVA_LONG, MAGIC_OFFSET, MAGIC);
+                file.set(ValueLayout.JAVA_INT, VERSION_OFFSET, FORMAT_VERSION);
+                file.set(ValueLayout.JAVA_FLOAT, LOAD_FACTOR_OFFSET, loadFactor);
+                end = HEADER_SIZE;
+                index = allocate((long) capacity * SLOT_SIZE);
+                setCapacity(capacity);
+                writeHeader();
+                force();
+            } else {
+                if (length < HEADER_SIZE) {
+                    throw new IOException("    : " + length);
+                }
+                map(length);
+                readHeader();
+                this.loadFactor = file.get(ValueLayout.JAVA_FLOAT, LOAD_FACTOR_OFFSET);
+                setCapacity(file.get(ValueLayout.JAVA_INT, CAPACITY_OFFSET));
+            }
+        } catch (IOException | RuntimeException e) {
+            if (arena != null) {
+                arena.close();
+            }
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     *   length    ,    ;   
+     *
+     * @param length  
+     * @throws IOException    
+     */
+    private void map(long length) throws IOException {
+        Arena newArena = Arena.ofShared();
+        MemorySegment newFile;
+        try {
+            newFile = channel.map(FileChannel.MapMode.READ_WRITE, 0, length, newArena);
+        } catch (IOException | RuntimeException e) {
+            newArena.close();
+            throw e;
+        }
+        if (arena != null) {
+            arena.close();
+        }
+        arena = newArena;
+        file = newFile;
+    }
+
+    /**
+     *          ,     
+     *
+     * @throws IOException     MappedMyHashMap,        
+     */
+    private void readHeader() throws IOException {
+        if (file.get(ValueLayout.JAVA_LONG, MAGIC_OFFSET) != MAGIC) {
+            throw new IOException("   MappedMyHashMap");
+        }
+        int version = file.get(ValueLayout.JAVA_INT, VERSION_OFFSET);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("  : " + version);
+        }
+        if (file.get(ValueLayout.JAVA_INT, CHECKSUM_OFFSET) != checksum()) {
+            throw new IOException("    :      ");
+        }
+        index = file.get(ValueLayout.JAVA_LONG, INDEX_OFFSET);
+        size = (int) file.get(ValueLayout.JAVA_LONG, SIZE_OFFSET);
+        end = file.get(ValueLayout.JAVA_LONG, END_OFFSET);
+        int capacity = file.get(ValueLayout.JAVA_INT, CAPACITY_OFFSET);
+        if (Integer.bitCount(capacity) != 1 || end > file.byteSize() || index + (long) capacity * SLOT_SIZE > end) {
+            throw new IOException("  ");
+        }
+    }
+
+    /**
+     *      , ,      
+     */
+    private void writeHeader() {
+        file.set(ValueLayout.JAVA_INT, CAPACITY_OFFSET, mask + 1);
+        file.set(ValueLayout.JAVA_LONG, INDEX_OFFSET, index);
+        file.set(ValueLayout.JAVA_LONG, SIZE_OFFSET, size);
+        file.set(ValueLayout.JAVA_LONG, END_OFFSET, end);
+        file.set(ValueLayout.JAVA_INT, CHECKSUM_OFFSET, checksum());
+    }
+
+    /**
+     *     force()      
+     */
+    private void markDirty() {
+        if (!dirty) {
+            dirty = true;
+            file.set(ValueLayout.JAVA_INT, CHECKSUM_OFFSET, ~checksum());
+        }
+    }
+
+    /**
+     *  CRC32     
+     *
+     * @return int  
+     */
+    private int checksum() {
+        CRC32 crc = new CRC32();
+        crc.update(file.asSlice(0, CHECKSUM_OFFSET).toArray(ValueLayout.JAVA_BYTE));
+        return (int) crc.getValue();
+    }
+
+    /**
+     *      mask  threshold
+     *
+     * @param capacity  ( )
+     */
+    private void setCapacity(int capacity) {
+        mask = capacity - 1;
+        threshold = capacity < MAXIMUM_CAPACITY ? Math.min((int) (capacity * loadFactor), capacity - 1) : capacity - 1;
+    }
+
+    /**
+     *  length      (   8 ),    
+     *
+     * @param length 
+     * @return long     
+     */
+    private long allocate(long length) {
+        long offset = end;
+        long newEnd = (offset + length + 7) & ~7L;
+        if (newEnd > file.byteSize()) {
+            try {
+                map(Math.max(newEnd, file.byteSize() + Math.max(file.byteSize() / 2, GROWTH_STEP)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        end = newEnd;
+        return offset;
+    }
+
+    /**
+     *      scratch
+     *
+     * @param key 
+     * @return int    
+     */
+    private int encodeKey(Object key) {
+        if (closed) {
+            throw new IllegalStateException(" ");
+        }
+        @SuppressWarnings("unchecked")
+        K k = (K) key;
+        int length = keyCodec.size(k);
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            scratchSegment = MemorySegment.ofArray(scratch);
+        }
+        keyCodec.write(k, scratchSegment, 0);
+        return length;
+    }
+
+    /**
+     *     ,   scratch
+     *
+     * @param hash   - 
+     * @param length  
+     * @return long      -1,   
+     */
+    private long find(int hash, int length) {
+        MemorySegment f = file;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slot = index + (long) i * SLOT_SIZE;
+            if (f.get(ValueLayout.JAVA_INT, slot + 12) == 0) {
+                return -1;
+            }
+            if (f.get(ValueLayout.JAVA_INT, slot + 8) == hash) {
+                long record = f.get(ValueLayout.JAVA_LONG, slot);
+                if (f.get(ValueLayout.JAVA_INT, record) == length
+                        && MemorySegment.mismatch(scratchSegment, 0, length, f, record + RECORD_HEADER_SIZE, record + RECORD_HEADER_SIZE + length) < 0) {
+                    return slot;
+                }
+            }
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *      null,    (   null)
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int length = encodeKey(key);
+        long slot = find(OffHeapMyHashMap.hash(scratchSegment, 0, length), length);
+        return slot < 0 ? null : readValue(file.get(ValueLayout.JAVA_LONG, slot));
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        int length = encodeKey(key);
+        return find(OffHeapMyHashMap.hash(scratchSegment, 0, length), length) >= 0;
+    }
+
+    /**
+     *   
+     *
+     * @param record  
+     * @return V 
+     */
+    private V readValue(long record) {
+        int keyLength = file.get(ValueLayout.JAVA_INT, record);
+        int valueLength = file.get(ValueLayout.JAVA_INT, record + 4);
+        return valueCodec.read(file, record + RECORD_HEADER_SIZE + keyLength, valueLength);
+    }
+
+    /**
+     *   -     
+     *       ,   ,     ,       .
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException          null
+     * @throws UncheckedIOException     
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new RuntimeException("Key  value  : " + key);
+        }
+        int keyLength = encodeKey(key);
+        int hash = OffHeapMyHashMap.hash(scratchSegment, 0, keyLength);
+        int valueLength = valueCodec.size(value);
+        markDirty();
+        long slot = find(hash, keyLength);
+        if (slot >= 0) {
+            long record = file.get(ValueLayout.JAVA_LONG, slot);
+            V oldValue = readValue(record);
+            if (file.get(ValueLayout.JAVA_INT, record + 4) == valueLength) {
+                valueCodec.write(value, file, record + RECORD_HEADER_SIZE + keyLength);
+            } else {
+                // allocate()   ,        file
+                long newRecord = writeRecord(keyLength, value, valueLength);
+                file.set(ValueLayout.JAVA_LONG, slot, newRecord);
+            }
+            return oldValue;
+        }
+
+        long record = writeRecord(keyLength, value, valueLength);
+        insert(index, mask, hash, record);
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     *   :   scratch   value
+     *
+     * @param keyLength    
+     * @param value       
+     * @param valueLength  
+     * @return long  
+     */
+    private long writeRecord(int keyLength, V value, int valueLength) {
+        long record = allocate((long) RECORD_HEADER_SIZE + keyLength + valueLength);
+        MemorySegment f = file;
+        f.set(ValueLayout.JAVA_INT, record, keyLength);
+        f.set(ValueLayout.JAVA_INT, record + 4, valueLength);
+        MemorySegment.copy(scratchSegment, 0, f, record + RECORD_HEADER_SIZE, keyLength);
+        valueCodec.write(value, f, record + RECORD_HEADER_SIZE + keyLength);
+        return record;
+    }
+
+    /**
+     *            
+     *
+     * @param idx     
+     * @param m       
+     * @param hash   - 
+     * @param record  
+     */
+    private void insert(long idx, int m, int hash, long record) {
+        MemorySegment f = file;
+        int i = hash & m;
+        while (f.get(ValueLayout.JAVA_INT, idx + (long) i * SLOT_SIZE + 12) != 0) {
+            i = (i + 1) & m;
+        }
+        long slot = idx + (long) i * SLOT_SIZE;
+        f.set(ValueLayout.JAVA_LONG, slot, record);
+        f.set(ValueLayout.JAVA_INT, slot + 8, hash);
+        f.set(ValueLayout.JAVA_INT, slot + 12, 1);
+    }
+
+    /**
+     *                -;   
+     */
+    private void resize() {
+        int oldCapacity = mask + 1;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("  : " + size);
+        }
+        int newCapacity = oldCapacity * 2;
+        long oldIndex = index;
+        long newIndex = allocate((long) newCapacity * SLOT_SIZE);
+        file.asSlice(newIndex, (long) newCapacity * SLOT_SIZE).fill((byte) 0);
+        for (int i = 0; i < oldCapacity; i++) {
+            long slot = oldIndex + (long) i * SLOT_SIZE;
+            if (file.get(ValueLayout.JAVA_INT, slot + 12) != 0) {
+                insert(newIndex, newCapacity - 1, file.get(ValueLayout.JAVA_INT, slot + 8), file.get(ValueLayout.JAVA_LONG, slot));
+            }
+        }
+        index = newIndex;
+        setCapacity(newCapacity);
+    }
+
+    /**
+     *     key    
+     *     ,       ,        .
+     *
+     * @param key  HashMap
+     * @return V     null
+     */
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int length = encodeKey(key);
+        long found = find(OffHeapMyHashMap.hash(scratchSegment, 0, length), length);
+        if (found < 0) {
+            return null;
+        }
+        markDirty();
+        MemorySegment f = file;
+        V oldValue = readValue(f.get(ValueLayout.JAVA_LONG, found));
+        int i = (int) ((found - index) / SLOT_SIZE);
+        for (int next = (i + 1) & mask; f.get(ValueLayout.JAVA_INT, index + (long) next * SLOT_SIZE + 12) != 0; next = (next + 1) & mask) {
+            int home = f.get(ValueLayout.JAVA_INT, index + (long) next * SLOT_SIZE + 8) & mask;
+            //     i,  i        home  next
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                MemorySegment.copy(f, index + (long) next * SLOT_SIZE, f, index + (long) i * SLOT_SIZE, SLOT_SIZE);
+                i = next;
+            }
+        }
+        f.set(ValueLayout.JAVA_INT, index + (long) i * SLOT_SIZE + 12, 0);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     *            
+     */
+    public void force() {
+        if (closed) {
+            throw new IllegalStateException(" ");
+        }
+        writeHeader();
+        file.force();
+        dirty = false;
+    }
+
+    /**
+     *     (force())   .     .
+     *
+     * @throws IOException     
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        force();
+        closed = true;
+        arena.close();
+        channel.close();
+    }
+}
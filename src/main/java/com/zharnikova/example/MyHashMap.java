@@ -1,20 +1,38 @@
 package com.zharnikova.example;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h1>    HashMap</h1>
  *   put(), get(), remove()
  *   MyHashMap<K, V></K,V>,    Serializable  ,                   .
  *                 .
+ * ,    Entry   ( transient):  writeObject()/readObject()   loadFactor, incrementalResize,  , size   -,
+ *        .  ObjectOutputStream         String    MyHashMapBinaryCodec.
  * @param <K></K>  HashMap
  * @param <V></V>  HashMap
  * @author Zharnikova Kseniya
  * @version 1.0
  */
 public class MyHashMap<K,V> implements Serializable {
-    Locale locale = new Locale("ru", "Russia");
+    private static final Locale RUSSIAN = Locale.of("ru", "RU");
+
+    transient Locale locale = RUSSIAN;
     /**
      *     .
      *  1L   ,     
@@ -36,17 +54,47 @@ public class MyHashMap<K,V> implements Serializable {
      */
     private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 
+    /**
+     *  peekEntry,      
+     */
+    static final Entry<?, ?> UNREADABLE = new Entry<>(0, null, null, null);
+
+    /**
+     *    ,             
+     */
+    private static final int MIGRATION_STEP = 8;
+
+    /**
+     *  ,        (TreeNode)
+     */
+    static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     *  ,             
+     */
+    static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     *      ;        
+     */
+    static final int MIN_TREEIFY_CAPACITY = 64;
+
+    /**
+     *  ,    bulkLoad()   ;      put
+     */
+    static final int PARALLEL_LOAD_THRESHOLD = 1 << 16;
+
     /**
      *   Entry[],       () 
      *  @param <K></K>  HshMap
      *  @param <V></V>  HashMap
      */
-    private Entry<K, V>[] entryTable;
+    private transient Entry<K, V>[] entryTable;
 
     /**
      *   HashMap-
      */
-    private int size;
+    private transient int size;
 
     /**
      *  ,   
@@ -56,7 +104,50 @@ public class MyHashMap<K,V> implements Serializable {
     /**
      *   ,   ,  -   (capacity * loadFactor).
      */
-    private int threshold;
+    private transient int threshold;
+
+    /**
+     *   ()  ,   
+     */
+    private final boolean incrementalResize;
+
+    /**
+     *       null,   hashCode()  equals()  ;
+     *    ,      ,    Serializable
+     */
+    @SuppressWarnings("serial")
+    private final HashingStrategy<? super K> strategy;
+
+    /**
+     *  ,       entryTable; null,    
+     */
+    private transient Entry<K, V>[] oldTable;
+
+    /**
+     *    oldTable,       
+     */
+    private transient int migrationIndex;
+
+    /**
+     *    (   );        
+     */
+    private transient int modCount;
+
+    /**
+     *    null,     (. enableStats())
+     */
+    private transient MyHashMapStats.Recorder stats;
+
+    /**
+     *     -   null,    (. enableBloomFilter())
+     */
+    private transient BlockedBloomFilter bloomFilter;
+
+    /**
+     *     ,           (incrementalResize),
+     *  null;   ,   bloomFilter,        bloomFilter
+     */
+    private transient BlockedBloomFilter migratingBloomFilter;
 
 
 
@@ -107,6 +198,51 @@ public class MyHashMap<K,V> implements Serializable {
      * @throws IllegalArgumentException     ,    
      */
     public MyHashMap(int initialCapacity, float loadFactor) {
+
+        this(initialCapacity, loadFactor, false);
+    }
+
+    /**
+     *   MyHashMap,        
+     *  incrementalResize  false,       put (     ).
+     *  incrementalResize  true,     ,     oldTable,
+     *    put, get, getEntry, containsKey  remove    MIGRATION_STEP    (   ).
+     *     put     ,       .
+     *
+     * @param initialCapacity    -
+     * @param loadFactor           
+     * @param incrementalResize true,     
+     * @throws IllegalArgumentException     ,    
+     */
+    public MyHashMap(int initialCapacity, float loadFactor, boolean incrementalResize) {
+
+        this(initialCapacity, loadFactor, incrementalResize, null);
+    }
+
+    /**
+     *   MyHashMap     (     )
+     *
+     * @param strategy     
+     */
+    public MyHashMap(HashingStrategy<? super K> strategy) {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, false, strategy);
+    }
+
+    /**
+     *   MyHashMap,        (HashingStrategy)
+     *  strategy   null, -   strategy.hash(),    strategy.equals()  hashCode()  equals()  .
+     *      byte[], int[]     ,   -   .
+     *        (    compareTo(),    ),
+     *            seed (HashingStrategy.wyhash()).
+     *
+     * @param initialCapacity    -
+     * @param loadFactor           
+     * @param incrementalResize true,     
+     * @param strategy                null
+     * @throws IllegalArgumentException     ,    
+     */
+    public MyHashMap(int initialCapacity, float loadFactor, boolean incrementalResize, HashingStrategy<? super K> strategy) {
         if (initialCapacity < 0) {
             throw new IllegalArgumentException("     : " + initialCapacity);
         }
@@ -126,9 +262,224 @@ public class MyHashMap<K,V> implements Serializable {
 
         entryTable = newTable(capacity);
         this.loadFactor = loadFactor;
+        this.incrementalResize = incrementalResize;
+        this.strategy = strategy;
         threshold = (int) (capacity * loadFactor);
     }
 
+    /**
+     *    ( ),   expectedSize     
+     * put  ,  size  capacity * loadFactor,    ,  (int) (capacity * loadFactor) > expectedSize.
+     *
+     * @param expectedSize   
+     * @param loadFactor    
+     * @return int  ,   MAXIMUM_CAPACITY
+     */
+    static int capacityFor(int expectedSize, float loadFactor) {
+        int capacity = 1;
+        while (capacity < MAXIMUM_CAPACITY && (int) (capacity * loadFactor) <= expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     *  ,   expectedSize      (   capacityFor)
+     *
+     * @param expectedSize   
+     * @param <K>           HashMap
+     * @param <V>           HashMap
+     * @return MyHashMap<K, V></K,>    
+     * @throws IllegalArgumentException  expectedSize 
+     */
+    public static <K, V> MyHashMap<K, V> withExpectedSize(int expectedSize) {
+        return withExpectedSize(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *      loadFactor,   expectedSize     
+     *
+     * @param expectedSize   
+     * @param loadFactor    
+     * @param <K>           HashMap
+     * @param <V>           HashMap
+     * @return MyHashMap<K, V></K,>    
+     * @throws IllegalArgumentException  expectedSize     
+     */
+    public static <K, V> MyHashMap<K, V> withExpectedSize(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("  : " + expectedSize);
+        }
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+        return new MyHashMap<>(capacityFor(expectedSize, loadFactor), loadFactor);
+    }
+
+    /**
+     *     keys[i] - values[i];   ,  ,      (   put  )
+     *      (withExpectedSize)      .
+     *   PARALLEL_LOAD_THRESHOLD       ForkJoinPool  parallelLoad().
+     *
+     * @param keys   
+     * @param values 
+     * @param <K>     HashMap
+     * @param <V>     HashMap
+     * @return MyHashMap<K, V></K,>  
+     * @throws IllegalArgumentException    
+     * @throws RuntimeException             null
+     */
+    public static <K, V> MyHashMap<K, V> bulkLoad(K[] keys, V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("     : " + keys.length + "  " + values.length);
+        }
+        MyHashMap<K, V> map = withExpectedSize(keys.length);
+        if (keys.length < PARALLEL_LOAD_THRESHOLD) {
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], values[i]);
+            }
+        } else {
+            map.parallelLoad(keys, values);
+        }
+        return map;
+    }
+
+    /**
+     *      - (  ,     )
+     *     ,      ,  bulkLoad(K[], V[]).
+     *
+     * @param entries   -
+     * @param <K>      HashMap
+     * @param <V>      HashMap
+     * @return MyHashMap<K, V></K,>  
+     * @throws RuntimeException     null
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> MyHashMap<K, V> bulkLoad(Stream<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        Object[] array = entries.toArray();
+        K[] keys = (K[]) new Object[array.length];
+        V[] values = (V[]) new Object[array.length];
+        IntStream.range(0, array.length).parallel().forEach(i -> {
+            Map.Entry<? extends K, ? extends V> entry = (Map.Entry<? extends K, ? extends V>) array[i];
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+        });
+        return bulkLoad(keys, values);
+    }
+
+    /**
+     *  parallelLoad      ,  
+     *    partitions        ( ),      ,
+     *        .      :
+     * 1)      hash()    ,      ;
+     * 2)              order,   
+     * (     );
+     * 3)         linkLoaded()    .
+     *
+     * @param keys   
+     * @param values 
+     */
+    private void parallelLoad(K[] keys, V[] values) {
+        int n = keys.length;
+        Entry<K, V>[] tab = getTable();
+        int mask = tab.length - 1;
+        int bits = Integer.numberOfTrailingZeros(tab.length);
+        int wanted = Math.max(1, ForkJoinPool.getCommonPoolParallelism() * 4);
+        int partitionBits = Math.min(bits, 32 - Integer.numberOfLeadingZeros(wanted - 1));
+        int partitions = 1 << partitionBits;
+        int shift = bits - partitionBits;
+        int chunkSize = (n + partitions - 1) / partitions;
+
+        int[] hashes = new int[n];
+        int[][] offsets = new int[partitions][partitions];
+        IntStream.range(0, partitions).parallel().forEach(chunk -> {
+            int[] count = offsets[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                K key = keys[i];
+                if (key == null) {
+                    throw new RuntimeException("Key  : " + key);
+                }
+                int h = hash(key);
+                hashes[i] = h;
+                count[(h & mask) >>> shift]++;
+            }
+        });
+
+        int[] partitionStart = new int[partitions + 1];
+        int position = 0;
+        for (int p = 0; p < partitions; p++) {
+            partitionStart[p] = position;
+            for (int chunk = 0; chunk < partitions; chunk++) {
+                int count = offsets[chunk][p];
+                offsets[chunk][p] = position;
+                position += count;
+            }
+        }
+        partitionStart[partitions] = position;
+
+        int[] order = new int[n];
+        IntStream.range(0, partitions).parallel().forEach(chunk -> {
+            int[] next = offsets[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                order[next[(hashes[i] & mask) >>> shift]++] = i;
+            }
+        });
+
+        int[] added = new int[partitions];
+        IntStream.range(0, partitions).parallel().forEach(p -> {
+            int count = 0;
+            for (int j = partitionStart[p]; j < partitionStart[p + 1]; j++) {
+                int i = order[j];
+                if (linkLoaded(tab, hashes[i], keys[i], values[i])) {
+                    count++;
+                }
+            }
+            added[p] = count;
+        });
+
+        for (int count : added) {
+            size += count;
+        }
+        modCount++;
+    }
+
+    /**
+     *  linkLoaded         ,   size, modCount    
+     *  parallelLoad():     (  MIN_TREEIFY_CAPACITY),     ,
+     *  treeifyBin()  putTreeVal()    .
+     *
+     * @param tab   
+     * @param hash  - 
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return boolean true,    
+     */
+    private boolean linkLoaded(Entry<K, V>[] tab, int hash, K key, V value) {
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        if (first instanceof TreeNode) {
+            TreeNode<K, V> node = ((TreeNode<K, V>) first).putTreeVal(tab, hash, key, value);
+            if (node != null) {
+                node.v = value;
+                return false;
+            }
+            return true;
+        }
+        int binCount = 0;
+        for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+            if (hash == entry.hash && keyEquals(key, entry.k)) {
+                entry.v = value;
+                return false;
+            }
+            binCount++;
+        }
+        tab[index] = new Entry<>(hash, key, value, first);
+        if (binCount >= TREEIFY_THRESHOLD) {
+            treeifyBin(tab, index);
+        }
+        return true;
+    }
+
     /**
      *  equal     x  y.
      *      (x == y),   true.
@@ -144,19 +495,90 @@ public class MyHashMap<K,V> implements Serializable {
         return x == y || x.equals(y);
     }
 
+    /**
+     *  keyEquals    x    y:  equal(),     -  strategy.equals()
+     *
+     * @param x  
+     * @param y   
+     * @return boolean true,   
+     */
+    @SuppressWarnings("unchecked")
+    private boolean keyEquals(Object x, Object y) {
+        if (strategy == null) {
+            return equal(x, y);
+        }
+        return x == y || ((HashingStrategy<Object>) strategy).equals(x, y);
+    }
+
+    /**
+     *  comparableClassFor    x,     "class C implements Comparable<C>",  null.
+     *          compareTo()   .
+     *
+     * @param x 
+     * @return Class<?></?>    null
+     */
+    static Class<?> comparableClassFor(Object x) {
+        if (x instanceof Comparable) {
+            Class<?> c = x.getClass();
+            if (c == String.class) {
+                return c;
+            }
+            for (Type t : c.getGenericInterfaces()) {
+                if (t instanceof ParameterizedType) {
+                    ParameterizedType p = (ParameterizedType) t;
+                    Type[] args = p.getActualTypeArguments();
+                    if (p.getRawType() == Comparable.class && args.length == 1 && args[0] == c) {
+                        return c;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  compareComparables   k   x,  x   kc (  comparableClassFor),   0.
+     *
+     * @param kc   k
+     * @param k  
+     * @param x    
+     * @return int  compareTo()  0
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static int compareComparables(Class<?> kc, Object k, Object x) {
+        return x == null || x.getClass() != kc ? 0 : ((Comparable) k).compareTo(x);
+    }
+
     /**
      *  hash(Object key)    -   -.
      *    key    -,         .
-     * -     hashCode()  key.
-     *   -        Math.abs()    .
-     *                (entryTable.length),        .
+     * -     hashCode()  key (  strategy.hash(),   ).
+     *   16  -    (h ^ (h >>> 16)):      ,
+     *    ,      (, ,  1024),     .
+     *          :   ( 32 )   Entry.hash,
+     *       -    equals(),     -     .
      *
      * @param key   Object
      * @return int  hashcode   
      */
+    @SuppressWarnings("unchecked")
     final int hash(Object key) {
+        int h = strategy == null ? key.hashCode() : ((HashingStrategy<Object>) strategy).hash(key);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     *  indexFor(int hash, int length)     -,   hash().
+     *      ,    -    -,    (length - 1).
+     *      ,              -.
+     *
+     * @param hash   - 
+     * @param length   ( )
+     * @return int    
+     */
+    static int indexFor(int hash, int length) {
 
-        return Math.abs(key.hashCode()) % entryTable.length;
+        return hash & (length - 1);
     }
 
     /**
@@ -206,8 +628,9 @@ public class MyHashMap<K,V> implements Serializable {
      *   key  null,   null.
      *   -  (int h = hash(key))      - (Entry<K, V></K,>[] tab = getTable(); Entry<K, V></K,> entry = tab[h]).
      *       (while (entry != null)),     ,  - .
-     *    ,    -  -  (entry.hash == h)      (equal(key, entry.k)).
+     *    ,    -  -  (entry.hash == h)      (keyEquals(key, entry.k)).
      *    ,     (entry.v).
+     *      (TreeNode),      O(log n).
      *       ,   null.
      *
      * @param key  HashMap
@@ -218,14 +641,70 @@ public class MyHashMap<K,V> implements Serializable {
             return null;
         }
         int h = hash(key);
+        if (bloomFilter != null && !bloomFilter.mightContain(h)) {
+            if (stats != null) {
+                stats.recordGet(false, 0);
+            }
+            return null;
+        }
+        if (oldTable != null) {
+            migrate(h);
+        }
+        if (stats != null) {
+            return recordedGet(h, key);
+        }
+        Entry<K, V>[] tab = getTable();
+        Entry<K, V> entry = tab[indexFor(h, tab.length)];
+        if (entry instanceof TreeNode) {
+            entry = ((TreeNode<K, V>) entry).getTreeNode(h, key);
+            if (entry != null) {
+                return entry.v;
+            }
+        }
+        while (entry != null) {
+            if (entry.hash == h && keyEquals(key, entry.k)) {
+                return entry.v;
+            }
+            entry = entry.next;
+        }
+        if (bloomFilter != null) {
+            bloomFilter.falsePositiveCount++;
+        }
+        return null;
+    }
+
+    /**
+     *  recordedGet   get()   :     
+     *   get(),     get()        stats.
+     *
+     * @param h   - 
+     * @param key  HashMap
+     * @return V    null
+     */
+    private V recordedGet(int h, Object key) {
         Entry<K, V>[] tab = getTable();
-        Entry<K, V> entry = tab[h];
+        Entry<K, V> entry = tab[indexFor(h, tab.length)];
+        if (entry instanceof TreeNode) {
+            TreeNode<K, V> node = ((TreeNode<K, V>) entry).getTreeNode(h, key);
+            stats.recordGet(node != null, 1);
+            if (node == null && bloomFilter != null) {
+                bloomFilter.falsePositiveCount++;
+            }
+            return node != null ? node.v : null;
+        }
+        int probes = 0;
         while (entry != null) {
-            if (entry.hash == h && equal(key, entry.k)) {
+            probes++;
+            if (entry.hash == h && keyEquals(key, entry.k)) {
+                stats.recordGet(true, probes);
                 return entry.v;
             }
             entry = entry.next;
         }
+        stats.recordGet(false, probes);
+        if (bloomFilter != null) {
+            bloomFilter.falsePositiveCount++;
+        }
         return null;
     }
 
@@ -235,17 +714,58 @@ public class MyHashMap<K,V> implements Serializable {
      *         tab,      Entry<K, V></K,>
      *      ,  - .     (entry != null),     
      * ,     .  ,    
-     *   ,       (entry != null)         (!(entry.hash == hash && equal(key, entry.k))),       (entry = entry.next)
+     *   ,       (entry != null)         (!(entry.hash == hash && keyEquals(key, entry.k))),       (entry = entry.next)
      *     ,              (entry == null)
      * @param key  HashMap
      * @return entry   
      */
 
-    private Entry<K, V> getEntry(Object key) {
+    Entry<K, V> getEntry(Object key) {
+        int hash = hash(key);
+        if (bloomFilter != null && !bloomFilter.mightContain(hash)) {
+            return null;
+        }
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        Entry<K, V> entry = tab[indexFor(hash, tab.length)];
+        if (entry instanceof TreeNode) {
+            entry = ((TreeNode<K, V>) entry).getTreeNode(hash, key);
+        } else {
+            while (entry != null && !(entry.hash == hash && keyEquals(key, entry.k))) {
+                entry = entry.next;
+            }
+        }
+        if (entry == null && bloomFilter != null) {
+            bloomFilter.falsePositiveCount++;
+        }
+        return entry;
+    }
+
+    /**
+     *  peekEntry    ,  getEntry,           (  migrate)
+     *  StripedMyHashMap     ,       .
+     *      : put     , remove  transfer    next   ,
+     *        .      ,
+     *   -        UNREADABLE,        .
+     *        ,     (StampedLock.validate).
+     *
+     * @param key  HashMap
+     * @return Entry<K, V></K,>  , null  UNREADABLE
+     */
+    @SuppressWarnings("unchecked")
+    Entry<K, V> peekEntry(Object key) {
+        if (oldTable != null) {
+            return (Entry<K, V>) UNREADABLE;
+        }
         int hash = hash(key);
         Entry<K, V>[] tab = getTable();
-        Entry<K, V> entry = tab[hash];
-        while (entry != null && !(entry.hash == hash && equal(key, entry.k))) {
+        Entry<K, V> entry = tab[indexFor(hash, tab.length)];
+        if (entry instanceof TreeNode) {
+            return (Entry<K, V>) UNREADABLE;
+        }
+        while (entry != null && !(entry.hash == hash && keyEquals(key, entry.k))) {
             entry = entry.next;
         }
         return entry;
@@ -265,6 +785,7 @@ public class MyHashMap<K,V> implements Serializable {
      *  put   -  HashMap
      *     null,    RuntimeException
      *      HashMap,  ,     ,   ,   
+     *       TREEIFY_THRESHOLD,      treeifyBin()
      *
      * @param key    HashMap
      * @param value  HashMap
@@ -275,150 +796,1376 @@ public class MyHashMap<K,V> implements Serializable {
         if (key == null) {
             throw new RuntimeException("Key  : " + key);
         }
-        int hash = hash(key);
-        Entry<K, V>[] tab = getTable();
+        return putVal(hash(key), key, value, false);
+    }
+
+    /**
+     *  putIfAbsent   -,     (    null),     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V     null,   
+     * @throws RuntimeException    null
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null) {
+            throw new RuntimeException("Key  : " + key);
+        }
+        return putVal(hash(key), key, value, true);
+    }
 
-        for (Entry<K, V> entry = tab[hash]; entry != null; entry = entry.next) {
-            if (hash == entry.hash && equal(key, entry.k)) {
-                V oldValue = entry.v;
-                if (value != oldValue) {
-                    entry.v = value;
+    /**
+     *  putVal -   put(), putIfAbsent()  putAll():     ,   ,      
+     * -   ,  putAll()    Entry.hash      hashCode() .
+     *           ;     .
+     *
+     * @param hash         -  ( hash())
+     * @param key           HashMap
+     * @param value         HashMap
+     * @param onlyIfAbsent true,    ( null)  
+     * @return V    null
+     */
+    private V putVal(int hash, K key, V value, boolean onlyIfAbsent) {
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> inserted = null;
+
+        Entry<K, V> first = tab[index];
+        if (first instanceof TreeNode) {
+            TreeNode<K, V> node = ((TreeNode<K, V>) first).putTreeVal(tab, hash, key, value);
+            if (stats != null) {
+                stats.recordPut(1);
+            }
+            if (node != null) {
+                V oldValue = node.v;
+                if (!onlyIfAbsent || oldValue == null) {
+                    node.v = value;
                 }
+                afterEntryAccess(node);
                 return oldValue;
             }
-        }
+        } else {
+            int binCount = 0;
+            for (Entry<K, V> entry = first; entry != null; entry = entry.next) {
+                if (hash == entry.hash && keyEquals(key, entry.k)) {
+                    V oldValue = entry.v;
+                    if (value != oldValue && (!onlyIfAbsent || oldValue == null)) {
+                        entry.v = value;
+                    }
+                    if (stats != null) {
+                        stats.recordPut(binCount + 1);
+                    }
+                    afterEntryAccess(entry);
+                    return oldValue;
+                }
+                binCount++;
+            }
 
-        Entry<K, V> entry = tab[hash];
-        tab[hash] = new Entry<>(hash, key, value, entry);
+            inserted = tab[index] = newEntry(hash, key, value, first);
+            if (stats != null) {
+                stats.recordPut(binCount);
+            }
+            if (binCount >= TREEIFY_THRESHOLD) {
+                treeifyBin(tab, index);
+            }
+        }
 
+        if (bloomFilter != null) {
+            addToBloomFilter(hash);
+        }
+        modCount++;
         if (++size >= threshold) {
             resize(tab.length * 2);
         }
+        if (inserted != null) {
+            afterEntryInsertion(inserted);
+        }
 
         return null;
     }
 
     /**
-     *  resize    
-     * @param i  
+     *  getOrDefault     defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue   
+     * @return V    defaultValue
      */
-    private void resize(int i) {
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        Entry<K, V> entry = getEntry(key);
+        return entry == null ? defaultValue : entry.v;
     }
 
     /**
-     *  putAll     m   MyHashMap,    K  V
-     *       table,     Entry<K, V></K,>
-     *      put,    -    MyHashMap
-     *       m    MyHashMap
+     *  replace   ,       
      *
-     * @param m   MyHashMap
+     * @param key    HashMap
+     * @param value  
+     * @return V    null,   
      */
-    public void putAll(MyHashMap<? extends K, ? extends V> m) {
-        if(m!=null && m.size() >0){
-        for (Entry<? extends K, ? extends V> entry : m.entrySet()) {
-            if(!containsKey(entry.getKey())){
-                this.put(entry.getKey(), entry.getValue());
-            }
+    public V replace(K key, V value) {
+        if (key == null) {
+            return null;
         }
+        Entry<K, V> entry = getEntry(key);
+        if (entry == null) {
+            return null;
         }
+        V oldValue = entry.v;
+        entry.v = value;
+        afterEntryAccess(entry);
+        return oldValue;
     }
 
+    /**
+     *  replace     newValue,      oldValue
+     *
+     * @param key       HashMap
+     * @param oldValue   
+     * @param newValue  
+     * @return boolean true,   
+     */
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (key == null) {
+            return false;
+        }
+        Entry<K, V> entry = getEntry(key);
+        if (entry == null || !Objects.equals(entry.v, oldValue)) {
+            return false;
+        }
+        entry.v = newValue;
+        afterEntryAccess(entry);
+        return true;
+    }
 
     /**
-     *  remove()       key   ,   -.
-     *    -  (hash(key)),      (getTable()),   -    
-     *     ,     (prev),         (equal(key, entry.k))
-     *    ,          (entry.v)
-     *   ,    ,   null
+     *  computeIfAbsent   ,     (   null) -    mappingFunction   
+     *        hash()     .    null,   .
      *
-     * @param key  HashMap
-     * @return V  HashMap
+     * @param key              HashMap
+     * @param mappingFunction ,    
+     * @return V    
+     * @throws ConcurrentModificationException    
      */
-    public V remove(Object key) {
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        Entry<K, V> node = null;
+        int binCount = 0;
+        if (first instanceof TreeNode) {
+            node = ((TreeNode<K, V>) first).getTreeNode(hash, key);
+        } else {
+            for (Entry<K, V> entry = first; entry != null; entry = entry.next, binCount++) {
+                if (entry.hash == hash && keyEquals(key, entry.k)) {
+                    node = entry;
+                    break;
+                }
+            }
+        }
+        if (node != null && node.v != null) {
+            afterEntryAccess(node);
+            return node.v;
+        }
+
+        int mc = modCount;
+        V value = mappingFunction.apply(key);
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (value == null) {
+            return null;
+        }
+        if (node != null) {
+            node.v = value;
+            afterEntryAccess(node);
+        } else {
+            addNode(tab, index, first, hash, key, value, binCount);
+        }
+        return value;
+    }
+
+    /**
+     *  computeIfPresent      remappingFunction(,  );    null,  
+     *
+     * @param key                HashMap
+     * @param remappingFunction ,   
+     * @return V    null,      
+     * @throws ConcurrentModificationException    
+     */
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        Entry<K, V> node = null, prev = null;
+        if (first instanceof TreeNode) {
+            node = ((TreeNode<K, V>) first).getTreeNode(hash, key);
+        } else {
+            for (Entry<K, V> entry = first; entry != null; prev = entry, entry = entry.next) {
+                if (entry.hash == hash && keyEquals(key, entry.k)) {
+                    node = entry;
+                    break;
+                }
+            }
+        }
+        if (node == null || node.v == null) {
+            return null;
+        }
+
+        int mc = modCount;
+        V value = remappingFunction.apply(key, node.v);
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (value == null) {
+            unlinkNode(tab, index, prev, node);
+        } else {
+            node.v = value;
+            afterEntryAccess(node);
+        }
+        return value;
+    }
+
+    /**
+     *  compute     remappingFunction(,    null)     
+     *    null,   (  ),       .
+     *
+     * @param key                HashMap
+     * @param remappingFunction ,   
+     * @return V    null
+     * @throws ConcurrentModificationException    
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        Entry<K, V> node = null, prev = null;
+        int binCount = 0;
+        if (first instanceof TreeNode) {
+            node = ((TreeNode<K, V>) first).getTreeNode(hash, key);
+        } else {
+            for (Entry<K, V> entry = first; entry != null; prev = entry, entry = entry.next, binCount++) {
+                if (entry.hash == hash && keyEquals(key, entry.k)) {
+                    node = entry;
+                    break;
+                }
+            }
+        }
+
+        int mc = modCount;
+        V value = remappingFunction.apply(key, node == null ? null : node.v);
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (node != null) {
+            if (value == null) {
+                unlinkNode(tab, index, prev, node);
+            } else {
+                node.v = value;
+                afterEntryAccess(node);
+            }
+        } else if (value != null) {
+            addNode(tab, index, first, hash, key, value, binCount);
+        }
+        return value;
+    }
+
+    /**
+     *  merge  value,    (   null),     remappingFunction( , value)
+     *    null,  .   : merge(key, 1, Integer::sum)  hash()     .
+     *
+     * @param key                HashMap
+     * @param value                
+     * @param remappingFunction      
+     * @return V    null,   
+     * @throws ConcurrentModificationException    
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
         int hash = hash(key);
+        if (oldTable != null) {
+            migrate(hash);
+        }
         Entry<K, V>[] tab = getTable();
-        Entry<K, V> prev = tab[hash];
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> first = tab[index];
+        Entry<K, V> node = null, prev = null;
+        int binCount = 0;
+        if (first instanceof TreeNode) {
+            node = ((TreeNode<K, V>) first).getTreeNode(hash, key);
+        } else {
+            for (Entry<K, V> entry = first; entry != null; prev = entry, entry = entry.next, binCount++) {
+                if (entry.hash == hash && keyEquals(key, entry.k)) {
+                    node = entry;
+                    break;
+                }
+            }
+        }
+
+        if (node == null) {
+            addNode(tab, index, first, hash, key, value, binCount);
+            return value;
+        }
+        V newValue = value;
+        if (node.v != null) {
+            int mc = modCount;
+            newValue = remappingFunction.apply(node.v, value);
+            if (mc != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+        if (newValue == null) {
+            unlinkNode(tab, index, prev, node);
+        } else {
+            node.v = newValue;
+            afterEntryAccess(node);
+        }
+        return newValue;
+    }
+
+    /**
+     *  addNode      index,      (    )
+     *    binCount      ,     .
+     *
+     * @param tab      
+     * @param index     
+     * @param first      
+     * @param hash     - 
+     * @param key       HashMap
+     * @param value     HashMap
+     * @param binCount   (   )
+     */
+    private void addNode(Entry<K, V>[] tab, int index, Entry<K, V> first, int hash, K key, V value, int binCount) {
+        Entry<K, V> inserted = null;
+        if (first instanceof TreeNode) {
+            ((TreeNode<K, V>) first).putTreeVal(tab, hash, key, value);
+        } else {
+            inserted = tab[index] = newEntry(hash, key, value, first);
+            if (binCount >= TREEIFY_THRESHOLD) {
+                treeifyBin(tab, index);
+            }
+        }
+        if (bloomFilter != null) {
+            addToBloomFilter(hash);
+        }
+        modCount++;
+        if (++size >= threshold) {
+            resize(tab.length * 2);
+        }
+        if (inserted != null) {
+            afterEntryInsertion(inserted);
+        }
+    }
+
+    /**
+     *  unlinkNode    node   index
+     *         prev (null,  node ),     .
+     *
+     * @param tab   
+     * @param index  
+     * @param prev      null
+     * @param node   
+     */
+    private void unlinkNode(Entry<K, V>[] tab, int index, Entry<K, V> prev, Entry<K, V> node) {
+        if (node instanceof TreeNode) {
+            ((TreeNode<K, V>) node).removeTreeNode(tab, true);
+        } else if (prev == null) {
+            tab[index] = node.next;
+        } else {
+            prev.next = node.next;
+        }
+        if (bloomFilter != null && bloomFilter.recordRemoval()) {
+            rebuildBloomFilter();
+        }
+        size--;
+        modCount++;
+        afterEntryRemoval(node);
+    }
+
+    /**
+     *  resize    
+     *      MAXIMUM_CAPACITY,   ,  threshold   Integer.MAX_VALUE,  resize   .
+     *      newCapacity (   MAXIMUM_CAPACITY)   threshold = newCapacity * loadFactor.
+     *            transfer().
+     *         oldTable,        migrate();
+     *         ,     completeResize().
+     *
+     * @param newCapacity   
+     */
+    private void resize(int newCapacity) {
+        if (stats == null) {
+            resizeTable(newCapacity);
+            return;
+        }
+        MyHashMapResizeEvent event = new MyHashMapResizeEvent();
+        event.begin();
+        int oldCapacity = getTable().length;
+        long start = System.nanoTime();
+        resizeTable(newCapacity);
+        stats.recordResize(getTable().length, System.nanoTime() - start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.mapId = stats.mapId;
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = getTable().length;
+            event.size = size;
+            event.incremental = incrementalResize;
+            event.commit();
+        }
+    }
+
+    /**
+     *  resizeTable     resize(); resize()       
+     *    JFR MyHashMapResizeEvent
+     *
+     * @param newCapacity   ( )
+     */
+    private void resizeTable(int newCapacity) {
+        if (oldTable != null) {
+            completeResize();
+        }
+        Entry<K, V>[] oldTab = getTable();
+        int oldCapacity = oldTab.length;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            threshold = Integer.MAX_VALUE;
+            return;
+        }
+        if (newCapacity > MAXIMUM_CAPACITY) {
+            newCapacity = MAXIMUM_CAPACITY;
+        }
+
+        Entry<K, V>[] newTab = newTable(newCapacity);
+        entryTable = newTab;
+        threshold = newCapacity < MAXIMUM_CAPACITY ? (int) (newCapacity * loadFactor) : Integer.MAX_VALUE;
+
+        if (incrementalResize) {
+            oldTable = oldTab;
+            migrationIndex = 0;
+            if (bloomFilter != null) {
+                migratingBloomFilter = new BlockedBloomFilter(bloomFilter.targetFalsePositiveRate, expectedBloomKeys());
+            }
+        } else {
+            for (int j = 0; j < oldCapacity; j++) {
+                transfer(oldTab, j, newTab);
+            }
+            if (bloomFilter != null) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    /**
+     *  rebuildBloomFilter       threshold     Entry.hash (hashCode()  )
+     *    ,     (    ,       O(size))
+     *    ,       (. BlockedBloomFilter.recordRemoval());     O(1).
+     *    (incrementalResize)    :   migratingBloomFilter   transfer()
+     *    ,      O(size).   -    ,
+     *           .
+     */
+    private void rebuildBloomFilter() {
+        migratingBloomFilter = null;
+        bloomFilter.reset(expectedBloomKeys());
+        addHashes(bloomFilter, getTable());
+        if (oldTable != null) {
+            addHashes(bloomFilter, oldTable);
+        }
+    }
+
+    /**
+     * @return int  ,     :     (  ,     )
+     */
+    private int expectedBloomKeys() {
+        return threshold < Integer.MAX_VALUE ? Math.max(threshold, size) : Math.max(getTable().length, size);
+    }
+
+    /**
+     *  addToBloomFilter  -      ,    ,   
+     *
+     * @param hash - 
+     */
+    private void addToBloomFilter(int hash) {
+        bloomFilter.add(hash);
+        if (migratingBloomFilter != null) {
+            migratingBloomFilter.add(hash);
+        }
+    }
+
+    private void addHashes(BlockedBloomFilter filter, Entry<K, V>[] tab) {
+        for (Entry<K, V> bin : tab) {
+            addChainHashes(filter, bin);
+        }
+    }
+
+    private static void addChainHashes(BlockedBloomFilter filter, Entry<?, ?> first) {
+        for (Entry<?, ?> entry = first; entry != null; entry = entry.next) {
+            filter.add(entry.hash);
+        }
+    }
+
+    /**
+     *  finishResize ,    :   ,        
+     */
+    private void finishResize() {
+        oldTable = null;
+        if (migratingBloomFilter != null) {
+            migratingBloomFilter.rejectCount = bloomFilter.rejectCount;
+            migratingBloomFilter.falsePositiveCount = bloomFilter.falsePositiveCount;
+            bloomFilter = migratingBloomFilter;
+            migratingBloomFilter = null;
+        }
+    }
+
+    /**
+     *  transfer     j   oldTab    newTab,     
+     *     -  ,  Entry.hash   - ,    j
+     *     j ("lo" ),    j + oldTab.length ("hi" ) -     - (hash & oldCapacity).
+     *         ,    hash()   ,      .
+     *      TreeNode.split(),        .
+     *    j   .         (migratingBloomFilter),
+     * -     .
+     *
+     * @param oldTab  
+     * @param j         
+     * @param newTab  
+     */
+    private void transfer(Entry<K, V>[] oldTab, int j, Entry<K, V>[] newTab) {
+        Entry<K, V> entry = oldTab[j];
+        if (entry == null) {
+            return;
+        }
+        oldTab[j] = null;
+        if (migratingBloomFilter != null) {
+            addChainHashes(migratingBloomFilter, entry);
+        }
+        int oldCapacity = oldTab.length;
+        if (entry instanceof TreeNode) {
+            ((TreeNode<K, V>) entry).split(newTab, j, oldCapacity);
+            return;
+        }
+        Entry<K, V> loHead = null, loTail = null;
+        Entry<K, V> hiHead = null, hiTail = null;
+        do {
+            Entry<K, V> next = entry.next;
+            if ((entry.hash & oldCapacity) == 0) {
+                if (loTail == null) {
+                    loHead = entry;
+                } else {
+                    loTail.next = entry;
+                }
+                loTail = entry;
+            } else {
+                if (hiTail == null) {
+                    hiHead = entry;
+                } else {
+                    hiTail.next = entry;
+                }
+                hiTail = entry;
+            }
+            entry = next;
+        } while (entry != null);
+        if (loTail != null) {
+            loTail.next = null;
+            newTab[j] = loHead;
+        }
+        if (hiTail != null) {
+            hiTail.next = null;
+            newTab[j + oldCapacity] = hiHead;
+        }
+    }
+
+    /**
+     *  migrate        ,  oldTable   null
+     *     ,       - hash,   
+     *      entryTable      .
+     *      MIGRATION_STEP ,   migrationIndex.    , oldTable   null.
+     *
+     * @param hash -   
+     */
+    private void migrate(int hash) {
+        Entry<K, V>[] oldTab = oldTable;
+        Entry<K, V>[] newTab = getTable();
+        transfer(oldTab, indexFor(hash, oldTab.length), newTab);
+
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldTab.length);
+        for (int j = migrationIndex; j < end; j++) {
+            transfer(oldTab, j, newTab);
+        }
+        migrationIndex = end;
+        if (end == oldTab.length) {
+            finishResize();
+        }
+    }
+
+    /**
+     *  completeResize     ,     oldTable
+     *   ,     (keySet(), entrySet(), values()),     .
+     */
+    private void completeResize() {
+        Entry<K, V>[] oldTab = oldTable;
+        if (oldTab == null) {
+            return;
+        }
+        Entry<K, V>[] newTab = getTable();
+        for (int j = migrationIndex; j < oldTab.length; j++) {
+            transfer(oldTab, j, newTab);
+        }
+        finishResize();
+    }
+
+    /**
+     *  treeifyBin     index  
+     *    MIN_TREEIFY_CAPACITY,    ,   ,      .
+     *       TreeNode ( next   ),      - .
+     *
+     * @param tab   
+     * @param index  
+     */
+    private void treeifyBin(Entry<K, V>[] tab, int index) {
+        if (!treeBins()) {
+            return;
+        }
+        if (tab.length < MIN_TREEIFY_CAPACITY) {
+            resize(tab.length * 2);
+            return;
+        }
+        Entry<K, V> entry = tab[index];
+        if (entry == null) {
+            return;
+        }
+        TreeNode<K, V> head = null, tail = null;
+        do {
+            TreeNode<K, V> node = new TreeNode<>(entry.hash, entry.k, entry.v, null);
+            if ((node.prev = tail) == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            entry = entry.next;
+        } while (entry != null);
+        tab[index] = head;
+        head.treeify(tab);
+    }
+
+    /**
+     *  putAll     m   MyHashMap,    K  V
+     *       table,     Entry<K, V></K,>
+     *      putVal  -,    Entry.hash,  hashCode()    
+     *  ,      ,    m (  put)
+     *
+     * @param m   MyHashMap
+     */
+    public void putAll(MyHashMap<? extends K, ? extends V> m) {
+        if (m == null || m.size() == 0) {
+            return;
+        }
+        m.completeResize();
+        putAllFrom(m.getTable(), m.strategy == strategy);
+    }
+
+    /**
+     *  putAllFrom         MyHashMap,    Entry -
+     *      ,  -  ,  -    .
+     *
+     * @param source      
+     * @param sameHashes true,  -     
+     * @param <K2></K2>   
+     * @param <V2></V2>   
+     */
+    private <K2 extends K, V2 extends V> void putAllFrom(Entry<K2, V2>[] source, boolean sameHashes) {
+        for (Entry<K2, V2> bin : source) {
+            for (Entry<K2, V2> entry = bin; entry != null; entry = entry.next) {
+                putVal(sameHashes ? entry.hash : hash(entry.k), entry.k, entry.v, false);
+            }
+        }
+    }
+
+
+    /**
+     *  remove()       key   ,   -.
+     *    -  (hash(key)),      (getTable()),   -    
+     *     ,     (prev),         (keyEquals(key, entry.k))
+     *    ,          (entry.v)
+     *    ,      TreeNode.removeTreeNode()
+     *   ,    ,   null
+     *
+     * @param key  HashMap
+     * @return V  HashMap
+     */
+    public V remove(Object key) {
+        Entry<K, V> entry = removeNode(hash(key), key, true);
+        return entry == null ? null : entry.v;
+    }
+
+    /**
+     *  removeNode     key  - hash      null,    
+     *   remove()      (Iterator.remove()).
+     *      movable   TreeNode.removeTreeNode():    (movable = false)   
+     *      ,   next       .
+     *
+     * @param hash    -  ( hash())
+     * @param key      HashMap
+     * @param movable false,       
+     * @return Entry<K, V></K,>    null
+     */
+    private Entry<K, V> removeNode(int hash, Object key, boolean movable) {
+        if (oldTable != null) {
+            migrate(hash);
+        }
+        Entry<K, V>[] tab = getTable();
+        int index = indexFor(hash, tab.length);
+        Entry<K, V> prev = tab[index];
         Entry<K, V> entry = prev;
 
-        while (entry != null) {
-            Entry<K, V> next = entry.next;
-            if (hash == entry.hash && equal(key, entry.k)) {
-                size--;
-                if (prev == entry) {
-                    tab[hash] = next;
-                } else {
-                    prev.next = next;
-                }
-                return entry.v;
+        if (entry instanceof TreeNode) {
+            TreeNode<K, V> node = ((TreeNode<K, V>) entry).getTreeNode(hash, key);
+            if (node == null) {
+                return null;
+            }
+            size--;
+            modCount++;
+            node.removeTreeNode(tab, movable);
+            if (bloomFilter != null && bloomFilter.recordRemoval()) {
+                rebuildBloomFilter();
+            }
+            afterEntryRemoval(node);
+            return node;
+        }
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            if (hash == entry.hash && keyEquals(key, entry.k)) {
+                size--;
+                modCount++;
+                if (prev == entry) {
+                    tab[index] = next;
+                } else {
+                    prev.next = next;
+                }
+                if (bloomFilter != null && bloomFilter.recordRemoval()) {
+                    rebuildBloomFilter();
+                }
+                afterEntryRemoval(entry);
+                return entry;
+            }
+            prev = entry;
+            entry = next;
+        }
+
+        return null;
+    }
+
+
+    /**
+     *  keySet()    -  (view) ,   
+     *     :        , size()  contains()   .
+     *      ;    (remove(), Iterator.remove())    .
+     *         ,   ConcurrentModificationException.
+     *
+     * @return Set<K></K>   
+     */
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new ChainIterator<K>() {
+                    @Override
+                    K element(Entry<K, V> entry) {
+                        return entry.k;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o != null && containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o != null && removeNode(hash(o), o, true) != null;
+            }
+
+            @Override
+            public Spliterator<K> spliterator() {
+                return new ChainSpliterator<>(entry -> entry.k, Spliterator.DISTINCT | Spliterator.NONNULL);
+            }
+        };
+    }
+
+    /**
+     *  entrySet     - ,      Entry   ( )
+     * contains()  remove()       ,     -,     TreeNode.
+     *
+     * @return Set<Entry < K, V>>   
+     */
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new ChainIterator<Entry<K, V>>() {
+                    @Override
+                    Entry<K, V> element(Entry<K, V> entry) {
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> e = (Entry<?, ?>) o;
+                if (e.getKey() == null) {
+                    return false;
+                }
+                Entry<K, V> candidate = getEntry(e.getKey());
+                return candidate != null && Objects.equals(candidate.v, e.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!contains(o)) {
+                    return false;
+                }
+                Object key = ((Entry<?, ?>) o).getKey();
+                removeNode(hash(key), key, true);
+                return true;
+            }
+
+            @Override
+            public Spliterator<Entry<K, V>> spliterator() {
+                return new ChainSpliterator<>(entry -> entry, Spliterator.DISTINCT | Spliterator.NONNULL);
+            }
+        };
+    }
+
+    /**
+     *  values    -   ( :      )
+     * Iterator.remove()    ,     .
+     *
+     * @return Collection<V>    
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ChainIterator<V>() {
+                    @Override
+                    V element(Entry<K, V> entry) {
+                        return entry.v;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Spliterator<V> spliterator() {
+                return new ChainSpliterator<>(entry -> entry.v, 0);
+            }
+        };
+    }
+
+    /**
+     *  stream      ( ,  entrySet().stream())
+     *
+     * @return Stream<Entry<K, V>></Entry<K,>  
+     */
+    public Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(entrySet().spliterator(), false);
+    }
+
+    /**
+     *  parallelStream     
+     * Spliterator     ,     ForkJoinPool    .
+     *   ,   .
+     *
+     * @return Stream<Entry<K, V>></Entry<K,>   
+     */
+    public Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(entrySet().spliterator(), true);
+    }
+
+    /**
+     *  forEach   action   -,      
+     *  action    ,    ConcurrentModificationException.
+     *
+     * @param action   -
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        completeResize();
+        Entry<K, V>[] table = getTable();
+        int mc = modCount;
+
+        for (int i = 0; i < table.length; i++) {
+            for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                action.accept(entry.k, entry.v);
+            }
+        }
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     *  replaceAll      function(, )     ,   
+     *      afterValueReplacement(),        .
+     *
+     * @param function ,   
+     * @throws ConcurrentModificationException      
+     */
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        completeResize();
+        Entry<K, V>[] table = getTable();
+        int mc = modCount;
+
+        for (int i = 0; i < table.length; i++) {
+            for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                entry.v = function.apply(entry.k, entry.v);
+                afterValueReplacement(entry);
+            }
+        }
+        if (mc != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     *  freeze        (FrozenMyHashMap)
+     *       ,       -,     .
+     *   ,      ,    .     freeze()    .
+     *    ( )  ,        hash()  equals().
+     *
+     * @return FrozenMyHashMap<K, V></K,>  
+     */
+    public FrozenMyHashMap<K, V> freeze() {
+        return new FrozenMyHashMap<>(this, strategy);
+    }
+
+    /**
+     *  enableStats   :  get() (, ,  ), put() ( )   
+     *   ,  stats  null,         .
+     *        JDK Flight Recorder MyHashMapStatsEvent,
+     *       MyHashMapResizeEvent,       .
+     *     .
+     */
+    public void enableStats() {
+        if (stats == null) {
+            stats = new MyHashMapStats.Recorder(System.identityHashCode(this), getTable().length);
+            MyHashMapStatsEvent.register(stats);
+        }
+    }
+
+    /**
+     *  disableStats       
+     */
+    public void disableStats() {
+        if (stats != null) {
+            MyHashMapStatsEvent.unregister(stats);
+            stats = null;
+        }
+    }
+
+    /**
+     *  stats   :      ,   
+     *   O(capacity),  stats()   ,       .
+     *
+     * @return MyHashMapStats    null,    
+     */
+    public MyHashMapStats stats() {
+        if (stats == null) {
+            return null;
+        }
+        completeResize();
+        Entry<K, V>[] tab = getTable();
+        long[] histogram = new long[MyHashMapStats.CHAIN_HISTOGRAM_LIMIT + 1];
+        int maxChainLength = 0;
+        int treeBins = 0;
+        for (Entry<K, V> bin : tab) {
+            if (bin instanceof TreeNode) {
+                treeBins++;
             }
-            prev = entry;
-            entry = next;
+            int length = 0;
+            for (Entry<K, V> entry = bin; entry != null; entry = entry.next) {
+                length++;
+            }
+            histogram[Math.min(length, MyHashMapStats.CHAIN_HISTOGRAM_LIMIT)]++;
+            maxChainLength = Math.max(maxChainLength, length);
         }
+        return new MyHashMapStats(size, tab.length, histogram, maxChainLength, treeBins, stats);
+    }
 
-        return null;
+    /**
+     *  enableBloomFilter          get(), getOrDefault()  containsKey()
+     *      -      " ",   64- ,
+     *         (   equals()).   (   falsePositiveRate)
+     *    ,     . remove()   :    
+     *  ,       .
+     *   :          -1.44 * log2(falsePositiveRate)   
+     *      ( 1% -  12 ,      );    bloomFilterStats().
+     * ,    -  ( , )     :  ,  ,
+     *     .          ,        .
+     *   ,  bloomFilter  null,        .
+     *       .
+     *
+     * @param falsePositiveRate   , 0 < falsePositiveRate < 1 (, 0.01)
+     * @throws IllegalArgumentException    (0, 1)
+     */
+    public void enableBloomFilter(double falsePositiveRate) {
+        bloomFilter = new BlockedBloomFilter(falsePositiveRate, threshold);
+        rebuildBloomFilter();
+    }
+
+    /**
+     *  disableBloomFilter       
+     */
+    public void disableBloomFilter() {
+        bloomFilter = null;
+        migratingBloomFilter = null;
     }
 
+    /**
+     *  bloomFilterStats     : ,      ,  
+     *
+     * @return BloomFilterStats   null,   
+     */
+    public BloomFilterStats bloomFilterStats() {
+        return bloomFilter == null ? null : new BloomFilterStats(size, bloomFilter);
+    }
 
     /**
-     *  keySet()    ( Set<K></K>),    Entry<K, V></K,>[] table,      getTable()
-     *      table    ( getKey())  -null    HashSet keyS
-     *      HashSet  
+     *  writeObject     
+     *      (loadFactor, incrementalResize  strategy),  size  size  -.
+     *   ( )   Serializable,    NotSerializableException.
+     *  ,  ,  next   Entry  .
      *
-     * @return Set<K>  HashSet  
+     * @param out  
+     * @throws IOException      
      */
-    public Set<K> keySet() {
-        Set<K> keyS = new HashSet<>();
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        completeResize();
+        out.defaultWriteObject();
+        out.writeInt(size);
         Entry<K, V>[] table = getTable();
-
         for (int i = 0; i < table.length; i++) {
-            if (table[i] != null) {
-                keyS.add(table[i].getKey());
+            for (Entry<K, V> entry = table[i]; entry != null; entry = entry.next) {
+                out.writeObject(entry.k);
+                out.writeObject(entry.v);
             }
         }
+    }
 
-        return keyS;
+    /**
+     *  readObject  ,   writeObject()
+     *     capacityFor(size, loadFactor),       .
+     *
+     * @param in  
+     * @throws IOException                    
+     * @throws ClassNotFoundException       
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new InvalidObjectException("  : " + loadFactor);
+        }
+        int mappings = in.readInt();
+        if (mappings < 0) {
+            throw new InvalidObjectException("  : " + mappings);
+        }
+        locale = RUSSIAN;
+        int capacity = capacityFor(mappings, loadFactor);
+        entryTable = newTable(capacity);
+        threshold = (int) (capacity * loadFactor);
+        for (int i = 0; i < mappings; i++) {
+            K key = (K) in.readObject();
+            V value = (V) in.readObject();
+            put(key, value);
+        }
     }
 
     /**
-     *  entrySet         Map.Entry<K, V></K,>
-     *    Entry<K, V></K,>[] table,    getTable,        HashSetentrySet,     null
-     *     HashSet
+     *  newEntry      ;     Entry   
+     * (BoundedMyHashMap        )
      *
-     * @return Set<Entry < K, V>>   HashSet
+     * @param hash  - 
+     * @param key    HashMap
+     * @param value  HashMap
+     * @param next    
+     * @return Entry<K, V></K,>  
      */
-    public Set<Entry<K, V>> entrySet() {
-        Set<Entry<K, V>> entrySet = new HashSet<>();
+    Entry<K, V> newEntry(int hash, K key, V value, Entry<K, V> next) {
+        return new Entry<>(hash, key, value, next);
+    }
 
-        Entry<K, V>[] table = getTable();
+    /**
+     *  treeBins ,       
+     * ,       (newEntry),  false: TreeNode       .
+     *     (strategy)    :     compareTo()  equals()  .
+     *
+     * @return boolean true,     
+     */
+    boolean treeBins() {
+        return strategy == null;
+    }
 
-        for (int i = 0; i < table.length; i++) {
-            if (table[i] != null) {
-                entrySet.add(table[i]);
+    /**
+     *   ,         (putIfAbsent, computeIfAbsent)  
+     *
+     * @param entry 
+     */
+    void afterEntryAccess(Entry<K, V> entry) {
+    }
+
+    /**
+     *       ,   newEntry (    )
+     *
+     * @param entry  
+     */
+    void afterEntryInsertion(Entry<K, V> entry) {
+    }
+
+    /**
+     *       replaceAll;    afterEntryAccess,     
+     *     ,       
+     *
+     * @param entry    
+     */
+    void afterValueReplacement(Entry<K, V> entry) {
+    }
+
+    /**
+     *      
+     *
+     * @param entry  
+     */
+    void afterEntryRemoval(Entry<K, V> entry) {
+    }
+
+    /**
+     *   keySet(), entrySet()  values()
+     *     :   ,    -    next (      next).
+     *   ;       (completeResize()),       .
+     *       , next()  remove()  ConcurrentModificationException.
+     *
+     * @param <E></E>   
+     */
+    private abstract class ChainIterator<E> implements Iterator<E> {
+        private final Entry<K, V>[] table;
+        private int expectedModCount;
+        private int index;
+        private Entry<K, V> next;
+        private Entry<K, V> current;
+
+        ChainIterator() {
+            completeResize();
+            table = getTable();
+            expectedModCount = modCount;
+            advance();
+        }
+
+        abstract E element(Entry<K, V> entry);
+
+        /**
+         *       
+         */
+        private void advance() {
+            Entry<K, V>[] tab = table;
+            while (next == null && index < tab.length) {
+                next = tab[index++];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            Entry<K, V> entry = next;
+            if (entry == null) {
+                throw new NoSuchElementException();
             }
+            current = entry;
+            next = entry.next;
+            if (next == null) {
+                advance();
+            }
+            return element(entry);
         }
 
-        return entrySet;
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeNode(current.hash, current.k, false);
+            current = null;
+            expectedModCount = modCount;
+        }
     }
 
     /**
-     *  values     
-     *    Entry<K, V></K,> table,    getTable,        HashSet values,       null
-     *     HashSet
+     * Spliterator  keySet(), entrySet()  values(),       [index, fence)
+     * trySplit()         Spliterator,       -   entryTable.
+     *       Spliterator (SIZED,  size);        ,
+     *           ,  SUBSIZED  .
+     *   ChainIterator,      ;      
+     *   (ConcurrentModificationException).
      *
-     * @return Collection<V>    HashSet    
+     * @param <E></E>   
      */
-    public Collection<V> values() {
-        Set<V> values = new HashSet<>();
+    private final class ChainSpliterator<E> implements Spliterator<E> {
+        private final Entry<K, V>[] table;
+        private final Function<Entry<K, V>, E> element;
+        private final int characteristics;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+        private long estimate;
+        private boolean exact;
+        private Entry<K, V> current;
+
+        ChainSpliterator(Function<Entry<K, V>, E> element, int characteristics) {
+            completeResize();
+            this.table = getTable();
+            this.element = element;
+            this.characteristics = characteristics;
+            this.expectedModCount = modCount;
+            this.index = 0;
+            this.fence = table.length;
+            this.estimate = size;
+            this.exact = true;
+        }
 
-        Entry<K, V>[] table = getTable();
+        private ChainSpliterator(ChainSpliterator<E> parent, int index, int fence, long estimate) {
+            this.table = parent.table;
+            this.element = parent.element;
+            this.characteristics = parent.characteristics;
+            this.expectedModCount = parent.expectedModCount;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.exact = false;
+        }
 
-        for (int i = 0; i < table.length; i++) {
-            if (table[i] != null) {
-                values.add(table[i].getValue());
+        @Override
+        public Spliterator<E> trySplit() {
+            int lo = index, mid = (lo + fence) >>> 1;
+            if (lo >= mid || current != null) {
+                return null;
+            }
+            index = mid;
+            estimate >>>= 1;
+            exact = false;
+            return new ChainSpliterator<>(this, lo, mid, estimate);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Entry<K, V>[] tab = table;
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = tab[index++];
+                } else {
+                    Entry<K, V> entry = current;
+                    current = entry.next;
+                    action.accept(element.apply(entry));
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Entry<K, V>[] tab = table;
+            Entry<K, V> entry = current;
+            current = null;
+            int i = index, hi = fence;
+            index = hi;
+            while (true) {
+                for (; entry != null; entry = entry.next) {
+                    action.accept(element.apply(entry));
+                }
+                if (i >= hi) {
+                    break;
+                }
+                entry = tab[i++];
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
             }
         }
 
-        return values;
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return exact ? characteristics | Spliterator.SIZED : characteristics;
+        }
     }
 
     /**
@@ -436,13 +2183,13 @@ public class MyHashMap<K,V> implements Serializable {
      * @param <V></V>  
      */
     public static class Entry<K, V> {
-        private K k;
-        private V v;
+        K k;
+        V v;
         /**
          * The Hash.
          */
         final int hash;
-        private Entry<K, V> next;
+        Entry<K, V> next;
 
         /**
          * Instantiates a new Entry.
@@ -542,4 +2289,560 @@ public class MyHashMap<K,V> implements Serializable {
         }
     }
 
+    /**
+     *  TreeNode -  ,   - 
+     *       TREEIFY_THRESHOLD  ( hashCode()    ),
+     *    O(n),      ,    hash,   compareTo() (  Comparable  ),
+     *    -     System.identityHashCode().
+     *  next (   prev) -      ,       ,     .
+     *        (moveRootToFront).
+     *
+     * @param <K></K>  
+     * @param <V></V>  
+     */
+    static final class TreeNode<K, V> extends Entry<K, V> {
+        TreeNode<K, V> parent;
+        TreeNode<K, V> left;
+        TreeNode<K, V> right;
+        TreeNode<K, V> prev;
+        boolean red;
+
+        TreeNode(int hash, K k, V v, Entry<K, V> next) {
+            super(hash, k, v, next);
+        }
+
+        /**
+         *   ,    .
+         */
+        TreeNode<K, V> root() {
+            TreeNode<K, V> r = this;
+            while (r.parent != null) {
+                r = r.parent;
+            }
+            return r;
+        }
+
+        /**
+         *  root        next.
+         */
+        static <K, V> void moveRootToFront(Entry<K, V>[] tab, TreeNode<K, V> root) {
+            int index = indexFor(root.hash, tab.length);
+            TreeNode<K, V> first = (TreeNode<K, V>) tab[index];
+            if (root != first) {
+                tab[index] = root;
+                TreeNode<K, V> rp = root.prev;
+                Entry<K, V> rn = root.next;
+                if (rn != null) {
+                    ((TreeNode<K, V>) rn).prev = rp;
+                }
+                if (rp != null) {
+                    rp.next = rn;
+                }
+                if (first != null) {
+                    first.prev = root;
+                }
+                root.next = first;
+                root.prev = null;
+            }
+        }
+
+        /**
+         *   k  - h    .
+         *  - ,      compareTo(),   .
+         */
+        TreeNode<K, V> find(int h, Object k, Class<?> kc) {
+            TreeNode<K, V> p = this;
+            do {
+                TreeNode<K, V> pl = p.left, pr = p.right, q;
+                int ph = p.hash, dir;
+                if (ph > h) {
+                    p = pl;
+                } else if (ph < h) {
+                    p = pr;
+                } else if (equal(k, p.k)) {
+                    return p;
+                } else if (pl == null) {
+                    p = pr;
+                } else if (pr == null) {
+                    p = pl;
+                } else if ((kc != null || (kc = comparableClassFor(k)) != null)
+                        && (dir = compareComparables(kc, k, p.k)) != 0) {
+                    p = dir < 0 ? pl : pr;
+                } else if ((q = pr.find(h, k, kc)) != null) {
+                    return q;
+                } else {
+                    p = pl;
+                }
+            } while (p != null);
+            return null;
+        }
+
+        /**
+         *   k  - h   .
+         */
+        TreeNode<K, V> getTreeNode(int h, Object k) {
+            return (parent != null ? root() : this).find(h, k, null);
+        }
+
+        /**
+         *      hash,     compareTo():   ,   identityHashCode.
+         */
+        static int tieBreakOrder(Object a, Object b) {
+            int d = a.getClass().getName().compareTo(b.getClass().getName());
+            if (d == 0) {
+                d = System.identityHashCode(a) <= System.identityHashCode(b) ? -1 : 1;
+            }
+            return d;
+        }
+
+        /**
+         *     ,    ,      .
+         */
+        void treeify(Entry<K, V>[] tab) {
+            TreeNode<K, V> root = null;
+            for (TreeNode<K, V> x = this, next; x != null; x = next) {
+                next = (TreeNode<K, V>) x.next;
+                x.left = x.right = null;
+                if (root == null) {
+                    x.parent = null;
+                    x.red = false;
+                    root = x;
+                    continue;
+                }
+                K k = x.k;
+                int h = x.hash;
+                Class<?> kc = null;
+                for (TreeNode<K, V> p = root; ; ) {
+                    int ph = p.hash, dir;
+                    if (ph > h) {
+                        dir = -1;
+                    } else if (ph < h) {
+                        dir = 1;
+                    } else if ((kc == null && (kc = comparableClassFor(k)) == null)
+                            || (dir = compareComparables(kc, k, p.k)) == 0) {
+                        dir = tieBreakOrder(k, p.k);
+                    }
+                    TreeNode<K, V> xp = p;
+                    if ((p = dir <= 0 ? p.left : p.right) == null) {
+                        x.parent = xp;
+                        if (dir <= 0) {
+                            xp.left = x;
+                        } else {
+                            xp.right = x;
+                        }
+                        root = balanceInsertion(root, x);
+                        break;
+                    }
+                }
+            }
+            moveRootToFront(tab, root);
+        }
+
+        /**
+         *    Entry      .
+         */
+        Entry<K, V> untreeify() {
+            Entry<K, V> head = null, tail = null;
+            for (Entry<K, V> q = this; q != null; q = q.next) {
+                Entry<K, V> entry = new Entry<>(q.hash, q.k, q.v, null);
+                if (tail == null) {
+                    head = entry;
+                } else {
+                    tail.next = entry;
+                }
+                tail = entry;
+            }
+            return head;
+        }
+
+        /**
+         *   k  ;   ,      null,    .
+         */
+        TreeNode<K, V> putTreeVal(Entry<K, V>[] tab, int h, K k, V v) {
+            Class<?> kc = null;
+            boolean searched = false;
+            TreeNode<K, V> root = parent != null ? root() : this;
+            for (TreeNode<K, V> p = root; ; ) {
+                int ph = p.hash, dir;
+                if (ph > h) {
+                    dir = -1;
+                } else if (ph < h) {
+                    dir = 1;
+                } else if (equal(k, p.k)) {
+                    return p;
+                } else if ((kc == null && (kc = comparableClassFor(k)) == null)
+                        || (dir = compareComparables(kc, k, p.k)) == 0) {
+                    if (!searched) {
+                        searched = true;
+                        TreeNode<K, V> q;
+                        if ((p.left != null && (q = p.left.find(h, k, kc)) != null)
+                                || (p.right != null && (q = p.right.find(h, k, kc)) != null)) {
+                            return q;
+                        }
+                    }
+                    dir = tieBreakOrder(k, p.k);
+                }
+                TreeNode<K, V> xp = p;
+                if ((p = dir <= 0 ? p.left : p.right) == null) {
+                    Entry<K, V> xpn = xp.next;
+                    TreeNode<K, V> x = new TreeNode<>(h, k, v, xpn);
+                    if (dir <= 0) {
+                        xp.left = x;
+                    } else {
+                        xp.right = x;
+                    }
+                    xp.next = x;
+                    x.parent = x.prev = xp;
+                    if (xpn != null) {
+                        ((TreeNode<K, V>) xpn).prev = x;
+                    }
+                    moveRootToFront(tab, balanceInsertion(root, x));
+                    return null;
+                }
+            }
+        }
+
+        /**
+         *         next.
+         *     ,     .
+         *  movable  false (   ),         ,
+         *     ,    .
+         */
+        void removeTreeNode(Entry<K, V>[] tab, boolean movable) {
+            int index = indexFor(hash, tab.length);
+            TreeNode<K, V> first = (TreeNode<K, V>) tab[index], root = first, rl;
+            TreeNode<K, V> succ = (TreeNode<K, V>) next, pred = prev;
+            if (pred == null) {
+                tab[index] = first = succ;
+            } else {
+                pred.next = succ;
+            }
+            if (succ != null) {
+                succ.prev = pred;
+            }
+            if (first == null) {
+                return;
+            }
+            if (root.parent != null) {
+                root = root.root();
+            }
+            if (movable && (root.right == null || (rl = root.left) == null || rl.left == null)) {
+                tab[index] = first.untreeify();
+                return;
+            }
+
+            TreeNode<K, V> p = this, pl = left, pr = right, replacement;
+            if (pl != null && pr != null) {
+                TreeNode<K, V> s = pr, sl;
+                while ((sl = s.left) != null) {
+                    s = sl;
+                }
+                boolean c = s.red;
+                s.red = p.red;
+                p.red = c;
+                TreeNode<K, V> sr = s.right;
+                TreeNode<K, V> pp = p.parent;
+                if (s == pr) {
+                    p.parent = s;
+                    s.right = p;
+                } else {
+                    TreeNode<K, V> sp = s.parent;
+                    if ((p.parent = sp) != null) {
+                        if (s == sp.left) {
+                            sp.left = p;
+                        } else {
+                            sp.right = p;
+                        }
+                    }
+                    if ((s.right = pr) != null) {
+                        pr.parent = s;
+                    }
+                }
+                p.left = null;
+                if ((p.right = sr) != null) {
+                    sr.parent = p;
+                }
+                if ((s.left = pl) != null) {
+                    pl.parent = s;
+                }
+                if ((s.parent = pp) == null) {
+                    root = s;
+                } else if (p == pp.left) {
+                    pp.left = s;
+                } else {
+                    pp.right = s;
+                }
+                replacement = sr != null ? sr : p;
+            } else if (pl != null) {
+                replacement = pl;
+            } else if (pr != null) {
+                replacement = pr;
+            } else {
+                replacement = p;
+            }
+            if (replacement != p) {
+                TreeNode<K, V> pp = replacement.parent = p.parent;
+                if (pp == null) {
+                    root = replacement;
+                    root.red = false;
+                } else if (p == pp.left) {
+                    pp.left = replacement;
+                } else {
+                    pp.right = replacement;
+                }
+                p.left = p.right = p.parent = null;
+            }
+
+            TreeNode<K, V> r = p.red ? root : balanceDeletion(root, replacement);
+
+            if (replacement == p) {
+                TreeNode<K, V> pp = p.parent;
+                p.parent = null;
+                if (pp != null) {
+                    if (p == pp.left) {
+                        pp.left = null;
+                    } else if (p == pp.right) {
+                        pp.right = null;
+                    }
+                }
+            }
+            if (movable) {
+                moveRootToFront(tab, r);
+            }
+        }
+
+        /**
+         *     j    "lo"  "hi"  (  bit -)      j  j + bit  .
+         * ,      UNTREEIFY_THRESHOLD ,   ,     .
+         */
+        void split(Entry<K, V>[] newTab, int j, int bit) {
+            TreeNode<K, V> loHead = null, loTail = null, hiHead = null, hiTail = null;
+            int lc = 0, hc = 0;
+            for (TreeNode<K, V> e = this, next; e != null; e = next) {
+                next = (TreeNode<K, V>) e.next;
+                e.next = null;
+                if ((e.hash & bit) == 0) {
+                    if ((e.prev = loTail) == null) {
+                        loHead = e;
+                    } else {
+                        loTail.next = e;
+                    }
+                    loTail = e;
+                    lc++;
+                } else {
+                    if ((e.prev = hiTail) == null) {
+                        hiHead = e;
+                    } else {
+                        hiTail.next = e;
+                    }
+                    hiTail = e;
+                    hc++;
+                }
+            }
+            if (loHead != null) {
+                if (lc <= UNTREEIFY_THRESHOLD) {
+                    newTab[j] = loHead.untreeify();
+                } else {
+                    newTab[j] = loHead;
+                    if (hiHead != null) {
+                        loHead.treeify(newTab);
+                    }
+                }
+            }
+            if (hiHead != null) {
+                if (hc <= UNTREEIFY_THRESHOLD) {
+                    newTab[j + bit] = hiHead.untreeify();
+                } else {
+                    newTab[j + bit] = hiHead;
+                    if (loHead != null) {
+                        hiHead.treeify(newTab);
+                    }
+                }
+            }
+        }
+
+        static <K, V> TreeNode<K, V> rotateLeft(TreeNode<K, V> root, TreeNode<K, V> p) {
+            TreeNode<K, V> r, pp, rl;
+            if (p != null && (r = p.right) != null) {
+                if ((rl = p.right = r.left) != null) {
+                    rl.parent = p;
+                }
+                if ((pp = r.parent = p.parent) == null) {
+                    root = r;
+                    root.red = false;
+                } else if (pp.left == p) {
+                    pp.left = r;
+                } else {
+                    pp.right = r;
+                }
+                r.left = p;
+                p.parent = r;
+            }
+            return root;
+        }
+
+        static <K, V> TreeNode<K, V> rotateRight(TreeNode<K, V> root, TreeNode<K, V> p) {
+            TreeNode<K, V> l, pp, lr;
+            if (p != null && (l = p.left) != null) {
+                if ((lr = p.left = l.right) != null) {
+                    lr.parent = p;
+                }
+                if ((pp = l.parent = p.parent) == null) {
+                    root = l;
+                    root.red = false;
+                } else if (pp.right == p) {
+                    pp.right = l;
+                } else {
+                    pp.left = l;
+                }
+                l.right = p;
+                p.parent = l;
+            }
+            return root;
+        }
+
+        /**
+         *   -    x    .
+         */
+        static <K, V> TreeNode<K, V> balanceInsertion(TreeNode<K, V> root, TreeNode<K, V> x) {
+            x.red = true;
+            for (TreeNode<K, V> xp, xpp, xppl, xppr; ; ) {
+                if ((xp = x.parent) == null) {
+                    x.red = false;
+                    return x;
+                } else if (!xp.red || (xpp = xp.parent) == null) {
+                    return root;
+                }
+                if (xp == (xppl = xpp.left)) {
+                    if ((xppr = xpp.right) != null && xppr.red) {
+                        xppr.red = false;
+                        xp.red = false;
+                        xpp.red = true;
+                        x = xpp;
+                    } else {
+                        if (x == xp.right) {
+                            root = rotateLeft(root, x = xp);
+                            xpp = (xp = x.parent) == null ? null : xp.parent;
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            if (xpp != null) {
+                                xpp.red = true;
+                                root = rotateRight(root, xpp);
+                            }
+                        }
+                    }
+                } else {
+                    if (xppl != null && xppl.red) {
+                        xppl.red = false;
+                        xp.red = false;
+                        xpp.red = true;
+                        x = xpp;
+                    } else {
+                        if (x == xp.left) {
+                            root = rotateRight(root, x = xp);
+                            xpp = (xp = x.parent) == null ? null : xp.parent;
+                        }
+                        if (xp != null) {
+                            xp.red = false;
+                            if (xpp != null) {
+                                xpp.red = true;
+                                root = rotateLeft(root, xpp);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         *   -    (x - ,   )    .
+         */
+        static <K, V> TreeNode<K, V> balanceDeletion(TreeNode<K, V> root, TreeNode<K, V> x) {
+            for (TreeNode<K, V> xp, xpl, xpr; ; ) {
+                if (x == null || x == root) {
+                    return root;
+                } else if ((xp = x.parent) == null) {
+                    x.red = false;
+                    return x;
+                } else if (x.red) {
+                    x.red = false;
+                    return root;
+                } else if ((xpl = xp.left) == x) {
+                    if ((xpr = xp.right) != null && xpr.red) {
+                        xpr.red = false;
+                        xp.red = true;
+                        root = rotateLeft(root, xp);
+                        xpr = (xp = x.parent) == null ? null : xp.right;
+                    }
+                    if (xpr == null) {
+                        x = xp;
+                    } else {
+                        TreeNode<K, V> sl = xpr.left, sr = xpr.right;
+                        if ((sr == null || !sr.red) && (sl == null || !sl.red)) {
+                            xpr.red = true;
+                            x = xp;
+                        } else {
+                            if (sr == null || !sr.red) {
+                                if (sl != null) {
+                                    sl.red = false;
+                                }
+                                xpr.red = true;
+                                root = rotateRight(root, xpr);
+                                xpr = (xp = x.parent) == null ? null : xp.right;
+                            }
+                            if (xpr != null) {
+                                xpr.red = xp != null && xp.red;
+                                if ((sr = xpr.right) != null) {
+                                    sr.red = false;
+                                }
+                            }
+                            if (xp != null) {
+                                xp.red = false;
+                                root = rotateLeft(root, xp);
+                            }
+                            x = root;
+                        }
+                    }
+                } else {
+                    if (xpl != null && xpl.red) {
+                        xpl.red = false;
+                        xp.red = true;
+                        root = rotateRight(root, xp);
+                        xpl = (xp = x.parent) == null ? null : xp.left;
+                    }
+                    if (xpl == null) {
+                        x = xp;
+                    } else {
+                        TreeNode<K, V> sl = xpl.left, sr = xpl.right;
+                        if ((sl == null || !sl.red) && (sr == null || !sr.red)) {
+                            xpl.red = true;
+                            x = xp;
+                        } else {
+                            if (sl == null || !sl.red) {
+                                if (sr != null) {
+                                    sr.red = false;
+                                }
+                                xpl.red = true;
+                                root = rotateLeft(root, xpl);
+                                xpl = (xp = x.parent) == null ? null : xp.left;
+                            }
+                            if (xpl != null) {
+                                xpl.red = xp != null && xp.red;
+                                if ((sl = xpl.left) != null) {
+                                    sl.red = false;
+                                }
+                            }
+                            if (xp != null) {
+                                xp.red = false;
+                                root = rotateRight(root, xp);
+                            }
+                            x = root;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
 }
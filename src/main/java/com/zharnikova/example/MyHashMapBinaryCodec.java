@@ -0,0 +1,195 @@
+package com.zharnikova.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *      MyHashMap  ObjectOutputStream
+ *      Integer, Long, Short, Byte, Character, Boolean, Float, Double  String ( null   ).
+ * : MAGIC, VERSION, loadFactor, size,  size  -;         .
+ *      UTF-8 (  writeUTF  65535 ).
+ *      ,          .
+ *       : new DataOutputStream(new BufferedOutputStream(out)).
+ */
+public final class MyHashMapBinaryCodec {
+
+    /**
+     *   ("MHM1")
+     */
+    static final int MAGIC = 0x4D484D31;
+
+    /**
+     *  
+     */
+    static final byte VERSION = 1;
+
+    /**
+     *  
+     */
+    private static final byte NULL = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte STRING = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte CHARACTER = 8;
+    private static final byte BOOLEAN = 9;
+
+    private MyHashMapBinaryCodec() {
+    }
+
+    /**
+     *    
+     *
+     * @param map 
+     * @param out 
+     * @throws IOException                   
+     * @throws IllegalArgumentException       
+     */
+    public static void write(MyHashMap<?, ?> map, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeFloat(map.loadFactor());
+        out.writeInt(map.size());
+        try {
+            map.forEach((key, value) -> {
+                try {
+                    writeValue(key, out);
+                    writeValue(value, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     *  ,   write()
+     *     ,      .
+     *
+     * @param in  
+     * @param <K>  
+     * @param <V>  
+     * @return MyHashMap<K, V></K,>  
+     * @throws IOException           
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> MyHashMap<K, V> read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new StreamCorruptedException("   MyHashMap");
+        }
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("  : " + version);
+        }
+        float loadFactor = in.readFloat();
+        int size = in.readInt();
+        if (loadFactor <= 0 || Float.isNaN(loadFactor) || size < 0) {
+            throw new StreamCorruptedException(" : loadFactor=" + loadFactor + ", size=" + size);
+        }
+
+        MyHashMap<K, V> map = new MyHashMap<>(MyHashMap.capacityFor(size, loadFactor), loadFactor);
+        for (int i = 0; i < size; i++) {
+            K key = (K) readValue(in);
+            V value = (V) readValue(in);
+            if (key == null) {
+                throw new StreamCorruptedException("  null");
+            }
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    /**
+     *     
+     *
+     * @param value 
+     * @param out   
+     * @throws IOException      
+     */
+    private static void writeValue(Object value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else {
+            throw new IllegalArgumentException(" : " + value.getClass().getName());
+        }
+    }
+
+    /**
+     *     
+     *
+     * @param in 
+     * @return Object 
+     * @throws IOException         
+     */
+    private static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case STRING:
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new StreamCorruptedException("  : " + length);
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            case DOUBLE:
+                return in.readDouble();
+            case FLOAT:
+                return in.readFloat();
+            case SHORT:
+                return in.readShort();
+            case BYTE:
+                return in.readByte();
+            case CHARACTER:
+                return in.readChar();
+            case BOOLEAN:
+                return in.readBoolean();
+            default:
+                throw new StreamCorruptedException(" : " + type);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.zharnikova.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ *  JDK Flight Recorder    MyHashMap,      (enableStats())
+ *   -  resize() (    -    ).
+ */
+@Name("com.zharnikova.example.MyHashMapResize")
+@Label("MyHashMap Resize")
+@Category("MyHashMap")
+@Description("  MyHashMap")
+final class MyHashMapResizeEvent extends Event {
+
+    @Label("Map Id")
+    @Description("System.identityHashCode() ")
+    int mapId;
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Size")
+    int size;
+
+    @Label("Incremental")
+    boolean incremental;
+}
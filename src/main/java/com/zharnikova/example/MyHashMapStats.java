@@ -0,0 +1,216 @@
+package com.zharnikova.example;
+
+import java.util.Arrays;
+
+/**
+ *   MyHashMap,   MyHashMap.stats()     (enableStats())
+ *   (get, put,  )   Recorder,           stats().
+ *   (probes) -   ,   ;  -    .
+ *  .
+ */
+public final class MyHashMapStats {
+
+    /**
+     *     :      CHAIN_HISTOGRAM_LIMIT   
+     */
+    public static final int CHAIN_HISTOGRAM_LIMIT = 16;
+
+    private final int size;
+    private final int capacity;
+    private final long[] chainLengthHistogram;
+    private final int maxChainLength;
+    private final int treeBins;
+    private final long hitCount;
+    private final long missCount;
+    private final long getProbes;
+    private final int maxGetProbes;
+    private final long putCount;
+    private final long putProbes;
+    private final int maxPutProbes;
+    private final long resizeCount;
+    private final long resizeNanos;
+
+    MyHashMapStats(int size, int capacity, long[] chainLengthHistogram, int maxChainLength, int treeBins, Recorder recorder) {
+        this.size = size;
+        this.capacity = capacity;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.maxChainLength = maxChainLength;
+        this.treeBins = treeBins;
+        this.hitCount = recorder.hitCount;
+        this.missCount = recorder.missCount;
+        this.getProbes = recorder.getProbes;
+        this.maxGetProbes = recorder.maxGetProbes;
+        this.putCount = recorder.putCount;
+        this.putProbes = recorder.putProbes;
+        this.maxPutProbes = recorder.maxPutProbes;
+        this.resizeCount = recorder.resizeCount;
+        this.resizeNanos = recorder.resizeNanos;
+    }
+
+    /**
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return int   
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     *   :  i -  ,    i 
+     * (  -   CHAIN_HISTOGRAM_LIMIT   ; -    )
+     *
+     * @return long[]    CHAIN_HISTOGRAM_LIMIT + 1
+     */
+    public long[] chainLengthHistogram() {
+        return chainLengthHistogram.clone();
+    }
+
+    /**
+     * @return int     (     )
+     */
+    public int maxChainLength() {
+        return maxChainLength;
+    }
+
+    /**
+     * @return int  ,   
+     */
+    public int treeBins() {
+        return treeBins;
+    }
+
+    /**
+     * @return long   get(),  
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return long   get(),   
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return double   get() (NaN,    )
+     */
+    public double hitRate() {
+        return (double) hitCount / (hitCount + missCount);
+    }
+
+    /**
+     * @return double      get() (NaN,    )
+     */
+    public double averageGetProbes() {
+        return (double) getProbes / (hitCount + missCount);
+    }
+
+    /**
+     * @return int     get()
+     */
+    public int maxGetProbes() {
+        return maxGetProbes;
+    }
+
+    /**
+     * @return long   put()  putIfAbsent()
+     */
+    public long putCount() {
+        return putCount;
+    }
+
+    /**
+     * @return double      put() (NaN,    )
+     */
+    public double averagePutProbes() {
+        return (double) putProbes / putCount;
+    }
+
+    /**
+     * @return int     put()
+     */
+    public int maxPutProbes() {
+        return maxPutProbes;
+    }
+
+    /**
+     * @return long   
+     */
+    public long resizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * @return long       (    -     )
+     */
+    public long resizeNanos() {
+        return resizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "MyHashMapStats{size=" + size + ", capacity=" + capacity
+                + ", chainLengthHistogram=" + Arrays.toString(chainLengthHistogram) + ", maxChainLength=" + maxChainLength
+                + ", treeBins=" + treeBins + ", hitCount=" + hitCount + ", missCount=" + missCount
+                + ", averageGetProbes=" + averageGetProbes() + ", maxGetProbes=" + maxGetProbes
+                + ", putCount=" + putCount + ", averagePutProbes=" + averagePutProbes() + ", maxPutProbes=" + maxPutProbes
+                + ", resizeCount=" + resizeCount + ", resizeNanos=" + resizeNanos + '}';
+    }
+
+    /**
+     *    ;  enableStats(),     ,  MyHashMap.stats  null
+     *   ,  ;   JFR    ,    .
+     */
+    static final class Recorder {
+        final int mapId;
+        int capacity;
+        long hitCount;
+        long missCount;
+        long getProbes;
+        int maxGetProbes;
+        long putCount;
+        long putProbes;
+        int maxPutProbes;
+        long resizeCount;
+        long resizeNanos;
+
+        Recorder(int mapId, int capacity) {
+            this.mapId = mapId;
+            this.capacity = capacity;
+        }
+
+        void recordGet(boolean hit, int probes) {
+            if (hit) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+            getProbes += probes;
+            if (probes > maxGetProbes) {
+                maxGetProbes = probes;
+            }
+        }
+
+        void recordPut(int probes) {
+            putCount++;
+            putProbes += probes;
+            if (probes > maxPutProbes) {
+                maxPutProbes = probes;
+            }
+        }
+
+        void recordResize(int newCapacity, long nanos) {
+            capacity = newCapacity;
+            resizeCount++;
+            resizeNanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.zharnikova.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ *  (    )  JDK Flight Recorder    MyHashMap,     
+ *    enableStats()      Recorder,        .
+ *       :     ,    JFR .
+ */
+@Name("com.zharnikova.example.MyHashMapStatistics")
+@Label("MyHashMap Statistics")
+@Category("MyHashMap")
+@Description("  MyHashMap")
+@Period("1 s")
+final class MyHashMapStatsEvent extends Event {
+
+    @Label("Map Id")
+    @Description("System.identityHashCode() ")
+    int mapId;
+
+    @Label("Capacity")
+    int capacity;
+
+    @Label("Hits")
+    long hitCount;
+
+    @Label("Misses")
+    long missCount;
+
+    @Label("Average Get Probes")
+    double averageGetProbes;
+
+    @Label("Max Get Probes")
+    int maxGetProbes;
+
+    @Label("Puts")
+    long putCount;
+
+    @Label("Average Put Probes")
+    double averagePutProbes;
+
+    @Label("Max Put Probes")
+    int maxPutProbes;
+
+    @Label("Resizes")
+    long resizeCount;
+
+    @Label("Resize Time (ns)")
+    long resizeNanos;
+
+    private static final ConcurrentLinkedQueue<WeakReference<MyHashMapStats.Recorder>> RECORDERS = new ConcurrentLinkedQueue<>();
+
+    static {
+        FlightRecorder.addPeriodicEvent(MyHashMapStatsEvent.class, MyHashMapStatsEvent::emitAll);
+    }
+
+    /**
+     *      
+     *
+     * @param recorder 
+     */
+    static void register(MyHashMapStats.Recorder recorder) {
+        RECORDERS.add(new WeakReference<>(recorder));
+    }
+
+    /**
+     *   
+     *
+     * @param recorder 
+     */
+    static void unregister(MyHashMapStats.Recorder recorder) {
+        RECORDERS.removeIf(reference -> reference.get() == recorder);
+    }
+
+    private static void emitAll() {
+        for (Iterator<WeakReference<MyHashMapStats.Recorder>> it = RECORDERS.iterator(); it.hasNext(); ) {
+            MyHashMapStats.Recorder recorder = it.next().get();
+            if (recorder == null) {
+                it.remove();
+                continue;
+            }
+            MyHashMapStatsEvent event = new MyHashMapStatsEvent();
+            event.mapId = recorder.mapId;
+            event.capacity = recorder.capacity;
+            event.hitCount = recorder.hitCount;
+            event.missCount = recorder.missCount;
+            long gets = event.hitCount + event.missCount;
+            event.averageGetProbes = gets == 0 ? 0 : (double) recorder.getProbes / gets;
+            event.maxGetProbes = recorder.maxGetProbes;
+            event.putCount = recorder.putCount;
+            event.averagePutProbes = event.putCount == 0 ? 0 : (double) recorder.putProbes / event.putCount;
+            event.maxPutProbes = recorder.maxPutProbes;
+            event.resizeCount = recorder.resizeCount;
+            event.resizeNanos = recorder.resizeNanos;
+            event.commit();
+        }
+    }
+}
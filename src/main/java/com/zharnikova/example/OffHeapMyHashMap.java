@@ -0,0 +1,585 @@
+package com.zharnikova.example;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -,        (Foreign Function &amp; Memory API: Arena, MemorySegment)
+ *        (Codec)      ,       -,
+ *              .
+ *  -       SLOT_SIZE :   , -    .
+ *     ,       (backward shift).
+ *  [ ][ ][ ][ ]      (CHUNK_SIZE ).
+ *         ,          (MemorySegment.mismatch),
+ *     .        (compact()),    ,   .
+ *     close();      IllegalStateException.
+ *   ,   MyHashMap.
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class OffHeapMyHashMap<K, V> implements AutoCloseable {
+
+    /**
+     *     (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *     = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *   : long   , int -, int  
+     */
+    private static final int SLOT_SIZE = 16;
+
+    /**
+     *   : int  , int  
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     *     (      )
+     */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     *  
+     */
+    private final Codec<K> keyCodec;
+
+    /**
+     *  
+     */
+    private final Codec<V> valueCodec;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *  ;     
+     */
+    private Arena indexArena;
+
+    /**
+     * : capacity   SLOT_SIZE 
+     */
+    private MemorySegment index;
+
+    /**
+     *      ( - 1)
+     */
+    private int mask;
+
+    /**
+     *   ,   ,   
+     */
+    private int threshold;
+
+    /**
+     *  
+     */
+    private int size;
+
+    /**
+     *  ;     ,      
+     */
+    private List<Arena> chunkArenas = new ArrayList<>();
+
+    /**
+     *   ;    -     32     
+     */
+    private List<MemorySegment> chunks = new ArrayList<>();
+
+    /**
+     *       
+     */
+    private long chunkOffset;
+
+    /**
+     * ,   
+     */
+    private long liveBytes;
+
+    /**
+     *     
+     */
+    private long garbageBytes;
+
+    /**
+     *  ,     
+     */
+    private byte[] scratch = new byte[64];
+
+    /**
+     *    scratch
+     */
+    private MemorySegment scratchSegment = MemorySegment.ofArray(scratch);
+
+    /**
+     *   
+     */
+    private boolean closed;
+
+    /**
+     *    (capacity=16, load factor=0.75)
+     *
+     * @param keyCodec    
+     * @param valueCodec  
+     */
+    public OffHeapMyHashMap(Codec<K> keyCodec, Codec<V> valueCodec) {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  
+     * @param keyCodec         
+     * @param valueCodec       
+     */
+    public OffHeapMyHashMap(int initialCapacity, Codec<K> keyCodec, Codec<V> valueCodec) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+    }
+
+    /**
+     *       
+     *      ,      1.
+     *
+     * @param initialCapacity  
+     * @param loadFactor          (0 < loadFactor < 1)
+     * @param keyCodec         
+     * @param valueCodec       
+     * @throws IllegalArgumentException        
+     */
+    public OffHeapMyHashMap(int initialCapacity, float loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.loadFactor = loadFactor;
+        allocateIndex(capacity);
+    }
+
+    /**
+     *     capacity (   ,     )
+     *
+     * @param capacity   ( )
+     */
+    private void allocateIndex(int capacity) {
+        indexArena = Arena.ofShared();
+        index = indexArena.allocate((long) capacity * SLOT_SIZE, 8);
+        mask = capacity - 1;
+        threshold = capacity < MAXIMUM_CAPACITY ? Math.min((int) (capacity * loadFactor), capacity - 1) : capacity - 1;
+    }
+
+    /**
+     *  -  :  8     ,  - 
+     *
+     * @param segment   
+     * @param offset   
+     * @param length   
+     * @return int - 
+     */
+    static int hash(MemorySegment segment, long offset, int length) {
+        long h = length * 0x9E3779B97F4A7C15L;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            h = Long.rotateLeft((h ^ segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset + i)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        for (; i < length; i++) {
+            h = (h ^ segment.get(ValueLayout.JAVA_BYTE, offset + i)) * 0x9E3779B97F4A7C15L;
+        }
+        h ^= h >>> 29;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     *      scratch
+     *
+     * @param key 
+     * @return int    
+     */
+    private int encodeKey(Object key) {
+        ensureOpen();
+        @SuppressWarnings("unchecked")
+        K k = (K) key;
+        int length = keyCodec.size(k);
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            scratchSegment = MemorySegment.ofArray(scratch);
+        }
+        keyCodec.write(k, scratchSegment, 0);
+        return length;
+    }
+
+    /**
+     * ,    
+     *
+     * @throws IllegalStateException   
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException(" ");
+        }
+    }
+
+    /**
+     *  ,    
+     *
+     * @param ref   
+     * @return MemorySegment 
+     */
+    private MemorySegment chunk(long ref) {
+        return chunks.get((int) (ref >>> 32));
+    }
+
+    /**
+     *     ,   scratch
+     *
+     * @param hash   - 
+     * @param length  
+     * @return int    -1,   
+     */
+    private int find(int hash, int length) {
+        MemorySegment idx = index;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slot = (long) i * SLOT_SIZE;
+            if (idx.get(ValueLayout.JAVA_INT, slot + 12) == 0) {
+                return -1;
+            }
+            if (idx.get(ValueLayout.JAVA_INT, slot + 8) == hash) {
+                long ref = idx.get(ValueLayout.JAVA_LONG, slot);
+                MemorySegment chunk = chunk(ref);
+                long record = (int) ref;
+                if (chunk.get(ValueLayout.JAVA_INT_UNALIGNED, record) == length
+                        && MemorySegment.mismatch(scratchSegment, 0, length, chunk, record + HEADER_SIZE, record + HEADER_SIZE + length) < 0) {
+                    return i;
+                }
+            }
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *    ,     
+     *
+     * @return long   
+     */
+    public long offHeapBytes() {
+        long bytes = index.byteSize();
+        for (MemorySegment chunk : chunks) {
+            bytes += chunk.byteSize();
+        }
+        return bytes;
+    }
+
+    /**
+     *      null,    (   null)
+     *          .
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int length = encodeKey(key);
+        int i = find(hash(scratchSegment, 0, length), length);
+        return i < 0 ? null : readValue(index.get(ValueLayout.JAVA_LONG, (long) i * SLOT_SIZE));
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        int length = encodeKey(key);
+        return find(hash(scratchSegment, 0, length), length) >= 0;
+    }
+
+    /**
+     *   
+     *
+     * @param ref   
+     * @return V 
+     */
+    private V readValue(long ref) {
+        MemorySegment chunk = chunk(ref);
+        long record = (int) ref;
+        int keyLength = chunk.get(ValueLayout.JAVA_INT_UNALIGNED, record);
+        int valueLength = chunk.get(ValueLayout.JAVA_INT_UNALIGNED, record + 4);
+        return valueCodec.read(chunk, record + HEADER_SIZE + keyLength, valueLength);
+    }
+
+    /**
+     *   -     
+     *       ,   ,     ,    .
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException      null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new RuntimeException("Key  value  : " + key);
+        }
+        int keyLength = encodeKey(key);
+        int hash = hash(scratchSegment, 0, keyLength);
+        int valueLength = valueCodec.size(value);
+        int i = find(hash, keyLength);
+        if (i >= 0) {
+            long slot = (long) i * SLOT_SIZE;
+            long ref = index.get(ValueLayout.JAVA_LONG, slot);
+            V oldValue = readValue(ref);
+            MemorySegment chunk = chunk(ref);
+            long record = (int) ref;
+            if (chunk.get(ValueLayout.JAVA_INT_UNALIGNED, record + 4) == valueLength) {
+                valueCodec.write(value, chunk, record + HEADER_SIZE + keyLength);
+            } else {
+                index.set(ValueLayout.JAVA_LONG, slot, writeRecord(keyLength, value, valueLength));
+                release(HEADER_SIZE + keyLength + chunk.get(ValueLayout.JAVA_INT_UNALIGNED, record + 4));
+            }
+            return oldValue;
+        }
+
+        long ref = writeRecord(keyLength, value, valueLength);
+        insert(index, mask, hash, ref);
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     *   :   scratch   value
+     *
+     * @param keyLength    
+     * @param value       
+     * @param valueLength  
+     * @return long   
+     */
+    private long writeRecord(int keyLength, V value, int valueLength) {
+        long length = (long) HEADER_SIZE + keyLength + valueLength;
+        long ref = allocate(length);
+        MemorySegment chunk = chunk(ref);
+        long record = (int) ref;
+        chunk.set(ValueLayout.JAVA_INT_UNALIGNED, record, keyLength);
+        chunk.set(ValueLayout.JAVA_INT_UNALIGNED, record + 4, valueLength);
+        MemorySegment.copy(scratchSegment, 0, chunk, record + HEADER_SIZE, keyLength);
+        valueCodec.write(value, chunk, record + HEADER_SIZE + keyLength);
+        return ref;
+    }
+
+    /**
+     *  length        ,      
+     *
+     * @param length  
+     * @return long    
+     */
+    private long allocate(long length) {
+        if (chunks.isEmpty() || chunkOffset + length > chunks.get(chunks.size() - 1).byteSize()) {
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("  : " + length);
+            }
+            Arena arena = Arena.ofShared();
+            chunkArenas.add(arena);
+            chunks.add(arena.allocate(Math.max(CHUNK_SIZE, length), 8));
+            chunkOffset = 0;
+        }
+        long ref = ((long) (chunks.size() - 1) << 32) | chunkOffset;
+        chunkOffset += length;
+        liveBytes += length;
+        return ref;
+    }
+
+    /**
+     *      ,    ,   
+     *
+     * @param length   
+     */
+    private void release(long length) {
+        liveBytes -= length;
+        garbageBytes += length;
+        if (garbageBytes > liveBytes && garbageBytes >= CHUNK_SIZE) {
+            compact();
+        }
+    }
+
+    /**
+     *         
+     */
+    private void compact() {
+        List<Arena> oldArenas = chunkArenas;
+        List<MemorySegment> oldChunks = chunks;
+        chunkArenas = new ArrayList<>();
+        chunks = new ArrayList<>();
+        liveBytes = 0;
+        garbageBytes = 0;
+        for (long slot = 0; slot < index.byteSize(); slot += SLOT_SIZE) {
+            if (index.get(ValueLayout.JAVA_INT, slot + 12) != 0) {
+                long oldRef = index.get(ValueLayout.JAVA_LONG, slot);
+                MemorySegment oldChunk = oldChunks.get((int) (oldRef >>> 32));
+                long record = (int) oldRef;
+                long length = HEADER_SIZE + oldChunk.get(ValueLayout.JAVA_INT_UNALIGNED, record)
+                        + (long) oldChunk.get(ValueLayout.JAVA_INT_UNALIGNED, record + 4);
+                long ref = allocate(length);
+                MemorySegment.copy(oldChunk, record, chunk(ref), (int) ref, length);
+                index.set(ValueLayout.JAVA_LONG, slot, ref);
+            }
+        }
+        for (Arena arena : oldArenas) {
+            arena.close();
+        }
+    }
+
+    /**
+     *         
+     *
+     * @param idx  
+     * @param m     
+     * @param hash - 
+     * @param ref    
+     */
+    private static void insert(MemorySegment idx, int m, int hash, long ref) {
+        int i = hash & m;
+        while (idx.get(ValueLayout.JAVA_INT, (long) i * SLOT_SIZE + 12) != 0) {
+            i = (i + 1) & m;
+        }
+        long slot = (long) i * SLOT_SIZE;
+        idx.set(ValueLayout.JAVA_LONG, slot, ref);
+        idx.set(ValueLayout.JAVA_INT, slot + 8, hash);
+        idx.set(ValueLayout.JAVA_INT, slot + 12, 1);
+    }
+
+    /**
+     *   ;   ,      -
+     */
+    private void resize() {
+        int oldCapacity = mask + 1;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("  : " + size);
+        }
+        Arena oldArena = indexArena;
+        MemorySegment oldIndex = index;
+        allocateIndex(oldCapacity * 2);
+        for (long slot = 0; slot < oldIndex.byteSize(); slot += SLOT_SIZE) {
+            if (oldIndex.get(ValueLayout.JAVA_INT, slot + 12) != 0) {
+                insert(index, mask, oldIndex.get(ValueLayout.JAVA_INT, slot + 8), oldIndex.get(ValueLayout.JAVA_LONG, slot));
+            }
+        }
+        oldArena.close();
+    }
+
+    /**
+     *     key    
+     *     ,       ,        .
+     *
+     * @param key  HashMap
+     * @return V     null
+     */
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int length = encodeKey(key);
+        int i = find(hash(scratchSegment, 0, length), length);
+        if (i < 0) {
+            return null;
+        }
+        MemorySegment idx = index;
+        long ref = idx.get(ValueLayout.JAVA_LONG, (long) i * SLOT_SIZE);
+        V oldValue = readValue(ref);
+        long recordLength = HEADER_SIZE + length + (long) chunk(ref).get(ValueLayout.JAVA_INT_UNALIGNED, (int) ref + 4);
+
+        for (int next = (i + 1) & mask; idx.get(ValueLayout.JAVA_INT, (long) next * SLOT_SIZE + 12) != 0; next = (next + 1) & mask) {
+            int home = idx.get(ValueLayout.JAVA_INT, (long) next * SLOT_SIZE + 8) & mask;
+            //     i,  i        home  next
+            if (((next - home) & mask) >= ((next - i) & mask)) {
+                MemorySegment.copy(idx, (long) next * SLOT_SIZE, idx, (long) i * SLOT_SIZE, SLOT_SIZE);
+                i = next;
+            }
+        }
+        idx.set(ValueLayout.JAVA_INT, (long) i * SLOT_SIZE + 12, 0);
+        size--;
+        release(recordLength);
+        return oldValue;
+    }
+
+    /**
+     *     .     .
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        indexArena.close();
+        for (Arena arena : chunkArenas) {
+            arena.close();
+        }
+        chunkArenas.clear();
+        chunks.clear();
+        size = 0;
+    }
+}
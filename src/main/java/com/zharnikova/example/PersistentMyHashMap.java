@@ -0,0 +1,534 @@
+package com.zharnikova.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * -      (CHAMP - compressed hash-array mapped prefix tree)   
+ *     5  -  (32  )        :
+ *   dataMap  ,     -,  nodeMap -  .
+ *     ,  -  ,      Integer.bitCount().
+ *    32- ,       ,     (  ).
+ *     :         .
+ *
+ *     (path copying):      ,       .
+ *         ,      (edit),    :
+ *            ,      (transient ).
+ * snapshot()  O(1)   ,    ,     ,
+ *           ,    .
+ *       :      
+ * (       ,   volatile    ).
+ *    :     .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public final class PersistentMyHashMap<K, V> {
+
+    /**
+     *   -    
+     */
+    private static final int BITS = 5;
+
+    /**
+     *      
+     */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     *  ,    
+     */
+    private static final Node EMPTY = new Node(null, 0, 0, new Object[0]);
+
+    /**
+     *  
+     */
+    private Node root;
+
+    /**
+     *  
+     */
+    private int size;
+
+    /**
+     *  :        ; null  
+     */
+    private Object edit;
+
+    /**
+     *   :        
+     */
+    private boolean found;
+    private Object oldValue;
+
+    /**
+     *    
+     */
+    public PersistentMyHashMap() {
+
+        this(EMPTY, 0, new Object());
+    }
+
+    private PersistentMyHashMap(Node root, int size, Object edit) {
+        this.root = root;
+        this.size = size;
+        this.edit = edit;
+    }
+
+    /**
+     *       O(1)
+     *     ,        .
+     *
+     * @return PersistentMyHashMap<K, V></K,> ,     UnsupportedOperationException
+     */
+    public PersistentMyHashMap<K, V> snapshot() {
+        if (edit == null) {
+            return this;
+        }
+        edit = new Object();
+        return new PersistentMyHashMap<>(root, size, null);
+    }
+
+    /**
+     *          O(1);   ( )     
+     *
+     * @return PersistentMyHashMap<K, V></K,>  
+     */
+    public PersistentMyHashMap<K, V> mutableCopy() {
+        if (edit != null) {
+            edit = new Object();
+        }
+        return new PersistentMyHashMap<>(root, size, new Object());
+    }
+
+    /**
+     * @return boolean true,       
+     */
+    public boolean isReadOnly() {
+        return edit == null;
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *      null,   
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     *      defaultValue,   
+     *
+     * @param key           HashMap
+     * @param defaultValue   
+     * @return V    defaultValue
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+        Object value = find(root, key, spread(key.hashCode()), 0, NOT_FOUND);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,   
+     */
+    public boolean containsKey(Object key) {
+        return key != null && find(root, key, spread(key.hashCode()), 0, NOT_FOUND) != NOT_FOUND;
+    }
+
+    /**
+     *       
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException  key  null
+     */
+    public V put(K key, V value) {
+        return putVal(key, value, false);
+    }
+
+    /**
+     *  ,     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V     null,   
+     */
+    public V putIfAbsent(K key, V value) {
+        return putVal(key, value, true);
+    }
+
+    /**
+     *     m,    
+     *
+     * @param m    
+     */
+    public void putAll(MyHashMap<? extends K, ? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putVal(K key, V value, boolean onlyIfAbsent) {
+        checkWritable();
+        if (key == null) {
+            throw new RuntimeException("Key  : " + key);
+        }
+        found = false;
+        oldValue = null;
+        root = put(root, key, value, spread(key.hashCode()), 0, onlyIfAbsent);
+        if (!found) {
+            size++;
+        }
+        V old = (V) oldValue;
+        oldValue = null;
+        return old;
+    }
+
+    /**
+     *     key
+     *
+     * @param key  HashMap
+     * @return V    null,    
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        checkWritable();
+        if (key == null) {
+            return null;
+        }
+        found = false;
+        oldValue = null;
+        root = remove(root, key, spread(key.hashCode()), 0);
+        if (found) {
+            size--;
+        }
+        V old = (V) oldValue;
+        oldValue = null;
+        return old;
+    }
+
+    /**
+     *  action    - (  -)
+     *
+     * @param action   -
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * @return Set<K></K>   
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * @return Collection<V></V>  
+     */
+    public Collection<V> values() {
+        Collection<V> values = new ArrayList<>(size);
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    private void checkWritable() {
+        if (edit == null) {
+            throw new UnsupportedOperationException("  ");
+        }
+    }
+
+    /**
+     *   hashCode(),        
+     */
+    static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static Object find(Node node, Object key, int hash, int shift, Object notFound) {
+        while (true) {
+            if (node.collision) {
+                Object[] array = node.array;
+                for (int i = 0; i < array.length; i += 2) {
+                    if (key.equals(array[i])) {
+                        return array[i + 1];
+                    }
+                }
+                return notFound;
+            }
+            int bit = bitpos(hash, shift);
+            if ((node.dataMap & bit) != 0) {
+                int index = 2 * Integer.bitCount(node.dataMap & (bit - 1));
+                Object k = node.array[index];
+                return k == key || key.equals(k) ? node.array[index + 1] : notFound;
+            }
+            if ((node.nodeMap & bit) == 0) {
+                return notFound;
+            }
+            node = node.subNode(bit);
+            shift += BITS;
+        }
+    }
+
+    /**
+     *  ,     :  node,      ,      
+     */
+    private Node editable(Node node) {
+        return node.edit == edit ? node : new Node(edit, node.dataMap, node.nodeMap, node.array.clone(), node.collision);
+    }
+
+    private Node put(Node node, Object key, Object value, int hash, int shift, boolean onlyIfAbsent) {
+        if (node.collision) {
+            Object[] array = node.array;
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    found = true;
+                    oldValue = array[i + 1];
+                    if (onlyIfAbsent || oldValue == value) {
+                        return node;
+                    }
+                    Node editable = editable(node);
+                    editable.array[i + 1] = value;
+                    return editable;
+                }
+            }
+            Object[] grown = new Object[array.length + 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            grown[array.length] = key;
+            grown[array.length + 1] = value;
+            return withArray(node, node.dataMap, node.nodeMap, grown);
+        }
+        int bit = bitpos(hash, shift);
+        if ((node.dataMap & bit) != 0) {
+            int index = 2 * Integer.bitCount(node.dataMap & (bit - 1));
+            Object k = node.array[index];
+            if (k == key || key.equals(k)) {
+                found = true;
+                oldValue = node.array[index + 1];
+                if (onlyIfAbsent || oldValue == value) {
+                    return node;
+                }
+                Node editable = editable(node);
+                editable.array[index + 1] = value;
+                return editable;
+            }
+            Node sub = mergeTwo(k, node.array[index + 1], spread(k.hashCode()), key, value, hash, shift + BITS);
+            return migrateInlineToNode(node, bit, index, sub);
+        }
+        if ((node.nodeMap & bit) != 0) {
+            int index = node.array.length - 1 - Integer.bitCount(node.nodeMap & (bit - 1));
+            Node sub = (Node) node.array[index];
+            Node newSub = put(sub, key, value, hash, shift + BITS, onlyIfAbsent);
+            if (newSub == sub) {
+                return node;
+            }
+            Node editable = editable(node);
+            editable.array[index] = newSub;
+            return editable;
+        }
+        int index = 2 * Integer.bitCount(node.dataMap & (bit - 1));
+        Object[] array = node.array;
+        Object[] grown = new Object[array.length + 2];
+        System.arraycopy(array, 0, grown, 0, index);
+        grown[index] = key;
+        grown[index + 1] = value;
+        System.arraycopy(array, index, grown, index + 2, array.length - index);
+        return withArray(node, node.dataMap | bit, node.nodeMap, grown);
+    }
+
+    /**
+     *        ,    shift
+     */
+    private Node mergeTwo(Object key0, Object value0, int hash0, Object key1, Object value1, int hash1, int shift) {
+        if (shift >= 32) {
+            return new Node(edit, 0, 0, new Object[]{key0, value0, key1, value1}, true);
+        }
+        int bit0 = bitpos(hash0, shift);
+        int bit1 = bitpos(hash1, shift);
+        if (bit0 != bit1) {
+            Object[] array = Integer.compareUnsigned(bit0, bit1) < 0 ? new Object[]{key0, value0, key1, value1} : new Object[]{key1, value1, key0, value0};
+            return new Node(edit, bit0 | bit1, 0, array);
+        }
+        return new Node(edit, 0, bit0, new Object[]{mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS)});
+    }
+
+    /**
+     *     bit  sub
+     */
+    private Node migrateInlineToNode(Node node, int bit, int dataIndex, Node sub) {
+        Object[] array = node.array;
+        int nodeIndex = array.length - 2 - Integer.bitCount(node.nodeMap & (bit - 1));
+        Object[] result = new Object[array.length - 1];
+        System.arraycopy(array, 0, result, 0, dataIndex);
+        System.arraycopy(array, dataIndex + 2, result, dataIndex, nodeIndex - dataIndex);
+        result[nodeIndex] = sub;
+        System.arraycopy(array, nodeIndex + 2, result, nodeIndex + 1, array.length - nodeIndex - 2);
+        return withArray(node, node.dataMap ^ bit, node.nodeMap | bit, result);
+    }
+
+    /**
+     *     bit   
+     */
+    private Node migrateNodeToInline(Node node, int bit, Node sub) {
+        Object[] array = node.array;
+        int nodeIndex = array.length - 1 - Integer.bitCount(node.nodeMap & (bit - 1));
+        int dataIndex = 2 * Integer.bitCount(node.dataMap & (bit - 1));
+        Object[] result = new Object[array.length + 1];
+        System.arraycopy(array, 0, result, 0, dataIndex);
+        result[dataIndex] = sub.array[0];
+        result[dataIndex + 1] = sub.array[1];
+        System.arraycopy(array, dataIndex, result, dataIndex + 2, nodeIndex - dataIndex);
+        System.arraycopy(array, nodeIndex + 1, result, nodeIndex + 2, array.length - nodeIndex - 1);
+        return withArray(node, node.dataMap | bit, node.nodeMap ^ bit, result);
+    }
+
+    /**
+     *       :  node  ,    ,   
+     */
+    private Node withArray(Node node, int dataMap, int nodeMap, Object[] array) {
+        if (node.edit == edit) {
+            node.dataMap = dataMap;
+            node.nodeMap = nodeMap;
+            node.array = array;
+            return node;
+        }
+        return new Node(edit, dataMap, nodeMap, array, node.collision);
+    }
+
+    private Node remove(Node node, Object key, int hash, int shift) {
+        if (node.collision) {
+            Object[] array = node.array;
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    found = true;
+                    oldValue = array[i + 1];
+                    Object[] shrunk = new Object[array.length - 2];
+                    System.arraycopy(array, 0, shrunk, 0, i);
+                    System.arraycopy(array, i + 2, shrunk, i, array.length - i - 2);
+                    return withArray(node, 0, 0, shrunk);
+                }
+            }
+            return node;
+        }
+        int bit = bitpos(hash, shift);
+        if ((node.dataMap & bit) != 0) {
+            int index = 2 * Integer.bitCount(node.dataMap & (bit - 1));
+            Object k = node.array[index];
+            if (k != key && !key.equals(k)) {
+                return node;
+            }
+            found = true;
+            oldValue = node.array[index + 1];
+            Object[] array = node.array;
+            Object[] shrunk = new Object[array.length - 2];
+            System.arraycopy(array, 0, shrunk, 0, index);
+            System.arraycopy(array, index + 2, shrunk, index, array.length - index - 2);
+            return withArray(node, node.dataMap ^ bit, node.nodeMap, shrunk);
+        }
+        if ((node.nodeMap & bit) == 0) {
+            return node;
+        }
+        int index = node.array.length - 1 - Integer.bitCount(node.nodeMap & (bit - 1));
+        Node sub = (Node) node.array[index];
+        Node newSub = remove(sub, key, hash, shift + BITS);
+        if (!found) {
+            return node;
+        }
+        if (newSub.isSingleEntry()) {
+            if (node.dataMap == 0 && Integer.bitCount(node.nodeMap) == 1 && shift != 0) {
+                return newSub;
+            }
+            return migrateNodeToInline(node, bit, newSub);
+        }
+        if (newSub == sub) {
+            return node;
+        }
+        Node editable = editable(node);
+        editable.array[index] = newSub;
+        return editable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEach(Node node, BiConsumer<? super K, ? super V> action) {
+        Object[] array = node.array;
+        int payload = node.collision ? array.length : 2 * Integer.bitCount(node.dataMap);
+        for (int i = 0; i < payload; i += 2) {
+            action.accept((K) array[i], (V) array[i + 1]);
+        }
+        for (int i = array.length - 1; i >= payload; i--) {
+            forEach((Node) array[i], action);
+        }
+    }
+
+    /**
+     *  :  dataMap  nodeMap,  [k0, v0, k1, v1, ...,    ]   
+     *   (collision)       .
+     */
+    static final class Node {
+        final Object edit;
+        final boolean collision;
+        int dataMap;
+        int nodeMap;
+        Object[] array;
+
+        Node(Object edit, int dataMap, int nodeMap, Object[] array) {
+            this(edit, dataMap, nodeMap, array, false);
+        }
+
+        Node(Object edit, int dataMap, int nodeMap, Object[] array, boolean collision) {
+            this.edit = edit;
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.array = array;
+            this.collision = collision;
+        }
+
+        Node subNode(int bit) {
+            return (Node) array[array.length - 1 - Integer.bitCount(nodeMap & (bit - 1))];
+        }
+
+        boolean isSingleEntry() {
+            return collision ? array.length == 2 : nodeMap == 0 && Integer.bitCount(dataMap) == 1;
+        }
+    }
+}
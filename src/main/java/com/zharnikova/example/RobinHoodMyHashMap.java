@@ -0,0 +1,507 @@
+package com.zharnikova.example;
+
+import java.util.*;
+
+/**
+ * -    (Robin Hood hashing)     API,   MyHashMap
+ *    MyHashMap,      Entry: ,   -      keys, values  hashes,
+ *  put      ,  get         next.
+ *     .  Robin Hood:   ,     ""  ,
+ *   ,   ,     .      ,
+ *     ,       .
+ *       (backward shift),  "",      .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class RobinHoodMyHashMap<K, V> {
+
+    /**
+     *  -   (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *    - = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *    hashes,    
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * - ; EMPTY ,   
+     */
+    private int[] hashes;
+
+    /**
+     *  
+     */
+    private Object[] keys;
+
+    /**
+     *  
+     */
+    private Object[] values;
+
+    /**
+     *      (  - 1)
+     */
+    private int mask;
+
+    /**
+     *  
+     */
+    private int size;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *   ,   ,     (capacity * loadFactor).
+     */
+    private int threshold;
+
+    /**
+     *   ;        
+     */
+    private int modCount;
+
+    /**
+     *    (capacity=16, load factor=0.75)
+     */
+    public RobinHoodMyHashMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  -
+     */
+    public RobinHoodMyHashMap(int initialCapacity) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     *       
+     *      .          ,
+     *       1.
+     *
+     * @param initialCapacity  -
+     * @param loadFactor          (0 < loadFactor < 1)
+     * @throws IllegalArgumentException        
+     */
+    public RobinHoodMyHashMap(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        if (loadFactor <= 0 || loadFactor >= 1 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+
+        int capacity = 2;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        this.loadFactor = loadFactor;
+        allocate(capacity);
+    }
+
+    /**
+     *     capacity   mask  threshold
+     *
+     * @param capacity   ( )
+     */
+    private void allocate(int capacity) {
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity < MAXIMUM_CAPACITY ? Math.min((int) (capacity * loadFactor), capacity - 1) : capacity - 1;
+    }
+
+    /**
+     *  -   ,  MyHashMap.hash():  16    .
+     *  EMPTY    ,   -   1.
+     *
+     * @param key 
+     * @return int - ,   EMPTY
+     */
+    static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return h == EMPTY ? 1 : h;
+    }
+
+    /**
+     *       - hash   index
+     */
+    private int distance(int hash, int index) {
+        return (index - (hash & mask)) & mask;
+    }
+
+    /**
+     *     key
+     *             ,       ,
+     *       :   Robin Hood      .
+     *
+     * @param key  
+     * @param hash - 
+     * @return int    -1,   
+     */
+    private int indexOf(Object key, int hash) {
+        int[] hs = hashes;
+        int index = hash & mask;
+        for (int dist = 0; ; dist++) {
+            int h = hs[index];
+            if (h == EMPTY || distance(h, index) < dist) {
+                return -1;
+            }
+            if (h == hash && key.equals(keys[index])) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *      null,    (   null)
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int index = indexOf(key, hash(key));
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        return key != null && indexOf(key, hash(key)) >= 0;
+    }
+
+    /**
+     *   -     
+     *     ,   get().    ,     ,    :
+     *    ,    (  )       Robin Hood.
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException    null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new RuntimeException("Key  : " + key);
+        }
+        int hash = hash(key);
+        int[] hs = hashes;
+        int index = hash & mask;
+        int dist = 0;
+        for (; ; dist++) {
+            int h = hs[index];
+            if (h == EMPTY || distance(h, index) < dist) {
+                break;
+            }
+            if (h == hash && key.equals(keys[index])) {
+                V oldValue = (V) values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        insertAt(index, dist, hash, key, value);
+        modCount++;
+        if (++size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    /**
+     *   ,    index,   dist    
+     *       ,        .
+     */
+    private void insertAt(int index, int dist, int hash, Object key, Object value) {
+        int[] hs = hashes;
+        Object[] ks = keys;
+        Object[] vs = values;
+        while (true) {
+            int h = hs[index];
+            if (h == EMPTY) {
+                hs[index] = hash;
+                ks[index] = key;
+                vs[index] = value;
+                return;
+            }
+            int d = distance(h, index);
+            if (d < dist) {
+                Object k = ks[index];
+                Object v = vs[index];
+                hs[index] = hash;
+                ks[index] = key;
+                vs[index] = value;
+                hash = h;
+                key = k;
+                value = v;
+                dist = d;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+    }
+
+    /**
+     *         (  ,    )
+     */
+    private void resize() {
+        int oldCapacity = hashes.length;
+        if (oldCapacity >= MAXIMUM_CAPACITY) {
+            if (size >= oldCapacity - 1) {
+                throw new IllegalStateException("  : " + size);
+            }
+            return;
+        }
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldCapacity << 1);
+        for (int i = 0; i < oldCapacity; i++) {
+            int h = oldHashes[i];
+            if (h != EMPTY) {
+                insertAt(h & mask, 0, h, oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     *     key    
+     *    ,       ,      (backward shift),
+     *           .
+     *
+     * @param key  HashMap
+     * @return V     null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int index = indexOf(key, hash(key));
+        if (index < 0) {
+            return null;
+        }
+        V oldValue = (V) values[index];
+        removeAt(index);
+        return oldValue;
+    }
+
+    /**
+     *     index     
+     */
+    private void removeAt(int index) {
+        int[] hs = hashes;
+        Object[] ks = keys;
+        Object[] vs = values;
+        int next = (index + 1) & mask;
+        while (hs[next] != EMPTY && distance(hs[next], next) > 0) {
+            hs[index] = hs[next];
+            ks[index] = ks[next];
+            vs[index] = vs[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hs[index] = EMPTY;
+        ks[index] = null;
+        vs[index] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     *    - ,    keys ,  
+     *
+     * @return Set<K></K>  
+     */
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    K element(int index) {
+                        return (K) keys[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    /**
+     *    - -    keys  values
+     *
+     * @return Set<Map.Entry<K, V>></Map.Entry<K,>  -
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new SlotIterator<Map.Entry<K, V>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Map.Entry<K, V> element(int index) {
+                        return new AbstractMap.SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Object key = e.getKey();
+                if (key == null) {
+                    return false;
+                }
+                int index = indexOf(key, hash(key));
+                return index >= 0 && Objects.equals(values[index], e.getValue());
+            }
+        };
+    }
+
+    /**
+     *    ( ) -    values
+     *
+     * @return Collection<V></V>  
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V element(int index) {
+                        return (V) values[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     *     
+     *      , next()  ConcurrentModificationException.
+     *     :            .
+     *
+     * @param <E></E>   
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private final int expectedModCount = modCount;
+        private int index = advance(0);
+
+        abstract E element(int index);
+
+        private int advance(int from) {
+            int[] hs = hashes;
+            while (from < hs.length && hs[from] == EMPTY) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < hashes.length;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (index >= hashes.length) {
+                throw new NoSuchElementException();
+            }
+            E e = element(index);
+            index = advance(index + 1);
+            return e;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.zharnikova.example;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ *   GroupMatcher:   16     long     SWAR
+ * (SIMD within a register),       .
+ */
+final class ScalarGroupMatcher implements GroupMatcher {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LSB = 0x0101010101010101L;
+    private static final long MSB = 0x8080808080808080L;
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     *  8-   x,   (,   )
+     */
+    private static long zeroBytes(long x) {
+        long t = ~(((x & LOW7) + LOW7) | x | LOW7);
+        return compact(t);
+    }
+
+    /**
+     *     ( 7, 15, ..., 63)  8   
+     */
+    private static long compact(long highBits) {
+        return ((highBits >>> 7) * 0x0102040810204080L) >>> 56;
+    }
+
+    @Override
+    public long match(byte[] ctrl, int base, byte h2) {
+        long pattern = LSB * (h2 & 0xFF);
+        long lo = (long) LONGS.get(ctrl, base);
+        long hi = (long) LONGS.get(ctrl, base + 8);
+        return zeroBytes(lo ^ pattern) | zeroBytes(hi ^ pattern) << 8;
+    }
+
+    @Override
+    public long matchEmpty(byte[] ctrl, int base) {
+        long lo = (long) LONGS.get(ctrl, base);
+        long hi = (long) LONGS.get(ctrl, base + 8);
+        return zeroBytes(lo ^ MSB) | zeroBytes(hi ^ MSB) << 8;
+    }
+
+    @Override
+    public long matchEmptyOrDeleted(byte[] ctrl, int base) {
+        long lo = (long) LONGS.get(ctrl, base);
+        long hi = (long) LONGS.get(ctrl, base + 8);
+        return compact(lo & MSB) | compact(hi & MSB) << 8;
+    }
+}
@@ -0,0 +1,450 @@
+package com.zharnikova.example;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ *  -,     -  MyHashMap,     StampedLock
+ *        -,     -  ,          .
+ *       : ,     ,    ,
+ *       ,      .
+ * get  containsKey     (StampedLock.tryOptimisticRead  MyHashMap.peekEntry)    validate;
+ *      ,         ,     .
+ *     LongAdder,  size()   .
+ *     ConcurrentMyHashMap:    ,    ,   -  MyHashMap    .
+ * putIfAbsent, computeIfAbsent  merge ;           .
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class StripedMyHashMap<K, V> {
+
+    /**
+     *  -   (2^4==16)
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1 << 4;
+
+    /**
+     *  ,   
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     *    
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     *   
+     */
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    /**
+     *  
+     */
+    private final Segment<K, V>[] segments;
+
+    /**
+     * ,    -    
+     */
+    private final int segmentShift;
+
+    /**
+     *    (  - 1)
+     */
+    private final int segmentMask;
+
+    /**
+     *  
+     */
+    private final float loadFactor;
+
+    /**
+     *  
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     *    (capacity=16, load factor=0.75, 16 )
+     */
+    public StripedMyHashMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     *            
+     *
+     * @param initialCapacity  - (  )
+     */
+    public StripedMyHashMap(int initialCapacity) {
+
+        this(initialCapacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     *        
+     *
+     * @param initialCapacity  - (  )
+     * @param loadFactor         
+     */
+    public StripedMyHashMap(int initialCapacity, float loadFactor) {
+
+        this(initialCapacity, loadFactor, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     *     ,     
+     *     ;     .
+     *     ,    ;         .
+     *
+     * @param initialCapacity   - (  )
+     * @param loadFactor          
+     * @param concurrencyLevel   ( )
+     * @throws IllegalArgumentException   ,         
+     */
+    @SuppressWarnings("unchecked")
+    public StripedMyHashMap(int initialCapacity, float loadFactor, int concurrencyLevel) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (loadFactor <= 0 || Float.isNaN(loadFactor)) {
+            throw new IllegalArgumentException("  : " + loadFactor);
+        }
+        if (concurrencyLevel <= 0 || concurrencyLevel > MAX_SEGMENTS || Integer.bitCount(concurrencyLevel) != 1) {
+            throw new IllegalArgumentException("     : " + concurrencyLevel);
+        }
+
+        this.loadFactor = loadFactor;
+        this.segmentMask = concurrencyLevel - 1;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(concurrencyLevel);
+        int segmentCapacity = Math.max(2, initialCapacity / concurrencyLevel);
+        segments = (Segment<K, V>[]) new Segment<?, ?>[concurrencyLevel];
+        for (int i = 0; i < concurrencyLevel; i++) {
+            segments[i] = new Segment<>(new MyHashMap<>(segmentCapacity, loadFactor, false));
+        }
+    }
+
+    /**
+     *       -,    
+     * MyHashMap     ,        .
+     *    segmentShift  32,    0,    0.
+     *
+     * @param key 
+     * @return Segment<K, V></K,>  
+     */
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return segments[(h >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     *    (    - )
+     *
+     * @return int  
+     */
+    public int size() {
+        long n = count.sum();
+        return n < 0 ? 0 : n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) n;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return count.sum() <= 0;
+    }
+
+    /**
+     *   
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     *      null,    (   null)
+     *    ;     ,       .
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                MyHashMap.Entry<K, V> entry = segment.map.peekEntry(key);
+                if (entry != MyHashMap.UNREADABLE) {
+                    V value = entry == null ? null : entry.v;
+                    if (lock.validate(stamp)) {
+                        return value;
+                    }
+                }
+            } catch (RuntimeException e) {
+                //     ;   
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.map.get(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * ,      key ( ,  get,   )
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        StampedLock lock = segment.lock;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                MyHashMap.Entry<K, V> entry = segment.map.peekEntry(key);
+                if (entry != MyHashMap.UNREADABLE && lock.validate(stamp)) {
+                    return entry != null;
+                }
+            } catch (RuntimeException e) {
+                //     ;   
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return segment.map.containsKey(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     *   -     
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException    null
+     */
+    public V put(K key, V value) {
+        Segment<K, V> segment = segmentForUpdate(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            int before = segment.map.size();
+            V oldValue = segment.map.put(key, value);
+            count.add(segment.map.size() - before);
+            return oldValue;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *    -,    
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V     null,   
+     * @throws RuntimeException    null
+     */
+    public V putIfAbsent(K key, V value) {
+        Segment<K, V> segment = segmentForUpdate(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            int before = segment.map.size();
+            V oldValue = segment.map.putIfAbsent(key, value);
+            count.add(segment.map.size() - before);
+            return oldValue;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *    m    (  -    )
+     *
+     * @param m -
+     */
+    public void putAll(MyHashMap<? extends K, ? extends V> m) {
+        m.forEach(this::put);
+    }
+
+    /**
+     *    ,     -    mappingFunction   
+     *        ;    null,   .
+     *
+     * @param key              HashMap
+     * @param mappingFunction ,    
+     * @return V    
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        Segment<K, V> segment = segmentForUpdate(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            int before = segment.map.size();
+            value = segment.map.computeIfAbsent(key, mappingFunction);
+            count.add(segment.map.size() - before);
+            return value;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *   value,   ,     remappingFunction( , value);
+     *    null,  
+     *
+     * @param key                HashMap
+     * @param value                
+     * @param remappingFunction      
+     * @return V    null,   
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null || remappingFunction == null) {
+            throw new NullPointerException();
+        }
+        Segment<K, V> segment = segmentForUpdate(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            int before = segment.map.size();
+            V newValue = segment.map.merge(key, value, remappingFunction);
+            count.add(segment.map.size() - before);
+            return newValue;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *        null,    
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        long stamp = segment.lock.writeLock();
+        try {
+            int before = segment.map.size();
+            V oldValue = segment.map.remove(key);
+            count.add(segment.map.size() - before);
+            return oldValue;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     *   action   -,       
+     *      - ,    -   .
+     * action     .
+     *
+     * @param action   -
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (Segment<K, V> segment : segments) {
+            long stamp = segment.lock.readLock();
+            try {
+                segment.map.forEach(action);
+            } finally {
+                segment.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     *     (,     MyHashMap.keySet())
+     *
+     * @return Set<K></K>  
+     */
+    public Set<K> keySet() {
+        Set<K> keys = new HashSet<>();
+        forEach((k, v) -> keys.add(k));
+        return keys;
+    }
+
+    /**
+     *     -
+     *
+     * @return Set<Map.Entry<K, V>></Map.Entry<K,>  -
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entries = new HashSet<>();
+        forEach((k, v) -> entries.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+        return entries;
+    }
+
+    /**
+     *     ( )
+     *
+     * @return Collection<V></V>  
+     */
+    public Collection<V> values() {
+        List<V> values = new ArrayList<>();
+        forEach((k, v) -> values.add(v));
+        return values;
+    }
+
+    /**
+     *        
+     *
+     * @param key 
+     * @return Segment<K, V></K,>  
+     * @throws RuntimeException    null ( MyHashMap.put)
+     */
+    private Segment<K, V> segmentForUpdate(Object key) {
+        if (key == null) {
+            throw new RuntimeException("Key  : " + key);
+        }
+        return segmentFor(key);
+    }
+
+    /**
+     * :  MyHashMap ( ,   )   
+     *
+     * @param <K></K> 
+     * @param <V></V> 
+     */
+    private static final class Segment<K, V> {
+        final StampedLock lock = new StampedLock();
+        final MyHashMap<K, V> map;
+
+        Segment(MyHashMap<K, V> map) {
+            this.map = map;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.zharnikova.example;
+
+import java.util.*;
+
+/**
+ * -   Swiss table     API,   MyHashMap
+ *        ctrl: EMPTY (), DELETED ()  7   -  (h2).
+ *      GroupMatcher.GROUP_WIDTH (16).   - (h1)   ,
+ *       (1, 2, 3, ...),     -     .
+ *      GroupMatcher   16    h2,     equals()    
+ * (  16/128    ).     ,    .
+ *          -       keys,     Entry.next.
+ *      (jdk.incubator.vector),     -  (. GroupMatcher.create()).
+ *
+ * @param <K></K>  HashMap
+ * @param <V></V>  HashMap
+ */
+public class SwissMyHashMap<K, V> {
+
+    /**
+     *   ,    
+     */
+    private static final GroupMatcher MATCHER = GroupMatcher.create();
+
+    /**
+     *    
+     */
+    private static final int GROUP_WIDTH = GroupMatcher.GROUP_WIDTH;
+
+    /**
+     *  -  
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = GROUP_WIDTH;
+
+    /**
+     *    - = 1073741824
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     *  :        7/8 
+     */
+    private static final float LOAD_FACTOR = 0.875f;
+
+    /**
+     *   
+     */
+    private byte[] ctrl;
+
+    /**
+     *  
+     */
+    private Object[] keys;
+
+    /**
+     *  
+     */
+    private Object[] values;
+
+    /**
+     *   - 1
+     */
+    private int groupMask;
+
+    /**
+     *  
+     */
+    private int size;
+
+    /**
+     *    (DELETED)
+     */
+    private int tombstones;
+
+    /**
+     *      ,     
+     */
+    private int threshold;
+
+    /**
+     *   ;        
+     */
+    private int modCount;
+
+    /**
+     *    (capacity=16)
+     */
+    public SwissMyHashMap() {
+
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     *    
+     *      ,     .
+     *
+     * @param initialCapacity  -
+     * @throws IllegalArgumentException   
+     */
+    public SwissMyHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("     : " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY) {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+        int capacity = GROUP_WIDTH;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     *     capacity   groupMask  threshold
+     *
+     * @param capacity   ( ,   GROUP_WIDTH)
+     */
+    private void allocate(int capacity) {
+        ctrl = new byte[capacity];
+        Arrays.fill(ctrl, GroupMatcher.EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        groupMask = capacity / GROUP_WIDTH - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+        tombstones = 0;
+    }
+
+    /**
+     *  - : hashCode()          ,
+     *   h1 ( ),  h2 ( 7 )     hashCode().
+     *
+     * @param key 
+     * @return int - 
+     */
+    static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     *     key
+     *
+     * @param key  
+     * @param hash - 
+     * @return int    -1,   
+     */
+    private int find(Object key, int hash) {
+        byte[] c = ctrl;
+        Object[] ks = keys;
+        byte h2 = (byte) (hash & 0x7F);
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_WIDTH;
+            long match = MATCHER.match(c, base, h2);
+            while (match != 0) {
+                int slot = base + Long.numberOfTrailingZeros(match);
+                if (key.equals(ks[slot])) {
+                    return slot;
+                }
+                match &= match - 1;
+            }
+            if (MATCHER.matchEmpty(c, base) != 0) {
+                return -1;
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     *            - hash
+     *
+     * @param hash - 
+     * @return int   
+     */
+    private int findFree(int hash) {
+        byte[] c = ctrl;
+        int group = (hash >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_WIDTH;
+            long free = MATCHER.matchEmptyOrDeleted(c, base);
+            if (free != 0) {
+                return base + Long.numberOfTrailingZeros(free);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     *   
+     *
+     * @return int  
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * ,   
+     *
+     * @return boolean true,   
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     *    (   7/8)
+     *
+     * @return Float  
+     */
+    public Float loadFactor() {
+        return LOAD_FACTOR;
+    }
+
+    /**
+     *      null,    (   null)
+     *
+     * @param key  HashMap
+     * @return V  
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * ,      key
+     *
+     * @param key  HashMap
+     * @return boolean true,      
+     */
+    public boolean containsKey(Object key) {
+        return key != null && find(key, hash(key)) >= 0;
+    }
+
+    /**
+     *   -     
+     *           .     
+     *  threshold,      rehash().
+     *
+     * @param key    HashMap
+     * @param value  HashMap
+     * @return V    null
+     * @throws RuntimeException    null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new RuntimeException("Key  : " + key);
+        }
+        int hash = hash(key);
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            V oldValue = (V) values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+
+        if (size + tombstones >= threshold) {
+            rehash();
+        }
+        slot = findFree(hash);
+        if (ctrl[slot] == GroupMatcher.DELETED) {
+            tombstones--;
+        }
+        ctrl[slot] = (byte) (hash & 0x7F);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     *  :       ,      
+     * (  ),   .
+     */
+    private void rehash() {
+        int oldCapacity = ctrl.length;
+        int newCapacity = oldCapacity;
+        if (size >= threshold / 2) {
+            if (oldCapacity >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("  : " + size);
+            }
+            newCapacity = oldCapacity << 1;
+        }
+        byte[] oldCtrl = ctrl;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldCtrl[i] >= 0) {
+                int hash = hash(oldKeys[i]);
+                int slot = findFree(hash);
+                ctrl[slot] = (byte) (hash & 0x7F);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     *     key    
+     *       ,       ,      EMPTY.
+     *    DELETED,     ,     .
+     *
+     * @param key  HashMap
+     * @return V     null
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = find(key, hash(key));
+        if (slot < 0) {
+            return null;
+        }
+        V oldValue = (V) values[slot];
+        int base = slot & -GROUP_WIDTH;
+        if (MATCHER.matchEmpty(ctrl, base) != 0) {
+            ctrl[slot] = GroupMatcher.EMPTY;
+        } else {
+            ctrl[slot] = GroupMatcher.DELETED;
+            tombstones++;
+        }
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    /**
+     *    - ,    keys ,  
+     *
+     * @return Set<K></K>  
+     */
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                return new SlotIterator<K>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    K element(int slot) {
+                        return (K) keys[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+        };
+    }
+
+    /**
+     *    - -    keys  values
+     *
+     * @return Set<Map.Entry<K, V>></Map.Entry<K,>  -
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new SlotIterator<Map.Entry<K, V>>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Map.Entry<K, V> element(int slot) {
+                        return new AbstractMap.SimpleImmutableEntry<>((K) keys[slot], (V) values[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry)) {
+                    return false;
+                }
+                Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+                Object key = e.getKey();
+                if (key == null) {
+                    return false;
+                }
+                int slot = find(key, hash(key));
+                return slot >= 0 && Objects.equals(values[slot], e.getValue());
+            }
+        };
+    }
+
+    /**
+     *    ( ) -    values
+     *
+     * @return Collection<V></V>  
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V element(int slot) {
+                        return (V) values[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     *      (  )
+     *      , next()  ConcurrentModificationException.
+     *
+     * @param <E></E>   
+     */
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private final int expectedModCount = modCount;
+        private int slot = advance(0);
+
+        abstract E element(int slot);
+
+        private int advance(int from) {
+            byte[] c = ctrl;
+            while (from < c.length && c[from] < 0) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return slot < ctrl.length;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (slot >= ctrl.length) {
+                throw new NoSuchElementException();
+            }
+            E e = element(slot);
+            slot = advance(slot + 1);
+            return e;
+        }
+    }
+}
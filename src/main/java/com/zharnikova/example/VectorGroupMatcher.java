@@ -0,0 +1,29 @@
+package com.zharnikova.example;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *   GroupMatcher  jdk.incubator.vector: 16      128- 
+ *    ,   (VectorMask)     .
+ *     GroupMatcher.create(),   jdk.incubator.vector .
+ */
+final class VectorGroupMatcher implements GroupMatcher {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    @Override
+    public long match(byte[] ctrl, int base, byte h2) {
+        return ByteVector.fromArray(SPECIES, ctrl, base).eq(h2).toLong();
+    }
+
+    @Override
+    public long matchEmpty(byte[] ctrl, int base) {
+        return ByteVector.fromArray(SPECIES, ctrl, base).eq(EMPTY).toLong();
+    }
+
+    @Override
+    public long matchEmptyOrDeleted(byte[] ctrl, int base) {
+        return ByteVector.fromArray(SPECIES, ctrl, base).lt((byte) 0).toLong();
+    }
+}
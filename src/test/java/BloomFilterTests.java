@@ -0,0 +1,173 @@
+import com.zharnikova.example.BloomFilterStats;
+import com.zharnikova.example.MyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type bloom filter tests.
+ */
+@RunWith(JUnit4.class)
+public class BloomFilterTests {
+
+    /**
+     * Comparable key with only 16 distinct hash codes, so bins turn into trees.
+     */
+    private static final class FewHashes implements Comparable<FewHashes> {
+        final int id;
+
+        FewHashes(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id & 15;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof FewHashes && ((FewHashes) o).id == id;
+        }
+
+        @Override
+        public int compareTo(FewHashes o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+
+    /**
+     * No false negatives through puts, resizes, compute/merge and removals; removed keys are rejected again.
+     */
+    @Test
+    public void noFalseNegatives() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        map.put(-1, -1);
+        map.enableBloomFilter(0.01);
+        assertTrue(map.containsKey(-1));
+        for (int i = 0; i < 50_000; i++) {
+            if (i % 3 == 0) {
+                map.put(i, i);
+            } else if (i % 3 == 1) {
+                map.computeIfAbsent(i, k -> k);
+            } else {
+                map.merge(i, i, Integer::sum);
+            }
+        }
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals((Integer) i, map.get(i));
+        }
+        for (int i = 0; i < 50_000; i += 2) {
+            assertEquals((Integer) i, map.remove(i));
+        }
+        map.computeIfPresent(1, (k, v) -> null);
+        int rejected = 0;
+        for (int i = 0; i < 50_000; i++) {
+            boolean present = i % 2 == 1 && i != 1;
+            assertEquals(present, map.containsKey(i));
+            assertEquals(present ? (Integer) i : null, map.get(i));
+        }
+        BloomFilterStats stats = map.bloomFilterStats();
+        assertTrue(stats.toString(), stats.rejectCount() > 2 * 25_000 * 0.9);
+        assertEquals(map.size(), stats.size());
+
+        map.disableBloomFilter();
+        assertNull(map.bloomFilterStats());
+        assertEquals((Integer) 3, map.get(3));
+    }
+
+    /**
+     * The observed false-positive rate and the memory cost follow the configured rate.
+     */
+    @Test
+    public void falsePositiveRate() {
+        for (double rate : new double[]{0.1, 0.01, 0.001}) {
+            MyHashMap<Integer, Integer> map = MyHashMap.withExpectedSize(100_000);
+            map.enableBloomFilter(rate);
+            int expected = map.bloomFilterStats().expectedKeys();
+            for (int i = 0; i < expected - 1; i++) {
+                map.put(i * 7919, i);
+            }
+            for (int i = 0; i < 1_000_000; i++) {
+                assertNull(map.get(-1 - i));
+            }
+            BloomFilterStats stats = map.bloomFilterStats();
+            assertTrue(stats.toString(), stats.expectedFalsePositiveRate() <= rate);
+            assertTrue(stats.toString(), stats.observedFalsePositiveRate() < rate * 1.5);
+            assertTrue(stats.toString(), stats.bitsPerKey() < stats.bitsPerExpectedKey() * 1.1);
+            assertEquals(1_000_000, stats.rejectCount() + stats.falsePositiveCount());
+        }
+    }
+
+    /**
+     * Tree bins, incremental resize and statistics work with the filter switched on.
+     */
+    @Test
+    public void treeBinsAndIncrementalResize() {
+        MyHashMap<FewHashes, Integer> trees = new MyHashMap<>();
+        trees.enableBloomFilter(0.05);
+        trees.enableStats();
+        for (int i = 0; i < 1000; i++) {
+            trees.put(new FewHashes(i), i);
+        }
+        assertTrue(trees.stats().treeBins() > 0);
+        for (int i = 0; i < 1000; i += 2) {
+            trees.remove(new FewHashes(i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, trees.containsKey(new FewHashes(i)));
+        }
+
+        MyHashMap<Integer, Integer> incremental = new MyHashMap<>(16, 0.75f, true);
+        incremental.enableBloomFilter(0.01);
+        for (int i = 0; i < 100_000; i++) {
+            incremental.put(i, i);
+            assertEquals((Integer) (i / 2), incremental.get(i / 2));
+            assertFalse(incremental.containsKey(-i - 1));
+        }
+        incremental.enableStats();
+        for (int i = 0; i < 10_000; i++) {
+            incremental.get(-i - 1);
+        }
+        assertEquals(10_000, incremental.stats().missCount());
+        assertTrue(incremental.bloomFilterStats().observedFalsePositiveRate() < 0.05);
+    }
+
+    /**
+     * With incremental resize the filter is not rebuilt in one pause: the old filter keeps answering until the buckets are migrated,
+     * then the filter filled during migration, sized for the new threshold, takes over with the counters carried along.
+     */
+    @Test
+    public void incrementalResizeGrowsFilterDuringMigration() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(1 << 16, 0.75f, true);
+        map.enableBloomFilter(0.01);
+        int before = map.bloomFilterStats().expectedKeys();
+        for (int i = 0; i < before; i++) {
+            map.put(i, i);
+        }
+        assertFalse(map.containsKey(-1));
+        long rejected = map.bloomFilterStats().rejectCount();
+        assertEquals(before, map.bloomFilterStats().expectedKeys());
+
+        int i = before;
+        while (map.bloomFilterStats().expectedKeys() == before) {
+            map.put(i, i);
+            i++;
+            assertTrue("migration did not finish", i < 2 * before);
+        }
+        assertEquals(2 * before, map.bloomFilterStats().expectedKeys());
+        assertTrue(map.bloomFilterStats().rejectCount() >= rejected);
+        for (int k = 0; k < i; k++) {
+            assertEquals((Integer) k, map.get(k));
+        }
+        for (int k = 1; k <= 10_000; k++) {
+            assertFalse(map.containsKey(-k));
+        }
+        assertTrue(map.bloomFilterStats().observedFalsePositiveRate() < 0.05);
+    }
+}
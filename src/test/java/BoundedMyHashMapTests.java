@@ -0,0 +1,147 @@
+import com.zharnikova.example.BoundedMyHashMap;
+import com.zharnikova.example.BoundedMyHashMap.EvictionPolicy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type bounded hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class BoundedMyHashMapTests {
+
+    /**
+     * LRU evicts the entry that was read or written least recently and reports it to the listener.
+     */
+    @Test
+    public void lruEvictsLeastRecentlyUsed() {
+        List<String> evicted = new ArrayList<>();
+        BoundedMyHashMap<String, Integer> cache = new BoundedMyHashMap<>(3, null, EvictionPolicy.LRU,
+                (key, value) -> evicted.add(key + "=" + value));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals((Integer) 1, cache.get("a"));
+        cache.put("d", 4);
+        cache.put("c", 30);
+        cache.put("e", 5);
+
+        assertEquals(Arrays.asList("b=2", "a=1"), evicted);
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertTrue(cache.containsKey("c"));
+        assertTrue(cache.containsKey("d"));
+        assertTrue(cache.containsKey("e"));
+        assertEquals(2, cache.evictionCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+
+        cache.remove("d");
+        cache.put("f", 6);
+        assertEquals(2, cache.evictionCount());
+        assertEquals(3, cache.weightedSize());
+    }
+
+    /**
+     * The weigher bounds the total weight; updating a value re-weighs its entry.
+     */
+    @Test
+    public void weightedEviction() {
+        BoundedMyHashMap<Integer, String> cache = new BoundedMyHashMap<>(10, (key, value) -> value.length(),
+                EvictionPolicy.LRU, null);
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        assertEquals(8, cache.weightedSize());
+        cache.put(3, "cc");
+        assertEquals(10, cache.weightedSize());
+        assertEquals(3, cache.size());
+
+        cache.put(2, "bbbbbbbbb");
+        assertFalse(cache.containsKey(1));
+        assertFalse(cache.containsKey(3));
+        assertEquals("bbbbbbbbb", cache.get(2));
+        assertEquals(9, cache.weightedSize());
+
+        cache.merge(2, "!!!!", String::concat);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+        assertEquals(3, cache.evictionCount());
+
+        for (EvictionPolicy policy : EvictionPolicy.values()) {
+            BoundedMyHashMap<Integer, String> replaced = new BoundedMyHashMap<>(100, (key, value) -> value.length(), policy, null);
+            for (int i = 0; i < 10; i++) {
+                replaced.put(i, "x");
+            }
+            replaced.replaceAll((key, value) -> "x".repeat(50));
+            assertEquals(2, replaced.size());
+            assertEquals(100, replaced.weightedSize());
+            assertEquals(8, replaced.evictionCount());
+
+            replaced.replaceAll((key, value) -> "x");
+            assertEquals(2, replaced.weightedSize());
+            for (int i = 10; i < 200; i++) {
+                replaced.put(i, "x");
+            }
+            assertEquals(100, replaced.size());
+            assertEquals(100, replaced.weightedSize());
+        }
+    }
+
+    /**
+     * A one-off scan of many keys flushes a hot set out of LRU but not out of W-TinyLFU.
+     */
+    @Test
+    public void tinyLfuResistsScans() {
+        BoundedMyHashMap<Integer, Integer> lru = new BoundedMyHashMap<>(1000, EvictionPolicy.LRU);
+        BoundedMyHashMap<Integer, Integer> lfu = new BoundedMyHashMap<>(1000, EvictionPolicy.TINY_LFU);
+        for (BoundedMyHashMap<Integer, Integer> cache : Arrays.asList(lru, lfu)) {
+            for (int round = 0; round < 5; round++) {
+                for (int key = 0; key < 500; key++) {
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            }
+            for (int key = 1000000; key < 1010000; key++) {
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+            assertTrue(cache.size() <= 1000);
+            assertEquals(cache.size(), cache.weightedSize());
+        }
+
+        int lruHot = 0, lfuHot = 0;
+        for (int key = 0; key < 500; key++) {
+            lruHot += lru.containsKey(key) ? 1 : 0;
+            lfuHot += lfu.containsKey(key) ? 1 : 0;
+        }
+        assertEquals(0, lruHot);
+        assertTrue("hot keys kept: " + lfuHot, lfuHot > 450);
+    }
+
+    /**
+     * Serialization is rejected up front instead of producing a stream that cannot be read back.
+     */
+    @Test(expected = NotSerializableException.class)
+    public void serializationIsRejected() throws IOException {
+        BoundedMyHashMap<String, Integer> cache = new BoundedMyHashMap<>(10, EvictionPolicy.TINY_LFU);
+        cache.put("a", 1);
+        try (ObjectOutputStream out = new ObjectOutputStream(new ByteArrayOutputStream())) {
+            out.writeObject(cache);
+        }
+    }
+}
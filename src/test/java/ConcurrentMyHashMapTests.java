@@ -0,0 +1,122 @@
+import com.zharnikova.example.ConcurrentMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type concurrent hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class ConcurrentMyHashMapTests {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Put, get, replace, remove and the atomic operations on one thread.
+     */
+    @Test
+    public void singleThread() {
+        ConcurrentMyHashMap<String, Integer> map = new ConcurrentMyHashMap<>();
+        map.put("24", 4309);
+        map.put("34", 450);
+
+        assertEquals((Integer) 4309, map.put("24", 75894));
+        assertEquals((Integer) 75894, map.putIfAbsent("24", 1));
+        assertEquals(null, map.putIfAbsent("44", 1));
+        assertEquals((Integer) 1, map.computeIfAbsent("44", k -> 2));
+        assertEquals((Integer) 5, map.computeIfAbsent("54", k -> 5));
+        assertEquals(null, map.computeIfAbsent("64", k -> null));
+        assertEquals((Integer) 7, map.merge("54", 2, Integer::sum));
+        assertEquals(null, map.merge("54", 2, (a, b) -> null));
+        assertEquals((Integer) 450, map.remove("34"));
+        assertEquals(null, map.remove("34"));
+        assertFalse(map.containsKey("34"));
+        assertEquals(new HashSet<>(Arrays.asList("24", "44")), map.keySet());
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Threads inserting disjoint ranges concurrently with cooperative resizing lose no keys.
+     */
+    @Test
+    public void concurrentPutsAcrossResizes() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> map = new ConcurrentMyHashMap<>(2);
+        int perThread = 50000;
+        runConcurrently(t -> {
+            for (int i = t * perThread; i < (t + 1) * perThread; i++) {
+                map.put(i, i);
+                if (i % 3 == 0) {
+                    map.remove(i);
+                }
+            }
+        });
+
+        for (int i = 0; i < THREADS * perThread; i++) {
+            assertEquals(i % 3 == 0 ? null : (Integer) i, map.get(i));
+        }
+        int expected = THREADS * perThread - (THREADS * perThread + 2) / 3;
+        assertEquals(expected, map.size());
+        assertEquals(expected, map.keySet().size());
+    }
+
+    /**
+     * merge and computeIfAbsent are atomic when all threads hit the same keys.
+     */
+    @Test
+    public void atomicOperations() throws Exception {
+        ConcurrentMyHashMap<Integer, Integer> counters = new ConcurrentMyHashMap<>();
+        ConcurrentMyHashMap<Integer, Integer> computed = new ConcurrentMyHashMap<>();
+        AtomicInteger calls = new AtomicInteger();
+        runConcurrently(t -> {
+            for (int round = 0; round < 20; round++) {
+                for (int key = 0; key < 1000; key++) {
+                    counters.merge(key, 1, Integer::sum);
+                    computed.computeIfAbsent(key, k -> {
+                        calls.incrementAndGet();
+                        return k;
+                    });
+                }
+            }
+        });
+
+        for (int key = 0; key < 1000; key++) {
+            assertEquals((Integer) (THREADS * 20), counters.get(key));
+            assertTrue(computed.containsKey(key));
+        }
+        assertEquals(1000, calls.get());
+        assertEquals(1000, computed.size());
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,214 @@
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.DurableMyHashMap;
+import com.zharnikova.example.DurableMyHashMap.SyncPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The type durable hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class DurableMyHashMapTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Operations of every sync policy, including concurrent writers with group commit, survive reopening.
+     */
+    @Test
+    public void reopenReplaysLog() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        HashMap<String, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (SyncPolicy policy : SyncPolicy.values()) {
+            try (DurableMyHashMap<String, Long> map = new DurableMyHashMap<>(directory, Codec.STRING, Codec.LONG, policy, 5, Long.MAX_VALUE)) {
+                assertEquals(expected.size(), map.size());
+                for (Map.Entry<String, Long> e : expected.entrySet()) {
+                    assertEquals(e.getValue(), map.get(e.getKey()));
+                }
+                for (int i = 0; i < 20000; i++) {
+                    String key = "key-" + random.nextInt(5000);
+                    if (random.nextInt(4) == 0) {
+                        assertEquals(expected.remove(key), map.remove(key));
+                    } else {
+                        long value = random.nextLong();
+                        assertEquals(expected.put(key, value), map.put(key, value));
+                    }
+                }
+            }
+        }
+
+        try (DurableMyHashMap<String, Long> map = new DurableMyHashMap<>(directory, Codec.STRING, Codec.LONG, SyncPolicy.ALWAYS, 1, Long.MAX_VALUE)) {
+            Thread[] writers = new Thread[4];
+            for (int t = 0; t < writers.length; t++) {
+                int id = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        map.put("thread-" + id + "-" + i, (long) i);
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 500; i++) {
+                expected.put("thread-" + t + "-" + i, (long) i);
+            }
+        }
+
+        try (DurableMyHashMap<String, Long> map = new DurableMyHashMap<>(directory, Codec.STRING, Codec.LONG)) {
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<String, Long> e : expected.entrySet()) {
+                assertEquals(e.getValue(), map.get(e.getKey()));
+            }
+        }
+    }
+
+    /**
+     * A checkpoint truncates the log and deletes old log files; operations after it are replayed on top of it.
+     */
+    @Test
+    public void checkpointTruncatesLog() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        HashMap<Integer, String> expected = new HashMap<>();
+
+        try (DurableMyHashMap<Integer, String> map = new DurableMyHashMap<>(directory, Codec.INT, Codec.STRING, SyncPolicy.OS, 1000, 64 * 1024)) {
+            for (int i = 0; i < 30000; i++) {
+                map.put(i % 2000, "value-" + i);
+                expected.put(i % 2000, "value-" + i);
+            }
+            for (int i = 0; i < 500; i++) {
+                assertEquals(expected.remove(i), map.remove(i));
+            }
+            map.checkpoint();
+            assertTrue(map.walBytes() < 64);
+            assertEquals(1, walFiles(directory));
+            assertTrue(Files.exists(directory.resolve("checkpoint.bin")));
+
+            map.put(-1, "after checkpoint");
+            expected.put(-1, "after checkpoint");
+            map.remove(1999);
+            expected.remove(1999);
+        }
+
+        try (DurableMyHashMap<Integer, String> map = new DurableMyHashMap<>(directory, Codec.INT, Codec.STRING)) {
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<Integer, String> e : expected.entrySet()) {
+                assertEquals(e.getValue(), map.get(e.getKey()));
+            }
+        }
+    }
+
+    /**
+     * A torn block at the end of the log is discarded, and the log is usable afterwards.
+     */
+    @Test
+    public void tornTailIsDiscarded() throws IOException {
+        Path directory = folder.getRoot().toPath();
+
+        try (DurableMyHashMap<Integer, Integer> map = new DurableMyHashMap<>(directory, Codec.INT, Codec.INT, SyncPolicy.ALWAYS, 1, Long.MAX_VALUE)) {
+            for (int i = 0; i < 100; i++) {
+                map.put(i, i * i);
+            }
+        }
+        Path wal;
+        try (Stream<Path> files = Files.list(directory)) {
+            wal = files.filter(p -> p.getFileName().toString().startsWith("wal-")).max(Comparator.naturalOrder()).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer torn = ByteBuffer.allocate(20);
+            torn.putInt(0, 1000);
+            channel.write(torn);
+        }
+
+        try (DurableMyHashMap<Integer, Integer> map = new DurableMyHashMap<>(directory, Codec.INT, Codec.INT)) {
+            assertEquals(100, map.size());
+            assertEquals(Integer.valueOf(49 * 49), map.get(49));
+            map.put(1000, 1);
+        }
+        try (DurableMyHashMap<Integer, Integer> map = new DurableMyHashMap<>(directory, Codec.INT, Codec.INT)) {
+            assertEquals(101, map.size());
+            assertEquals(Integer.valueOf(1), map.get(1000));
+        }
+    }
+
+    /**
+     * A value the codec cannot encode is rejected before the in-memory map changes, so memory and log stay in step.
+     */
+    @Test
+    public void failedEncodingLeavesMapUnchanged() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        Codec<String> strict = new Codec<>() {
+            @Override
+            public int size(String value) {
+                return Codec.STRING.size(value);
+            }
+
+            @Override
+            public void write(String value, MemorySegment segment, long offset) {
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("empty value");
+                }
+                Codec.STRING.write(value, segment, offset);
+            }
+
+            @Override
+            public String read(MemorySegment segment, long offset, int size) {
+                return Codec.STRING.read(segment, offset, size);
+            }
+        };
+
+        try (DurableMyHashMap<Integer, String> map = new DurableMyHashMap<>(directory, Codec.INT, strict)) {
+            map.put(1, "one");
+            try {
+                map.put(1, "");
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // the record was not appended
+            }
+            try {
+                map.put(2, "");
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // the record was not appended
+            }
+            assertEquals("one", map.get(1));
+            assertFalse(map.containsKey(2));
+            map.put(3, "three");
+        }
+        try (DurableMyHashMap<Integer, String> map = new DurableMyHashMap<>(directory, Codec.INT, strict)) {
+            assertEquals(2, map.size());
+            assertEquals("one", map.get(1));
+            assertEquals("three", map.get(3));
+        }
+    }
+
+    private static long walFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("wal-")).count();
+        }
+    }
+}
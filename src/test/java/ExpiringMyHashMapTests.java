@@ -0,0 +1,134 @@
+import com.zharnikova.example.ExpiringMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type expiring hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class ExpiringMyHashMapTests {
+
+    /**
+     * Manually advanced clock.
+     */
+    private static final class FakeTicker implements ExpiringMyHashMap.Ticker {
+        long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+
+    /**
+     * An entry is visible until its ttl passes, then invisible to reads and writes; rewriting restarts the ttl.
+     */
+    @Test
+    public void entriesExpireAfterTtl() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringMyHashMap<String, Integer> map = new ExpiringMyHashMap<>(ticker);
+        map.put("session", 1, Duration.ofSeconds(30));
+        map.put("token", 2, Duration.ofMinutes(5));
+        map.put("forever", 3);
+
+        ticker.advance(29, TimeUnit.SECONDS);
+        assertEquals((Integer) 1, map.get("session"));
+        assertEquals(Duration.ofSeconds(1), map.timeToLive("session"));
+        assertEquals(Duration.ZERO, map.timeToLive("forever"));
+        ticker.advance(1, TimeUnit.SECONDS);
+        assertNull(map.get("session"));
+        assertFalse(map.containsKey("session"));
+        assertNull(map.timeToLive("session"));
+        assertNull(map.putIfAbsent("session", 10));
+        assertEquals((Integer) 10, map.get("session"));
+
+        map.put("token", 20, Duration.ofMinutes(5));
+        ticker.advance(4, TimeUnit.MINUTES);
+        assertEquals((Integer) 20, map.get("token"));
+        ticker.advance(2, TimeUnit.MINUTES);
+        assertNull(map.get("token"));
+        assertNull(map.remove("token"));
+        assertEquals((Integer) 1, map.merge("token", 1, Integer::sum));
+
+        ticker.advance(365, TimeUnit.DAYS);
+        assertEquals((Integer) 3, map.get("forever"));
+        assertEquals((Integer) 10, map.get("session"));
+    }
+
+    /**
+     * The timing wheel physically removes expired entries without reads of their keys, across all wheel levels.
+     */
+    @Test
+    public void wheelRemovesExpiredEntries() {
+        FakeTicker ticker = new FakeTicker();
+        ticker.nanos = -TimeUnit.HOURS.toNanos(3);
+        ExpiringMyHashMap<Integer, Integer> map = new ExpiringMyHashMap<>(ticker);
+        long[] ttls = {TimeUnit.MILLISECONDS.toNanos(500), TimeUnit.SECONDS.toNanos(45), TimeUnit.MINUTES.toNanos(50),
+                TimeUnit.HOURS.toNanos(20), TimeUnit.DAYS.toNanos(3), TimeUnit.DAYS.toNanos(30)};
+        for (int i = 0; i < 6000; i++) {
+            map.put(i, i, Duration.ofNanos(ttls[i % ttls.length]));
+        }
+        long elapsed = 0;
+        for (int level = 0; level < ttls.length; level++) {
+            long step = Math.max(1, ttls[level] / 100);
+            while (elapsed <= ttls[level]) {
+                ticker.advance(step, TimeUnit.NANOSECONDS);
+                elapsed += step;
+                map.cleanUp();
+            }
+            ticker.advance(TimeUnit.SECONDS.toNanos(2), TimeUnit.NANOSECONDS);
+            elapsed += TimeUnit.SECONDS.toNanos(2);
+            map.cleanUp();
+            assertEquals("level " + level, 6000 - 1000 * (level + 1), map.size());
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * The default ttl applies to put(K, V) and to compute-style writes.
+     */
+    @Test
+    public void defaultTtl() {
+        FakeTicker ticker = new FakeTicker();
+        ExpiringMyHashMap<String, Integer> map = new ExpiringMyHashMap<>(10, TimeUnit.SECONDS, ticker);
+        map.put("a", 1);
+        map.computeIfAbsent("b", key -> 2);
+        ticker.advance(5, TimeUnit.SECONDS);
+        assertEquals((Integer) 2, map.computeIfAbsent("b", key -> 20));
+        map.compute("a", (key, value) -> value + 1);
+        ticker.advance(6, TimeUnit.SECONDS);
+        assertEquals((Integer) 2, map.get("a"));
+        assertNull(map.get("b"));
+        map.cleanUp();
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Serialization is rejected up front: the default ticker is a lambda and the timer wheels are not written.
+     */
+    @Test(expected = NotSerializableException.class)
+    public void serializationIsRejected() throws IOException {
+        ExpiringMyHashMap<String, Integer> map = new ExpiringMyHashMap<>();
+        map.put("a", 1, Duration.ofSeconds(1));
+        try (ObjectOutputStream out = new ObjectOutputStream(new ByteArrayOutputStream())) {
+            out.writeObject(map);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import com.zharnikova.example.FrozenMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type frozen hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class FrozenMyHashMapTests {
+
+    /**
+     * Every key of the source is found in one probe; other keys miss; later changes to the source are not visible.
+     */
+    @Test
+    public void freezeKeepsAllEntries() {
+        MyHashMap<String, Integer> source = new MyHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            source.put("key-" + i, i);
+        }
+        FrozenMyHashMap<String, Integer> frozen = source.freeze();
+        source.put("key-0", -1);
+        source.put("extra", 1);
+
+        assertEquals(100000, frozen.size());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals((Integer) i, frozen.get("key-" + i));
+        }
+        assertNull(frozen.get("extra"));
+        assertNull(frozen.get("key-100000"));
+        assertNull(frozen.get(null));
+        assertEquals((Integer) 7, frozen.getOrDefault("missing", 7));
+
+        long[] sum = new long[1];
+        frozen.forEach((k, v) -> sum[0] += v);
+        assertEquals(99999L * 100000 / 2, sum[0]);
+    }
+
+    /**
+     * Keys with equal hash codes go to the overflow table; null values are kept.
+     */
+    @Test
+    public void duplicateHashCodesAndNullValues() {
+        MyHashMap<Object, String> source = new MyHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            source.put(new SameHash(i), "v" + i);
+            source.put(i, null);
+        }
+        source.put("Aa", "x");
+        source.put("BB", "y");
+        FrozenMyHashMap<Object, String> frozen = source.freeze();
+
+        assertEquals(202, frozen.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + i, frozen.get(new SameHash(i)));
+            assertTrue(frozen.containsKey(i));
+            assertNull(frozen.get(i));
+        }
+        assertEquals("x", frozen.get("Aa"));
+        assertEquals("y", frozen.get("BB"));
+        assertFalse(frozen.containsKey(new SameHash(100)));
+        assertFalse(frozen.containsKey(100));
+    }
+
+    /**
+     * Empty and single-entry maps freeze too.
+     */
+    @Test
+    public void emptyAndSingleton() {
+        FrozenMyHashMap<String, Integer> empty = new MyHashMap<String, Integer>().freeze();
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("a"));
+
+        MyHashMap<String, Integer> one = new MyHashMap<>();
+        one.put("a", 1);
+        FrozenMyHashMap<String, Integer> frozen = one.freeze();
+        Map<String, Integer> seen = new HashMap<>();
+        frozen.forEach(seen::put);
+        assertEquals(1, frozen.size());
+        assertEquals((Integer) 1, frozen.get("a"));
+        assertNull(frozen.get("b"));
+        assertEquals(1, seen.size());
+    }
+
+    /**
+     * Key whose hash code is the same for every instance.
+     */
+    private static final class SameHash {
+        private final int id;
+
+        SameHash(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SameHash && ((SameHash) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+}
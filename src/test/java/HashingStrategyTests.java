@@ -0,0 +1,180 @@
+import com.zharnikova.example.FrozenMyHashMap;
+import com.zharnikova.example.HashingStrategy;
+import com.zharnikova.example.MyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type hashing strategy tests.
+ */
+@RunWith(JUnit4.class)
+public class HashingStrategyTests {
+
+    /**
+     * byte[] and int[] keys are found by content with a fresh array per lookup.
+     *
+     * @throws Exception if serialization fails
+     */
+    @Test
+    public void arrayKeysByContent() throws Exception {
+        MyHashMap<byte[], Integer> bytes = new MyHashMap<>(HashingStrategy.byteArray());
+        MyHashMap<int[], Integer> ints = new MyHashMap<>(HashingStrategy.intArray());
+        for (int i = 0; i < 1000; i++) {
+            bytes.put(("key-" + i).getBytes(StandardCharsets.UTF_8), i);
+            ints.put(new int[]{i, i * 31}, i);
+        }
+        bytes.put("key-7".getBytes(StandardCharsets.UTF_8), -7);
+        assertEquals(1000, bytes.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i == 7 ? -7 : i, (int) bytes.get(("key-" + i).getBytes(StandardCharsets.UTF_8)));
+            assertEquals(i, (int) ints.get(new int[]{i, i * 31}));
+        }
+        assertNull(bytes.get("key-1000".getBytes(StandardCharsets.UTF_8)));
+        assertEquals((Integer) 3, bytes.remove("key-3".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(bytes.containsKey("key-3".getBytes(StandardCharsets.UTF_8)));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(buffer)) {
+            out.writeObject(bytes);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            MyHashMap<byte[], Integer> copy = (MyHashMap<byte[], Integer>) in.readObject();
+            assertEquals(999, copy.size());
+            assertEquals((Integer) 5, copy.get("key-5".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Case-insensitive and identity strategies; putAll between maps with different strategies rehashes the keys.
+     */
+    @Test
+    public void caseInsensitiveAndIdentity() {
+        MyHashMap<String, Integer> headers = new MyHashMap<>(HashingStrategy.caseInsensitive());
+        headers.put("Content-Type", 1);
+        headers.put("CONTENT-TYPE", 2);
+        headers.put("Accept", 3);
+        assertEquals(2, headers.size());
+        assertEquals((Integer) 2, headers.get("content-type"));
+        assertTrue(headers.containsKey("aCCEPT"));
+
+        MyHashMap<String, Integer> plain = new MyHashMap<>();
+        plain.put("x-Trace", 4);
+        headers.putAll(plain);
+        assertEquals((Integer) 4, headers.get("X-TRACE"));
+
+        MyHashMap<String, Integer> identity = new MyHashMap<>(HashingStrategy.identity());
+        String a = new String("same");
+        String b = new String("same");
+        identity.put(a, 1);
+        identity.put(b, 2);
+        assertEquals(2, identity.size());
+        assertEquals((Integer) 1, identity.get(a));
+        assertEquals((Integer) 2, identity.get(b));
+        assertNull(identity.get("same"));
+    }
+
+    /**
+     * Seeded hashes depend on content and seed, cover every input length path, and keep many colliding keys apart.
+     */
+    @Test
+    public void seededHashes() {
+        HashingStrategy<byte[]> first = HashingStrategy.wyhash(1);
+        HashingStrategy<byte[]> second = HashingStrategy.wyhash(2);
+        Random random = new Random(3);
+        Set<Integer> hashes = new HashSet<>();
+        int differentSeed = 0;
+        for (int length = 0; length < 200; length++) {
+            for (int n = 0; n < 50; n++) {
+                byte[] key = new byte[length];
+                random.nextBytes(key);
+                assertEquals(first.hash(key), first.hash(key.clone()));
+                hashes.add(first.hash(key));
+                if (first.hash(key) != second.hash(key)) {
+                    differentSeed++;
+                }
+            }
+        }
+        assertTrue(hashes.size() > 9990 - 50);
+        assertTrue(differentSeed > 9990);
+
+        HashingStrategy<String> strings = HashingStrategy.wyhashString(42);
+        assertEquals(strings.hash("hello world"), strings.hash(new String("hello world")));
+        assertNotEquals(strings.hash("hello world"), strings.hash("hello worle"));
+        assertNotEquals(HashingStrategy.wyhashString(43).hash("hello world"), strings.hash("hello world"));
+
+        // "Aa" and "BB" have the same String.hashCode(), so these 4096 keys all collide without a seed
+        MyHashMap<String, Integer> map = new MyHashMap<>(HashingStrategy.wyhashString(random.nextLong()));
+        Set<Integer> distinct = new HashSet<>();
+        for (int i = 0; i < 4096; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 12; bit++) {
+                key.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            assertEquals("Aa".repeat(12).hashCode(), key.toString().hashCode());
+            map.put(key.toString(), i);
+            distinct.add(strings.hash(key.toString()));
+        }
+        assertEquals(4096, map.size());
+        assertTrue(distinct.size() > 4090);
+    }
+
+    /**
+     * freeze() keeps the strategy: the frozen copy finds array keys by content and case-insensitive keys in any case,
+     * including keys whose strategy hashes collide and end up in the overflow table.
+     */
+    @Test
+    public void freezeUsesStrategy() {
+        MyHashMap<byte[], Integer> bytes = new MyHashMap<>(HashingStrategy.byteArray());
+        for (int i = 0; i < 5000; i++) {
+            bytes.put(("key-" + i).getBytes(StandardCharsets.UTF_8), i);
+        }
+        FrozenMyHashMap<byte[], Integer> frozenBytes = bytes.freeze();
+        assertEquals(5000, frozenBytes.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals((Integer) i, frozenBytes.get(("key-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        assertFalse(frozenBytes.containsKey("key-5000".getBytes(StandardCharsets.UTF_8)));
+
+        HashingStrategy<String> byLength = new HashingStrategy<>() {
+            @Override
+            public int hash(String key) {
+                return key.length();
+            }
+
+            @Override
+            public boolean equals(String a, String b) {
+                return a.equalsIgnoreCase(b);
+            }
+        };
+        MyHashMap<String, Integer> headers = new MyHashMap<>(byLength);
+        String[] names = {"Host", "Accept", "Cookie", "Origin", "Content-Type", "User-Agent", "Referer"};
+        for (int i = 0; i < names.length; i++) {
+            headers.put(names[i], i);
+        }
+        FrozenMyHashMap<String, Integer> frozenHeaders = headers.freeze();
+        assertEquals(names.length, frozenHeaders.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals((Integer) i, frozenHeaders.get(names[i].toUpperCase()));
+            assertEquals((Integer) i, frozenHeaders.get(names[i].toLowerCase()));
+        }
+        assertNull(frozenHeaders.get("Accept-Language"));
+        assertNull(frozenHeaders.get("Pragma"));
+    }
+}
@@ -0,0 +1,94 @@
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.MappedMyHashMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * The type memory-mapped hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class MappedMyHashMapTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Entries written before close are visible after reopening, and the reopened map keeps working.
+     */
+    @Test
+    public void reopenKeepsEntries() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("map.bin");
+        HashMap<String, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int round = 0; round < 3; round++) {
+            try (MappedMyHashMap<String, Long> map = new MappedMyHashMap<>(path, Codec.STRING, Codec.LONG)) {
+                assertEquals(expected.size(), map.size());
+                for (Map.Entry<String, Long> e : expected.entrySet()) {
+                    assertEquals(e.getValue(), map.get(e.getKey()));
+                }
+                for (int i = 0; i < 50000; i++) {
+                    String key = "key-" + random.nextInt(20000);
+                    if (random.nextInt(4) == 0) {
+                        assertEquals(expected.remove(key), map.remove(key));
+                    } else {
+                        long value = random.nextLong();
+                        assertEquals(expected.put(key, value), map.put(key, value));
+                    }
+                }
+                assertEquals(expected.size(), map.size());
+            }
+        }
+    }
+
+    /**
+     * Values of another length get a new record; equal-length values are overwritten in place.
+     */
+    @Test
+    public void replaceValues() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("map.bin");
+        try (MappedMyHashMap<Integer, String> map = new MappedMyHashMap<>(path, Codec.INT, Codec.STRING)) {
+            assertEquals(null, map.put(1, "India"));
+            assertEquals("India", map.put(1, "China"));
+            assertEquals("China", map.put(1, "Vietnam"));
+            assertEquals("Vietnam", map.remove(1));
+            assertFalse(map.containsKey(1));
+            map.put(2, "Spain");
+        }
+        try (MappedMyHashMap<Integer, String> map = new MappedMyHashMap<>(path, Codec.INT, Codec.STRING)) {
+            assertEquals(1, map.size());
+            assertEquals("Spain", map.get(2));
+        }
+    }
+
+    /**
+     * A map that was changed and not forced fails the header checksum on reopen.
+     */
+    @Test(expected = IOException.class)
+    public void unsavedChangesFailChecksum() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("map.bin");
+        Path copy = folder.getRoot().toPath().resolve("copy.bin");
+        try (MappedMyHashMap<Integer, Integer> map = new MappedMyHashMap<>(path, Codec.INT, Codec.INT)) {
+            map.put(1, 1);
+            map.force();
+            map.put(2, 2);
+            try (FileChannel in = FileChannel.open(path);
+                 FileChannel out = FileChannel.open(copy, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                in.transferTo(0, in.size(), out);
+            }
+        }
+        new MappedMyHashMap<>(copy, Codec.INT, Codec.INT).close();
+    }
+}
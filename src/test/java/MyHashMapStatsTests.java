@@ -0,0 +1,131 @@
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.MyHashMapStats;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type hash map stats tests.
+ */
+@RunWith(JUnit4.class)
+public class MyHashMapStatsTests {
+
+    /**
+     * Key whose hash code is shared by every instance.
+     */
+    private static final class SameHash {
+        final int id;
+
+        SameHash(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SameHash && ((SameHash) o).id == id;
+        }
+    }
+
+    /**
+     * Stats are off by default and can be switched off again.
+     */
+    @Test
+    public void disabledByDefault() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        map.put(1, 1);
+        assertNull(map.stats());
+        map.enableStats();
+        assertEquals(1, map.stats().size());
+        map.disableStats();
+        assertNull(map.stats());
+    }
+
+    /**
+     * Counters, probe counts, resizes and the chain length histogram.
+     */
+    @Test
+    public void countersAndHistogram() {
+        MyHashMap<Object, Integer> map = new MyHashMap<>();
+        map.enableStats();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            map.get(i);
+        }
+        for (int i = 0; i < 5; i++) {
+            map.put(new SameHash(i), i);
+        }
+        map.get(new SameHash(0));
+
+        MyHashMapStats stats = map.stats();
+        assertEquals(1005, stats.size());
+        assertEquals(1001, stats.hitCount());
+        assertEquals(500, stats.missCount());
+        assertEquals(1005, stats.putCount());
+        assertEquals(7, stats.resizeCount());
+        assertEquals(2048, stats.capacity());
+        assertEquals(5, stats.maxGetProbes());
+        assertTrue(stats.maxChainLength() >= 5);
+        assertTrue(stats.averageGetProbes() >= 0.6 && stats.averageGetProbes() < 1.5);
+
+        long buckets = 0, entries = 0;
+        long[] histogram = stats.chainLengthHistogram();
+        for (int length = 0; length < histogram.length; length++) {
+            buckets += histogram[length];
+            entries += length * histogram[length];
+        }
+        assertEquals(stats.capacity(), buckets);
+        assertEquals(1005, entries);
+    }
+
+    /**
+     * Resizes and periodic statistics show up as Flight Recorder events.
+     *
+     * @throws Exception if the recording cannot be written or read
+     */
+    @Test
+    public void flightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("myhashmap", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.zharnikova.example.MyHashMapResize");
+            recording.enable("com.zharnikova.example.MyHashMapStatistics").withPeriod(java.time.Duration.ofMillis(10));
+            recording.start();
+            MyHashMap<Integer, Integer> map = new MyHashMap<>();
+            map.enableStats();
+            for (int i = 0; i < 100; i++) {
+                map.put(i, i);
+            }
+            Thread.sleep(100);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            long resizes = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.zharnikova.example.MyHashMapResize"))
+                    .count();
+            assertEquals(4, resizes);
+            assertTrue(events.stream().anyMatch(event ->
+                    event.getEventType().getName().equals("com.zharnikova.example.MyHashMapStatistics")
+                            && event.getLong("putCount") == 100));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.MyHashMapBinaryCodec;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.io.*;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
 
 /**
  * The type My hash map tests.
@@ -142,6 +146,158 @@ public class MyHashMapTests {
 
     }
 
+    /**
+     * Put, get and remove after the table has grown many times.
+     */
+    @Test
+    public void putGetAndRemoveAfterResize() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(2);
+
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i * 2);
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertEquals((Integer) (i * 2), map.get(i));
+        }
+        for (int i = 0; i < 100000; i += 2) {
+            assertEquals((Integer) (i * 2), map.remove(i));
+        }
+
+        assertEquals(50000, map.size());
+        assertEquals(null, map.get(0));
+        assertEquals((Integer) 2, map.get(1));
+    }
+
+    /**
+     * Incremental resize keeps every key reachable while buckets are being moved.
+     */
+    @Test
+    public void putGetAndRemoveWithIncrementalResize() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>(16, 0.75f, true);
+
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i);
+            if (i % 3 == 0) {
+                assertEquals((Integer) i, map.remove(i));
+            }
+            assertEquals((i / 2) % 3 != 0, map.containsKey(i / 2));
+        }
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i % 3 != 0, map.containsKey(i));
+        }
+
+        assertEquals(66666, map.size());
+        assertEquals(66666, map.keySet().size());
+    }
+
+    /**
+     * Negative hash codes, including Integer.MIN_VALUE, select a valid bucket.
+     */
+    @Test
+    public void putAndGetNegativeHashCodes() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+
+        map.put(Integer.MIN_VALUE, 1);
+        for (int i = 1; i <= 1000; i++) {
+            map.put(-i * 1024, i);
+        }
+
+        assertEquals((Integer) 1, map.get(Integer.MIN_VALUE));
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals((Integer) i, map.get(-i * 1024));
+        }
+        assertEquals((Integer) 1, map.remove(Integer.MIN_VALUE));
+        assertEquals(1000, map.size());
+    }
+
+    /**
+     * Keys that all share one hash code are kept in a tree bin and stay reachable.
+     */
+    @Test
+    public void putGetAndRemoveCollidingKeys() {
+        MyHashMap<CollidingKey, Integer> comparable = new MyHashMap<>();
+        MyHashMap<Object, Integer> notComparable = new MyHashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            comparable.put(new CollidingKey(i), i);
+            notComparable.put(new CollidingObject(i), i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            assertEquals((Integer) i, comparable.get(new CollidingKey(i)));
+            assertEquals((Integer) i, notComparable.get(new CollidingObject(i)));
+        }
+        for (int i = 0; i < 2000; i++) {
+            if (i % 10 != 0) {
+                assertEquals((Integer) i, comparable.remove(new CollidingKey(i)));
+                assertEquals((Integer) i, notComparable.remove(new CollidingObject(i)));
+            }
+        }
+
+        assertEquals(200, comparable.size());
+        assertEquals(200, notComparable.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 10 == 0, comparable.containsKey(new CollidingKey(i)));
+            assertEquals(i % 10 == 0, notComparable.containsKey(new CollidingObject(i)));
+        }
+    }
+
+    /**
+     * Java serialization restores every entry, the load factor and the incremental resize mode.
+     */
+    @Test
+    public void serializeAndDeserialize() throws IOException, ClassNotFoundException {
+        MyHashMap<Integer, String> map = new MyHashMap<>(16, 0.5f, true);
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i % 7 == 0 ? null : "v" + i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+        MyHashMap<Integer, String> copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            MyHashMap<Integer, String> read = (MyHashMap<Integer, String>) in.readObject();
+            copy = read;
+        }
+
+        assertEquals(10000, copy.size());
+        assertEquals((Float) 0.5f, copy.loadFactor());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(map.get(i), copy.get(i));
+        }
+        copy.put(10000, "new");
+        assertEquals("new", copy.get(10000));
+    }
+
+    /**
+     * The binary codec round-trips primitive wrapper and String keys and values.
+     */
+    @Test
+    public void binaryCodecRoundTrip() throws IOException {
+        MyHashMap<Object, Object> map = new MyHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "\u0441\u0442\u0440\u043e\u043a\u0430 " + i);
+            map.put((long) i << 32, (double) i);
+        }
+        map.put("key", null);
+        map.put('c', true);
+        map.put((short) 5, (byte) 6);
+        map.put(1.5f, 'x');
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MyHashMapBinaryCodec.write(map, new DataOutputStream(bytes));
+        MyHashMap<Object, Object> copy = MyHashMapBinaryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(map.size(), copy.size());
+        assertEquals(map.loadFactor(), copy.loadFactor());
+        map.forEach((key, value) -> {
+            assertEquals(true, copy.containsKey(key));
+            assertEquals(value, copy.get(key));
+        });
+    }
+
     @Test
     public void isEmpty(){
         Boolean expectedResult = false;
@@ -219,7 +375,7 @@ public class MyHashMapTests {
         expectedResult.add(4309);
         expectedResult.add(450);
         Collection<Integer> actualResult = myHashMap.values();
-        assertEquals(expectedResult,actualResult);
+        assertEquals(expectedResult,new HashSet<>(actualResult));
     }
 
     @Test
@@ -252,4 +408,219 @@ public class MyHashMapTests {
         assertEquals(actualResult.entrySet(),expectedResult.entrySet());
 
     }
+
+    /**
+     * Views see every entry of every chain and tree, keep duplicate values, and remove through the iterator.
+     */
+    @Test
+    public void viewsWalkAllChains() {
+        MyHashMap<CollidingKey, Integer> map = new MyHashMap<>(64);
+        for (int i = 0; i < 20; i++) {
+            map.put(new CollidingKey(i), i % 2);
+        }
+        map.put(new CollidingKey(20), 7);
+
+        assertEquals(21, map.keySet().size());
+        assertEquals(21, map.values().size());
+        assertEquals(21, map.entrySet().size());
+        assertEquals(true, map.keySet().contains(new CollidingKey(13)));
+        assertEquals(true, map.entrySet().contains(new MyHashMap.Entry<>(0, new CollidingKey(20), 7, null)));
+        int ones = 0;
+        for (Integer value : map.values()) {
+            ones += value == 1 ? 1 : 0;
+        }
+        assertEquals(10, ones);
+
+        for (Iterator<CollidingKey> it = map.keySet().iterator(); it.hasNext(); ) {
+            if (it.next().id % 3 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(14, map.size());
+        assertEquals(14, map.keySet().size());
+        assertEquals(null, map.get(new CollidingKey(3)));
+        assertEquals((Integer) 0, map.get(new CollidingKey(4)));
+        map.values().removeIf(value -> value == 7);
+        assertEquals(false, map.containsKey(new CollidingKey(20)));
+
+        Iterator<CollidingKey> it = map.keySet().iterator();
+        it.next();
+        map.put(new CollidingKey(100), 1);
+        try {
+            it.next();
+            fail("expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException expected) {
+            // fail-fast
+        }
+    }
+
+    /**
+     * Spliterators split the table by bucket ranges; parallel and sequential scans see the same entries.
+     */
+    @Test
+    public void parallelStreams() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        long expected = 0;
+        for (int i = 0; i < 100000; i++) {
+            map.put(i, i % 1000);
+            expected += i % 1000;
+        }
+        for (int i = 0; i < 20; i++) {
+            map.put(i * 1024, -1);
+            expected -= i * 1024 % 1000 + 1;
+        }
+
+        Spliterator<Integer> keys = map.keySet().spliterator();
+        assertEquals(true, keys.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(100000L, keys.getExactSizeIfKnown());
+        Spliterator<Integer> firstHalf = keys.trySplit();
+        assertEquals(false, keys.hasCharacteristics(Spliterator.SIZED));
+        long[] count = new long[1];
+        firstHalf.forEachRemaining(k -> count[0]++);
+        keys.forEachRemaining(k -> count[0]++);
+        assertEquals(100000L, count[0]);
+
+        assertEquals(expected, map.values().parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(expected, map.stream().mapToLong(e -> e.getValue()).sum());
+        assertEquals(100000L, map.parallelStream().map(MyHashMap.Entry::getKey).distinct().count());
+        Map<Integer, Long> byValue = map.parallelStream()
+                .collect(Collectors.groupingByConcurrent(MyHashMap.Entry::getValue, Collectors.counting()));
+        assertEquals((Long) 20L, byValue.get(-1));
+        assertEquals((Long) 99L, byValue.get(0));
+    }
+
+    /**
+     * The compute family, getOrDefault, replace and replaceAll, on chains and on a tree bin.
+     */
+    @Test
+    public void computeFamily() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        assertEquals((Integer) 1, map.merge("a", 1, Integer::sum));
+        assertEquals((Integer) 2, map.merge("a", 1, Integer::sum));
+        assertEquals(null, map.merge("a", 1, (x, y) -> null));
+        assertEquals(false, map.containsKey("a"));
+        assertEquals((Integer) 5, map.computeIfAbsent("b", k -> 5));
+        assertEquals((Integer) 5, map.computeIfAbsent("b", k -> 6));
+        assertEquals(null, map.computeIfAbsent("c", k -> null));
+        assertEquals((Integer) 10, map.computeIfPresent("b", (k, v) -> v * 2));
+        assertEquals(null, map.computeIfPresent("c", (k, v) -> 1));
+        assertEquals((Integer) 3, map.compute("c", (k, v) -> v == null ? 3 : v + 1));
+        assertEquals((Integer) 4, map.compute("c", (k, v) -> v == null ? 3 : v + 1));
+        assertEquals(null, map.compute("c", (k, v) -> null));
+        assertEquals((Integer) 10, map.putIfAbsent("b", 0));
+        assertEquals(null, map.putIfAbsent("d", 0));
+        assertEquals((Integer) 7, map.getOrDefault("x", 7));
+        assertEquals((Integer) 0, map.replace("d", 1));
+        assertEquals(null, map.replace("x", 1));
+        assertEquals(true, map.replace("d", 1, 2));
+        assertEquals(false, map.replace("d", 1, 3));
+        map.replaceAll((k, v) -> v + 100);
+        assertEquals((Integer) 110, map.get("b"));
+        assertEquals((Integer) 102, map.get("d"));
+        assertEquals(2, map.size());
+
+        MyHashMap<CollidingKey, Integer> tree = new MyHashMap<>(64);
+        for (int i = 0; i < 50; i++) {
+            tree.merge(new CollidingKey(i % 25), 1, Integer::sum);
+        }
+        for (int i = 0; i < 25; i += 2) {
+            tree.computeIfPresent(new CollidingKey(i), (k, v) -> null);
+        }
+        assertEquals(12, tree.size());
+        assertEquals((Integer) 2, tree.get(new CollidingKey(1)));
+        assertEquals(null, tree.get(new CollidingKey(2)));
+    }
+
+    /**
+     * putAll overwrites keys that already exist, like put.
+     */
+    @Test
+    public void putAllOverwritesExistingKeys() {
+        MyHashMap<String, Integer> target = new MyHashMap<>();
+        target.put("24", 1);
+        target.put("x", 4378);
+        MyHashMap<String, Integer> source = new MyHashMap<>(4, 0.75f, true);
+        for (int i = 0; i < 100; i++) {
+            source.put(String.valueOf(i), i);
+        }
+        target.putAll(source);
+
+        assertEquals(101, target.size());
+        assertEquals((Integer) 24, target.get("24"));
+        assertEquals((Integer) 4378, target.get("x"));
+    }
+
+    /**
+     * The parallel bulk load gives the same map as put calls in input order, including duplicate keys and tree bins.
+     */
+    @Test
+    public void bulkLoadMatchesPutLoop() {
+        int n = 200000;
+        Object[] keys = new Object[n];
+        Integer[] values = new Integer[n];
+        MyHashMap<Object, Integer> expected = MyHashMap.withExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = i % 10 == 0 ? new CollidingKey(i % 1000) : (Object) (i % 150000);
+            values[i] = i;
+            expected.put(keys[i], values[i]);
+        }
+
+        MyHashMap<Object, Integer> loaded = MyHashMap.bulkLoad(keys, values);
+        assertEquals(expected.size(), loaded.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected.get(keys[i]), loaded.get(keys[i]));
+        }
+
+        MyHashMap<Object, Integer> streamed = MyHashMap.bulkLoad(expected.stream()
+                .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(), e.getValue())));
+        assertEquals(expected.size(), streamed.size());
+        assertEquals(expected.entrySet(), streamed.entrySet());
+    }
+
+    /**
+     * Comparable key whose hash code is the same for every instance.
+     */
+    static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    /**
+     * Non-comparable key whose hash code is the same for every instance.
+     */
+    static final class CollidingObject {
+        private final int id;
+
+        CollidingObject(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingObject && ((CollidingObject) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
 }
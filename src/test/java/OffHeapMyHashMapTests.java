@@ -0,0 +1,115 @@
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.OffHeapMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type off-heap hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class OffHeapMyHashMapTests {
+
+    /**
+     * Put, get, replace with a value of another length, and remove.
+     */
+    @Test
+    public void putGetAndRemove() {
+        try (OffHeapMyHashMap<String, String> map = new OffHeapMyHashMap<>(Codec.STRING, Codec.STRING)) {
+            map.put("24", "India");
+            map.put("34", "\u041a\u0438\u0442\u0430\u0439");
+
+            assertEquals("India", map.put("24", "Vietnam"));
+            assertEquals("Vietnam", map.get("24"));
+            assertEquals("\u041a\u0438\u0442\u0430\u0439", map.get("34"));
+            assertEquals(null, map.get("26"));
+            assertEquals("\u041a\u0438\u0442\u0430\u0439", map.remove("34"));
+            assertEquals(null, map.remove("34"));
+            assertEquals(1, map.size());
+            assertFalse(map.containsKey("34"));
+        }
+    }
+
+    /**
+     * Random operations give the same results as java.util.HashMap, across index resizes and chunk compactions.
+     */
+    @Test
+    public void matchesHashMap() {
+        HashMap<String, byte[]> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        try (OffHeapMyHashMap<String, byte[]> map = new OffHeapMyHashMap<>(Codec.STRING, Codec.BYTES)) {
+            for (int i = 0; i < 200000; i++) {
+                String key = "key-" + random.nextInt(5000);
+                int op = random.nextInt(3);
+                if (op == 0) {
+                    byte[] value = new byte[random.nextInt(300)];
+                    random.nextBytes(value);
+                    assertArrayOrNull(expected.put(key, value), map.put(key, value));
+                } else if (op == 1) {
+                    assertArrayOrNull(expected.remove(key), map.remove(key));
+                } else {
+                    assertArrayOrNull(expected.get(key), map.get(key));
+                }
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (Map.Entry<String, byte[]> e : expected.entrySet()) {
+                assertTrue(Arrays.equals(e.getValue(), map.get(e.getKey())));
+            }
+        }
+    }
+
+    /**
+     * Strings with unpaired surrogates keep distinct keys, round-trip exactly and occupy exactly size() bytes.
+     */
+    @Test
+    public void unpairedSurrogatesRoundTrip() {
+        String[] keys = {"x\uD800", "x\uD801", "x\uDC00", "\uDC00\uD800", "x\uD83D\uDE00", "x?", "\uD800"};
+        try (OffHeapMyHashMap<String, String> map = new OffHeapMyHashMap<>(Codec.STRING, Codec.STRING)) {
+            for (String key : keys) {
+                map.put(key, key + "!");
+            }
+            assertEquals(keys.length, map.size());
+            for (String key : keys) {
+                assertEquals(key + "!", map.get(key));
+            }
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            for (String key : keys) {
+                int size = Codec.STRING.size(key);
+                MemorySegment segment = arena.allocate(size + 1);
+                segment.set(ValueLayout.JAVA_BYTE, size, (byte) 0x5A);
+                Codec.STRING.write(key, segment, 0);
+                assertEquals((byte) 0x5A, segment.get(ValueLayout.JAVA_BYTE, size));
+                assertEquals(key, Codec.STRING.read(segment, 0, size));
+            }
+        }
+    }
+
+    /**
+     * The map cannot be used after close.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void closedMapThrows() {
+        OffHeapMyHashMap<Long, Long> map = new OffHeapMyHashMap<>(Codec.LONG, Codec.LONG);
+        map.put(1L, 2L);
+        map.close();
+        map.close();
+        map.get(1L);
+    }
+
+    private static void assertArrayOrNull(byte[] expected, byte[] actual) {
+        assertTrue(expected == null ? actual == null : Arrays.equals(expected, actual));
+    }
+}
@@ -0,0 +1,146 @@
+import com.zharnikova.example.PersistentMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The type persistent hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class PersistentMyHashMapTests {
+
+    /**
+     * Key whose hashCode is shared by every instance with the same group.
+     */
+    private static final class Collider {
+        final int id;
+
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id / 4;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+    }
+
+    /**
+     * Snapshots keep their contents while the writer keeps mutating; snapshots are read-only.
+     */
+    @Test
+    public void snapshotsAreIsolated() {
+        PersistentMyHashMap<Integer, String> map = new PersistentMyHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "v" + i);
+        }
+        PersistentMyHashMap<Integer, String> first = map.snapshot();
+        for (int i = 0; i < 500; i++) {
+            map.remove(i);
+        }
+        map.put(0, "new");
+        map.put(999, "changed");
+        PersistentMyHashMap<Integer, String> second = map.snapshot();
+        map.put(5000, "later");
+
+        assertEquals(1000, first.size());
+        assertEquals("v0", first.get(0));
+        assertEquals("v999", first.get(999));
+        assertEquals(501, second.size());
+        assertEquals("new", second.get(0));
+        assertNull(second.get(1));
+        assertEquals("changed", second.get(999));
+        assertFalse(second.containsKey(5000));
+        assertEquals(502, map.size());
+        assertTrue(first.isReadOnly());
+        try {
+            first.put(1, "x");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        PersistentMyHashMap<Integer, String> copy = first.mutableCopy();
+        copy.put(0, "copy");
+        assertEquals("v0", first.get(0));
+        assertEquals("copy", copy.get(0));
+    }
+
+    /**
+     * Random puts and removes with snapshots taken in between match HashMap, including keys with equal hash codes.
+     */
+    @Test
+    public void randomOperationsMatchHashMap() {
+        Random random = new Random(7);
+        PersistentMyHashMap<Collider, Integer> map = new PersistentMyHashMap<>();
+        Map<Collider, Integer> expected = new HashMap<>();
+        List<PersistentMyHashMap<Collider, Integer>> snapshots = new ArrayList<>();
+        List<Map<Collider, Integer>> expectedSnapshots = new ArrayList<>();
+        for (int step = 0; step < 100000; step++) {
+            Collider key = new Collider(random.nextInt(2000));
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                int value = random.nextInt();
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+            if (step % 10000 == 0) {
+                snapshots.add(map.snapshot());
+                expectedSnapshots.add(new HashMap<>(expected));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int i = 0; i < 2000; i++) {
+            Collider key = new Collider(i);
+            assertEquals(expected.get(key), map.get(key));
+        }
+        for (int s = 0; s < snapshots.size(); s++) {
+            Map<Collider, Integer> contents = new HashMap<>();
+            snapshots.get(s).forEach(contents::put);
+            assertEquals(expectedSnapshots.get(s), contents);
+            assertEquals(expectedSnapshots.get(s).size(), snapshots.get(s).size());
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            map.remove(new Collider(i));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * putIfAbsent, getOrDefault and null handling.
+     */
+    @Test
+    public void putIfAbsentAndNulls() {
+        PersistentMyHashMap<String, String> map = new PersistentMyHashMap<>();
+        assertNull(map.putIfAbsent("a", "1"));
+        assertEquals("1", map.putIfAbsent("a", "2"));
+        assertEquals("1", map.get("a"));
+        assertEquals("d", map.getOrDefault("b", "d"));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey(null));
+        assertNull(map.remove("missing"));
+        try {
+            map.put(null, "x");
+            fail();
+        } catch (RuntimeException expected) {
+        }
+        assertEquals(1, map.size());
+    }
+}
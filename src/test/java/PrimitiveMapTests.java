@@ -0,0 +1,125 @@
+import com.zharnikova.example.IntIntMap;
+import com.zharnikova.example.IntObjectMap;
+import com.zharnikova.example.LongLongMap;
+import com.zharnikova.example.LongObjectMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type primitive map tests.
+ */
+@RunWith(JUnit4.class)
+public class PrimitiveMapTests {
+
+    /**
+     * Key 0 is stored outside the arrays and behaves like any other key.
+     */
+    @Test
+    public void zeroKey() {
+        IntIntMap map = new IntIntMap();
+
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.getOrDefault(0, -1));
+        assertEquals(0, map.put(0, 5));
+        assertEquals(5, map.put(0, 6));
+        map.put(16, 1);
+        assertEquals(2, map.size());
+        assertEquals(6, map.get(0));
+        assertEquals(6, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.get(16));
+        assertEquals(1, map.size());
+    }
+
+    /**
+     * Random operations on IntIntMap give the same results as HashMap, and forEach visits every entry once.
+     */
+    @Test
+    public void intIntMapMatchesHashMap() {
+        IntIntMap map = new IntIntMap(2);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(5000) * 1024 - 1024;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(Objects.requireNonNullElse(expected.put(key, i), 0), (Integer) map.put(key, i));
+            } else if (op == 1) {
+                assertEquals(Objects.requireNonNullElse(expected.remove(key), 0), (Integer) map.remove(key));
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.getOrDefault(key, -1), (Integer) map.getOrDefault(key, -1));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        HashMap<Integer, Integer> actual = new HashMap<>();
+        map.forEach((key, value) -> assertEquals(null, actual.put(key, value)));
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Random operations on LongLongMap, including keys that differ only in the high half, give the same results as HashMap.
+     */
+    @Test
+    public void longLongMapMatchesHashMap() {
+        LongLongMap map = new LongLongMap();
+        HashMap<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200000; i++) {
+            long key = (long) random.nextInt(5000) << 32;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(Objects.requireNonNullElse(expected.put(key, (long) i), 0L), (Long) map.put(key, i));
+            } else if (op == 1) {
+                assertEquals(Objects.requireNonNullElse(expected.remove(key), 0L), (Long) map.remove(key));
+            } else {
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+                assertEquals(expected.getOrDefault(key, -1L), (Long) map.getOrDefault(key, -1L));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        HashMap<Long, Long> actual = new HashMap<>();
+        map.forEach((key, value) -> actual.put(key, value));
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Object-valued maps return null for missing keys, like MyHashMap.
+     */
+    @Test
+    public void objectValues() {
+        IntObjectMap<String> ints = new IntObjectMap<>();
+        LongObjectMap<String> longs = new LongObjectMap<>();
+        for (int i = 0; i < 1000; i++) {
+            ints.put(i, "v" + i);
+            longs.put(-i, "v" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals("v" + i, ints.remove(i));
+            assertEquals("v" + i, longs.remove(-i));
+        }
+
+        assertEquals(500, ints.size());
+        assertEquals(500, longs.size());
+        assertEquals(null, ints.get(0));
+        assertEquals("v1", ints.get(1));
+        assertEquals(null, longs.get(-2));
+        assertEquals("v999", longs.get(-999));
+        assertTrue(longs.containsKey(-1));
+
+        Set<String> values = new HashSet<>();
+        ints.forEach((key, value) -> values.add(value));
+        assertEquals(500, values.size());
+    }
+}
@@ -0,0 +1,86 @@
+import com.zharnikova.example.RobinHoodMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Robin Hood hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class RobinHoodMyHashMapTests {
+
+    /**
+     * Put, get, replace and remove.
+     */
+    @Test
+    public void putGetAndRemove() {
+        RobinHoodMyHashMap<String, Integer> map = new RobinHoodMyHashMap<>();
+        map.put("24", 4309);
+        map.put("34", 450);
+
+        assertEquals((Integer) 4309, map.put("24", 75894));
+        assertEquals((Integer) 75894, map.get("24"));
+        assertEquals(null, map.get("26"));
+        assertEquals((Integer) 450, map.remove("34"));
+        assertEquals(null, map.remove("34"));
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey("34"));
+    }
+
+    /**
+     * Random operations give the same results as java.util.HashMap, including keys with colliding hashes.
+     */
+    @Test
+    public void matchesHashMap() {
+        RobinHoodMyHashMap<Integer, Integer> map = new RobinHoodMyHashMap<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200000; i++) {
+            Integer key = random.nextInt(5000) * 1024;
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else if (op == 1) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keySet());
+        assertEquals(expected.entrySet(), map.entrySet());
+        List<Integer> values = new ArrayList<>(map.values());
+        List<Integer> expectedValues = new ArrayList<>(expected.values());
+        Collections.sort(values);
+        Collections.sort(expectedValues);
+        assertEquals(expectedValues, values);
+    }
+
+    /**
+     * Views reflect later changes and iterators are fail-fast.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void viewsAreLiveAndFailFast() {
+        RobinHoodMyHashMap<String, Integer> map = new RobinHoodMyHashMap<>();
+        Set<String> keys = map.keySet();
+        map.put("a", 1);
+        map.put("b", 1);
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains("b"));
+        assertEquals(2, map.values().size());
+
+        Iterator<String> iterator = keys.iterator();
+        iterator.next();
+        map.put("c", 1);
+        iterator.next();
+    }
+}
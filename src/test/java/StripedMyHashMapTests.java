@@ -0,0 +1,144 @@
+import com.zharnikova.example.StripedMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type striped hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class StripedMyHashMapTests {
+
+    private static final int THREADS = 8;
+
+    /**
+     * Put, get, remove and the atomic operations on one thread, across several segments.
+     */
+    @Test
+    public void singleThread() {
+        StripedMyHashMap<String, Integer> map = new StripedMyHashMap<>(64, 0.75f, 4);
+        map.put("24", 4309);
+        map.put("34", 450);
+
+        assertEquals(4, map.segmentCount());
+        assertEquals((Integer) 4309, map.put("24", 75894));
+        assertEquals((Integer) 75894, map.putIfAbsent("24", 1));
+        assertEquals(null, map.putIfAbsent("44", 1));
+        assertEquals((Integer) 1, map.computeIfAbsent("44", k -> 2));
+        assertEquals((Integer) 5, map.computeIfAbsent("54", k -> 5));
+        assertEquals((Integer) 7, map.merge("54", 2, Integer::sum));
+        assertEquals(null, map.merge("54", 2, (a, b) -> null));
+        assertEquals((Integer) 450, map.remove("34"));
+        assertEquals(null, map.remove("34"));
+        assertFalse(map.containsKey("34"));
+        assertEquals(new HashSet<>(Arrays.asList("24", "44")), map.keySet());
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Concurrent merge counters lose no increments while every segment grows.
+     */
+    @Test
+    public void concurrentCounters() throws Exception {
+        StripedMyHashMap<Integer, Integer> counters = new StripedMyHashMap<>();
+        int keys = 20000;
+        runConcurrently(t -> {
+            for (int key = 0; key < keys; key++) {
+                counters.merge(key, 1, Integer::sum);
+            }
+        });
+
+        for (int key = 0; key < keys; key++) {
+            assertEquals((Integer) THREADS, counters.get(key));
+        }
+        assertEquals(keys, counters.size());
+    }
+
+    /**
+     * Optimistic readers always see inserted keys, even in tree bins and while writers resize the segment.
+     */
+    @Test
+    public void readersDuringWrites() throws Exception {
+        StripedMyHashMap<Collider, Integer> map = new StripedMyHashMap<>(2, 0.75f, 2);
+        int stable = 1000;
+        for (int i = 0; i < stable; i++) {
+            map.put(new Collider(i), i);
+        }
+        AtomicBoolean wrong = new AtomicBoolean();
+        runConcurrently(t -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < stable; i++) {
+                    if (t % 2 == 0) {
+                        map.put(new Collider(stable + t * stable + i), i);
+                        map.remove(new Collider(stable + t * stable + i));
+                    } else if (!((Integer) i).equals(map.get(new Collider(i))) || !map.containsKey(new Collider(i))) {
+                        wrong.set(true);
+                    }
+                }
+            }
+        });
+
+        assertFalse(wrong.get());
+        assertEquals(stable, map.size());
+        assertTrue(map.containsKey(new Collider(stable - 1)));
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    task.run(id);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+
+    /**
+     * Comparable key whose hash codes collide in groups of sixteen, so segments build tree bins.
+     */
+    private static final class Collider implements Comparable<Collider> {
+        private final int id;
+
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id / 16;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+
+        @Override
+        public int compareTo(Collider o) {
+            return Integer.compare(id, o.id);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+import com.zharnikova.example.SwissMyHashMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The type Swiss table hash map tests.
+ */
+@RunWith(JUnit4.class)
+public class SwissMyHashMapTests {
+
+    /**
+     * Removing from a full group leaves a tombstone (DELETED), and the next insert probing that group reuses it
+     * instead of taking a fresh slot further along the probe sequence.
+     */
+    @Test
+    public void tombstonesAreReused() throws ReflectiveOperationException {
+        SwissMyHashMap<Object, Integer> map = new SwissMyHashMap<>(64);
+        for (int i = 0; i <= 16; i++) {
+            map.put(new CollidingObject(i), i);
+        }
+        assertEquals(0, intField(map, "tombstones"));
+
+        assertEquals((Integer) 0, map.remove(new CollidingObject(0)));
+        assertEquals(1, intField(map, "tombstones"));
+        assertEquals((Integer) 16, map.get(new CollidingObject(16)));
+
+        map.put(new CollidingObject(100), 100);
+        assertEquals(0, intField(map, "tombstones"));
+        assertEquals(17, map.size());
+        assertEquals(64, ctrlLength(map));
+        assertEquals((Integer) 100, map.get(new CollidingObject(100)));
+        assertEquals((Integer) 16, map.get(new CollidingObject(16)));
+    }
+
+    /**
+     * When live entries are below threshold / 2, reaching the threshold with tombstones rebuilds the table in place
+     * (same capacity, no tombstones); otherwise the table doubles.
+     */
+    @Test
+    public void rehashInPlaceOrGrow() throws ReflectiveOperationException {
+        SwissMyHashMap<Object, Integer> map = new SwissMyHashMap<>(64);
+        for (int i = 0; i < 56; i++) {
+            map.put(new CollidingObject(i), i);
+        }
+        for (int i = 0; i < 40; i++) {
+            map.remove(new CollidingObject(i));
+        }
+        assertEquals(16, map.size());
+        assertEquals(40, intField(map, "tombstones"));
+
+        map.put("fresh", -1);
+        assertEquals(64, ctrlLength(map));
+        assertEquals(0, intField(map, "tombstones"));
+        assertEquals(17, map.size());
+        for (int i = 0; i < 56; i++) {
+            assertEquals(i < 40 ? null : (Integer) i, map.get(new CollidingObject(i)));
+        }
+        assertEquals((Integer) (-1), map.get("fresh"));
+
+        SwissMyHashMap<Integer, Integer> growing = new SwissMyHashMap<>(64);
+        for (int i = 0; i < 56; i++) {
+            growing.put(i, i);
+        }
+        assertEquals(64, ctrlLength(growing));
+        growing.put(56, 56);
+        assertEquals(128, ctrlLength(growing));
+        for (int i = 0; i <= 56; i++) {
+            assertEquals((Integer) i, growing.get(i));
+        }
+    }
+
+    /**
+     * The scalar SWAR matcher, used when jdk.incubator.vector is absent, agrees with a byte-by-byte scan for every
+     * h2 value and for groups mixing EMPTY, DELETED and full slots, and with the vector matcher when that is available.
+     */
+    @Test
+    public void scalarGroupMatcherAgreesWithBytewiseScan() throws ReflectiveOperationException {
+        Object scalar = newMatcher("com.zharnikova.example.ScalarGroupMatcher");
+        Object vector = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                ? newMatcher("com.zharnikova.example.VectorGroupMatcher") : null;
+        Class<?> matcherType = Class.forName("com.zharnikova.example.GroupMatcher");
+        Method match = matcherType.getDeclaredMethod("match", byte[].class, int.class, byte.class);
+        Method matchEmpty = matcherType.getDeclaredMethod("matchEmpty", byte[].class, int.class);
+        Method matchEmptyOrDeleted = matcherType.getDeclaredMethod("matchEmptyOrDeleted", byte[].class, int.class);
+        match.setAccessible(true);
+        matchEmpty.setAccessible(true);
+        matchEmptyOrDeleted.setAccessible(true);
+
+        Random random = new Random(5);
+        byte[] special = {EMPTY, DELETED, 0, 1, 0x7F, (byte) 0xFF, (byte) 0x81};
+        byte[] ctrl = new byte[48];
+        for (int round = 0; round < 2000; round++) {
+            for (int i = 0; i < ctrl.length; i++) {
+                int kind = random.nextInt(4);
+                ctrl[i] = kind == 0 ? EMPTY : kind == 1 ? DELETED : kind == 2 ? special[random.nextInt(special.length)] : (byte) random.nextInt(128);
+            }
+            int base = random.nextInt(ctrl.length - 15);
+            for (int h2 = 0; h2 < 128; h2 += round % 2 == 0 ? 1 : 17) {
+                long expected = 0;
+                for (int i = 0; i < 16; i++) {
+                    expected |= ctrl[base + i] == (byte) h2 ? 1L << i : 0;
+                }
+                assertEquals(expected, (long) match.invoke(scalar, ctrl, base, (byte) h2));
+                if (vector != null) {
+                    assertEquals(expected, (long) match.invoke(vector, ctrl, base, (byte) h2));
+                }
+            }
+            long empty = 0;
+            long emptyOrDeleted = 0;
+            for (int i = 0; i < 16; i++) {
+                empty |= ctrl[base + i] == EMPTY ? 1L << i : 0;
+                emptyOrDeleted |= ctrl[base + i] < 0 ? 1L << i : 0;
+            }
+            assertEquals(empty, (long) matchEmpty.invoke(scalar, ctrl, base));
+            assertEquals(emptyOrDeleted, (long) matchEmptyOrDeleted.invoke(scalar, ctrl, base));
+            if (vector != null) {
+                assertEquals(empty, (long) matchEmpty.invoke(vector, ctrl, base));
+                assertEquals(emptyOrDeleted, (long) matchEmptyOrDeleted.invoke(vector, ctrl, base));
+            }
+        }
+    }
+
+    /**
+     * Keys with one hash code fill several groups and stay reachable after removals in front of them.
+     */
+    @Test
+    public void collidingKeysSpanGroups() {
+        SwissMyHashMap<Object, Integer> map = new SwissMyHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(new CollidingObject(i), i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals((Integer) i, map.remove(new CollidingObject(i)));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : (Integer) i, map.get(new CollidingObject(i)));
+        }
+        assertEquals(50, map.size());
+        assertTrue(map.keySet().contains(new CollidingObject(99)));
+    }
+
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+
+    private static int intField(Object map, String name) throws ReflectiveOperationException {
+        Field field = SwissMyHashMap.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.getInt(map);
+    }
+
+    private static int ctrlLength(Object map) throws ReflectiveOperationException {
+        Field field = SwissMyHashMap.class.getDeclaredField("ctrl");
+        field.setAccessible(true);
+        return ((byte[]) field.get(map)).length;
+    }
+
+    private static Object newMatcher(String className) throws ReflectiveOperationException {
+        Constructor<?> constructor = Class.forName(className).getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    /**
+     * Non-comparable key whose hash code is the same for every instance.
+     */
+    static final class CollidingObject {
+        private final int id;
+
+        CollidingObject(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingObject && ((CollidingObject) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Miss-heavy lookups (deny lists, dedup filters): a share of containsKey() calls asks for keys that are not in the map.
+ * Without the filter every miss hashes, loads the bucket head and walks the chain; with enableBloomFilter() most misses
+ * are answered from one 64-byte block of counters. The filter costs extra work on hits, so the hit share is a parameter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BloomFilterBenchmark {
+
+    /**
+     * Number of entries.
+     */
+    @Param({"10000", "1000000"})
+    public int size;
+
+    /**
+     * Share of lookups for keys that are present.
+     */
+    @Param({"0.1", "0.9"})
+    public double hitRate;
+
+    /**
+     * Target false-positive rate of the filter, or 0 for no filter.
+     */
+    @Param({"0", "0.01"})
+    public double falsePositiveRate;
+
+    private static final int PROBES = 1 << 20;
+
+    private String[] probes;
+    private MyHashMap<String, Boolean> map;
+    private int index;
+
+    /**
+     * Fills the map with "user:" keys and builds a shuffled probe sequence with the requested hit share.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = MyHashMap.withExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            map.put("user:" + i, Boolean.TRUE);
+        }
+        if (falsePositiveRate > 0) {
+            map.enableBloomFilter(falsePositiveRate);
+        }
+        probes = new String[PROBES];
+        Random random = new Random(42);
+        for (int i = 0; i < PROBES; i++) {
+            int id = random.nextInt(size);
+            probes[i] = random.nextDouble() < hitRate ? "user:" + id : "user:" + (size + id);
+        }
+    }
+
+    /**
+     * Prints the filter statistics of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (map.bloomFilterStats() != null) {
+            System.out.println(map.bloomFilterStats());
+        }
+    }
+
+    /**
+     * One containsKey() call.
+     *
+     * @return whether the key is present
+     */
+    @Benchmark
+    public boolean containsKey() {
+        int i = index;
+        index = (i + 1) & (PROBES - 1);
+        return map.containsKey(probes[i]);
+    }
+}
@@ -0,0 +1,100 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.BoundedMyHashMap;
+import com.zharnikova.example.BoundedMyHashMap.EvictionPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache workload on BoundedMyHashMap: a skewed (Zipf-like) key stream interleaved with one-off scan keys.
+ * Each invocation replays the whole trace into a fresh cache; the hit rate is printed at the end of each trial,
+ * so the run compares both throughput and hit rate of LRU and W-TinyLFU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BoundedCacheBenchmark {
+
+    /**
+     * Eviction policy.
+     */
+    @Param({"LRU", "TINY_LFU"})
+    public EvictionPolicy policy;
+
+    /**
+     * Share of the trace that is one-off scan keys, in percent.
+     */
+    @Param({"0", "30"})
+    public int scanPercent;
+
+    /**
+     * Cache capacity in entries.
+     */
+    @Param({"10000"})
+    public int maximumSize;
+
+    private Integer[] trace;
+
+    /**
+     * Hit rate of the last replayed trace, printed at the end of the trial.
+     */
+    private double hitRate;
+
+    /**
+     * Builds a 1M-request trace over 100k popular keys with a 1/rank distribution, plus unique scan keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int keys = 100000;
+        double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int rank = 0; rank < keys; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        Random random = new Random(42);
+        trace = new Integer[1000000];
+        int scanKey = keys;
+        for (int i = 0; i < trace.length; i++) {
+            if (random.nextInt(100) < scanPercent) {
+                trace[i] = scanKey++;
+            } else {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                trace[i] = rank < 0 ? -rank - 1 : rank;
+            }
+        }
+    }
+
+    /**
+     * Replays the trace: get, and put on a miss.
+     *
+     * @param blackhole sink for read values
+     */
+    @Benchmark
+    public void replay(Blackhole blackhole) {
+        BoundedMyHashMap<Integer, Integer> cache = new BoundedMyHashMap<>(maximumSize, policy);
+        for (Integer key : trace) {
+            Integer value = cache.get(key);
+            if (value == null) {
+                cache.put(key, key);
+            }
+            blackhole.consume(value);
+        }
+        hitRate = cache.hitRate();
+    }
+
+    /**
+     * Prints the hit rate of the last replay.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s, scan %d%%: hit rate %.3f%n", policy, scanPercent, hitRate);
+    }
+}
@@ -0,0 +1,79 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a MyHashMap from arrays: a put loop into a default map, a put loop into a map from withExpectedSize, and bulkLoad.
+ * bulkLoad partitions the buckets across the common ForkJoinPool, so its advantage grows with the number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkLoadBenchmark {
+
+    /**
+     * Number of entries to load.
+     */
+    @Param({"5000000"})
+    public int size;
+
+    private Integer[] keys;
+    private Integer[] values;
+
+    /**
+     * Boxes the input once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Integer[size];
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i * 31;
+            values[i] = i;
+        }
+    }
+
+    /**
+     * put loop with resizes along the way.
+     *
+     * @return the map
+     */
+    @Benchmark
+    public MyHashMap<Integer, Integer> putLoop() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * put loop into a pre-sized table.
+     *
+     * @return the map
+     */
+    @Benchmark
+    public MyHashMap<Integer, Integer> presizedPutLoop() {
+        MyHashMap<Integer, Integer> map = MyHashMap.withExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * Parallel bucket-partitioned load.
+     *
+     * @return the map
+     */
+    @Benchmark
+    public MyHashMap<Integer, Integer> bulkLoad() {
+        return MyHashMap.bulkLoad(keys, values);
+    }
+}
@@ -0,0 +1,97 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.ConcurrentMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed read/write throughput of one shared map: ConcurrentMyHashMap, MyHashMap behind a single lock and ConcurrentHashMap.
+ * Run once per thread count to get the scaling curve, e.g. {@code -t 1}, {@code -t 2}, {@code -t 4}, {@code -t 8}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrentMyHashMapBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"concurrent", "synchronized", "jdk"})
+    public String impl;
+
+    /**
+     * Share of operations that are reads, in percent; the rest are puts.
+     */
+    @Param({"100", "90", "50"})
+    public int readPercent;
+
+    /**
+     * Key range; the map is pre-filled with every key in it.
+     */
+    @Param({"100000"})
+    public int size;
+
+    private ConcurrentMyHashMap<Integer, Integer> concurrent;
+    private MyHashMap<Integer, Integer> locked;
+    private ConcurrentHashMap<Integer, Integer> jdk;
+    private Integer[] keys;
+
+    /**
+     * Pre-fills the shared map so that puts overwrite and reads hit.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+        }
+        switch (impl) {
+            case "concurrent":
+                concurrent = new ConcurrentMyHashMap<>();
+                for (Integer key : keys) {
+                    concurrent.put(key, key);
+                }
+                break;
+            case "synchronized":
+                locked = new MyHashMap<>();
+                for (Integer key : keys) {
+                    locked.put(key, key);
+                }
+                break;
+            default:
+                jdk = new ConcurrentHashMap<>();
+                for (Integer key : keys) {
+                    jdk.put(key, key);
+                }
+        }
+    }
+
+    /**
+     * One read or one put on a random key, chosen by readPercent.
+     *
+     * @return the value read or replaced
+     */
+    @Benchmark
+    public Integer readWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(size)];
+        boolean read = random.nextInt(100) < readPercent;
+        switch (impl) {
+            case "concurrent":
+                return read ? concurrent.get(key) : concurrent.put(key, key);
+            case "synchronized":
+                synchronized (locked) {
+                    return read ? locked.get(key) : locked.put(key, key);
+                }
+            default:
+                return read ? jdk.get(key) : jdk.put(key, key);
+        }
+    }
+}
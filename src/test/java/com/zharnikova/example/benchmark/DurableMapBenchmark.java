@@ -0,0 +1,95 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.DurableMyHashMap;
+import com.zharnikova.example.DurableMyHashMap.SyncPolicy;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Ingestion into DurableMyHashMap compared with the in-memory MyHashMap it wraps: every put() is also encoded into the
+ * write-ahead log buffer, written in blocks and checkpointed once the log exceeds its threshold. "memory" is the plain map;
+ * the other modes are the sync policies. ALWAYS from a single thread pays one force() per put and is shown for scale.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DurableMapBenchmark {
+
+    /**
+     * Map implementation: "memory", or the sync policy of the durable map.
+     */
+    @Param({"memory", "OS", "INTERVAL", "ALWAYS"})
+    public String mode;
+
+    private static final int KEYS = 1 << 20;
+
+    private Long[] keys;
+    private MyHashMap<Long, Long> memory;
+    private DurableMyHashMap<Long, Long> durable;
+    private Path directory;
+    private int index;
+
+    /**
+     * Prepares the boxed keys once so that boxing is not measured.
+     */
+    @Setup(Level.Trial)
+    public void setUpKeys() {
+        keys = new Long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = (long) i * 0x9E3779B9L;
+        }
+    }
+
+    /**
+     * Opens an empty map in a fresh directory for every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        index = 0;
+        if (mode.equals("memory")) {
+            memory = new MyHashMap<>();
+        } else {
+            directory = Files.createTempDirectory("durable-benchmark");
+            durable = new DurableMyHashMap<>(directory, Codec.LONG, Codec.LONG, SyncPolicy.valueOf(mode),
+                    DurableMyHashMap.DEFAULT_SYNC_INTERVAL_MILLIS, DurableMyHashMap.DEFAULT_CHECKPOINT_BYTES);
+        }
+    }
+
+    /**
+     * Closes the durable map and deletes its files.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (durable != null) {
+            durable.close();
+            durable = null;
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * One put() of a new or existing key.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public Long put() {
+        Long key = keys[index++ & (KEYS - 1)];
+        return durable == null ? memory.put(key, key) : durable.put(key, key);
+    }
+}
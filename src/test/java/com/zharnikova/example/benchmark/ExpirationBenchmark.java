@@ -0,0 +1,100 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.ExpiringMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of expiring sessions: a sweeper that scans a copy of MyHashMap.keySet() every tick
+ * versus ExpiringMyHashMap, whose timing wheel only touches entries whose bucket has come due.
+ * Each invocation runs a one-minute simulated workload: every 100 ms one slice of the sessions is rewritten
+ * with a fresh 10 to 60 second ttl, the clock moves forward and expired sessions are cleaned up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExpirationBenchmark {
+
+    /**
+     * Number of live sessions.
+     */
+    @Param({"100000"})
+    public int size;
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int TICKS = 600;
+
+    private Integer[] keys;
+    private long[] ttls;
+
+    /**
+     * Prepares keys and per-key ttls.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keys = new Integer[size];
+        ttls = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+            ttls[i] = TimeUnit.SECONDS.toNanos(10 + random.nextInt(50));
+        }
+    }
+
+    /**
+     * MyHashMap with expiration times in a side map, swept by copying keySet() and removing stale keys each tick.
+     *
+     * @return remaining entries
+     */
+    @Benchmark
+    public int sweeper() {
+        MyHashMap<Integer, Integer> map = new MyHashMap<>();
+        MyHashMap<Integer, Long> expiresAt = new MyHashMap<>();
+        long now = 0;
+        int slice = size / TICKS;
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int i = tick * slice; i < (tick + 1) * slice; i++) {
+                map.put(keys[i], i);
+                expiresAt.put(keys[i], now + ttls[i]);
+            }
+            now += TICK;
+            List<Integer> snapshot = new ArrayList<>(map.keySet());
+            for (Integer key : snapshot) {
+                if (expiresAt.get(key) - now <= 0) {
+                    map.remove(key);
+                    expiresAt.remove(key);
+                }
+            }
+        }
+        return map.size();
+    }
+
+    /**
+     * ExpiringMyHashMap driven by a manual clock, cleaned up each tick.
+     *
+     * @return remaining entries
+     */
+    @Benchmark
+    public int timingWheel() {
+        long[] now = {0};
+        ExpiringMyHashMap<Integer, Integer> map = new ExpiringMyHashMap<>(() -> now[0]);
+        int slice = size / TICKS;
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (int i = tick * slice; i < (tick + 1) * slice; i++) {
+                map.put(keys[i], i, Duration.ofNanos(ttls[i]));
+            }
+            now[0] += TICK;
+            map.cleanUp();
+        }
+        return map.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.FrozenMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a MyHashMap versus the FrozenMyHashMap produced by freeze(), on hit-heavy and miss-heavy key streams.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FrozenMapBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"chained", "frozen"})
+    public String impl;
+
+    /**
+     * Share of lookups that find their key, in percent.
+     */
+    @Param({"90", "10"})
+    public int hitPercent;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> chained;
+    private FrozenMyHashMap<Integer, Integer> frozen;
+    private Integer[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the map with even keys and freezes it; odd lookup keys miss.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        chained = MyHashMap.withExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            chained.put(i * 2, i);
+        }
+        frozen = chained.freeze();
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keys = new Integer[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            int key = random.nextInt(size) * 2;
+            keys[i] = random.nextInt(100) < hitPercent ? key : key + 1;
+        }
+    }
+
+    /**
+     * Lookup with the configured hit ratio.
+     *
+     * @return the value or null
+     */
+    @Benchmark
+    public Integer get() {
+        Integer key = keys[cursor++ & mask];
+        return "chained".equals(impl) ? chained.get(key) : frozen.get(key);
+    }
+}
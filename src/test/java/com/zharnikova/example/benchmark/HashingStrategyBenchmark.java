@@ -0,0 +1,90 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.HashingStrategy;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups by raw byte[] key material, as a network or storage layer would do them.
+ * Without a strategy every lookup has to wrap the bytes (ByteBuffer here) to get content equality;
+ * with HashingStrategy.byteArray() or wyhash() the array itself is the key and nothing is allocated.
+ * Run with -prof gc to see the allocation rate of the wrapper variant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class HashingStrategyBenchmark {
+
+    /**
+     * Number of entries.
+     */
+    @Param({"100000"})
+    public int size;
+
+    private byte[][] probes;
+    private MyHashMap<ByteBuffer, Integer> wrapped;
+    private MyHashMap<byte[], Integer> content;
+    private MyHashMap<byte[], Integer> seeded;
+    private int index;
+
+    /**
+     * Fills the maps; probes are separate copies of the key bytes, as if freshly read from a buffer.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        probes = new byte[size][];
+        wrapped = new MyHashMap<>();
+        content = new MyHashMap<>(HashingStrategy.byteArray());
+        seeded = new MyHashMap<>(HashingStrategy.wyhash(0x9E3779B97F4A7C15L));
+        for (int i = 0; i < size; i++) {
+            byte[] key = ("session:" + i + ":user").getBytes(StandardCharsets.UTF_8);
+            wrapped.put(ByteBuffer.wrap(key), i);
+            content.put(key, i);
+            seeded.put(key, i);
+            probes[i] = key.clone();
+        }
+    }
+
+    private byte[] next() {
+        int i = index;
+        index = i + 1 == size ? 0 : i + 1;
+        return probes[i];
+    }
+
+    /**
+     * Lookup through a ByteBuffer wrapper allocated per call.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer wrapper() {
+        return wrapped.get(ByteBuffer.wrap(next()));
+    }
+
+    /**
+     * Lookup with HashingStrategy.byteArray().
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer byteArrayStrategy() {
+        return content.get(next());
+    }
+
+    /**
+     * Lookup with the seeded wyhash strategy.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer wyhashStrategy() {
+        return seeded.get(next());
+    }
+}
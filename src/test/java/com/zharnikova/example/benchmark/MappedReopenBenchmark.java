@@ -0,0 +1,84 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.MappedMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm-up cost: reopening a MappedMyHashMap file and reading one key, vs loading the same entries into a MyHashMap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MappedReopenBenchmark {
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private Path file;
+
+    /**
+     * Writes the map file once.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mapped", ".bin");
+        Files.delete(file);
+        try (MappedMyHashMap<Long, String> map = new MappedMyHashMap<>(file, Codec.LONG, Codec.STRING)) {
+            for (long i = 0; i < size; i++) {
+                map.put(i, "value-" + i);
+            }
+        }
+    }
+
+    /**
+     * Deletes the map file.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Opens the file and reads one key.
+     *
+     * @return the value
+     * @throws IOException if the file cannot be opened
+     */
+    @Benchmark
+    public String reopen() throws IOException {
+        try (MappedMyHashMap<Long, String> map = new MappedMyHashMap<>(file, Codec.LONG, Codec.STRING)) {
+            return map.get(size / 2L);
+        }
+    }
+
+    /**
+     * Builds the same table on the heap and reads one key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public String rebuild() {
+        MyHashMap<Long, String> map = new MyHashMap<>();
+        for (long i = 0; i < size; i++) {
+            map.put(i, "value-" + i);
+        }
+        return map.get(size / 2L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in a map where every key has the same hash code.
+ * With tree bins the cost of get should grow logarithmically with the number of keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyHashMapCollisionBenchmark {
+
+    /**
+     * Number of colliding keys.
+     */
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private MyHashMap<CollidingKey, Integer> map;
+    private CollidingKey[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the map and prepares a shuffled array of existing keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        int lookups = Integer.highestOneBit(size);
+        mask = lookups - 1;
+        keys = new CollidingKey[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = new CollidingKey(random.nextInt(size));
+        }
+    }
+
+    /**
+     * Lookup of an existing key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer get() {
+        return map.get(keys[cursor++ & mask]);
+    }
+
+    /**
+     * Comparable key with a constant hash code.
+     */
+    public static final class CollidingKey implements Comparable<CollidingKey> {
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(CollidingKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0x5bd1e995;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counter updates on MyHashMap: get followed by put (two hashes, two chain walks) versus merge (one of each).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MyHashMapCounterBenchmark {
+
+    /**
+     * Number of distinct counters.
+     */
+    @Param({"1000", "1000000"})
+    public int keys;
+
+    private MyHashMap<String, Integer> map;
+    private String[] keyObjects;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Creates the keys; Strings cache their hash code, so the saving is the chain walk and the hash spreading.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new MyHashMap<>();
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keyObjects = new String[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keyObjects[i] = "counter-" + random.nextInt(keys);
+        }
+    }
+
+    /**
+     * Increment with get and put.
+     *
+     * @return the new count
+     */
+    @Benchmark
+    public Integer getPut() {
+        String key = keyObjects[cursor++ & mask];
+        Integer old = map.get(key);
+        Integer value = old == null ? 1 : old + 1;
+        map.put(key, value);
+        return value;
+    }
+
+    /**
+     * Increment with merge.
+     *
+     * @return the new count
+     */
+    @Benchmark
+    public Integer merge() {
+        return map.merge(keyObjects[cursor++ & mask], 1, Integer::sum);
+    }
+}
@@ -0,0 +1,113 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full iteration over the live keySet/values/entrySet views versus forEach, and sequential versus parallel stream scans.
+ * Run with {@code -prof gc}: the views should allocate only the iterator, independent of the map size.
+ * The parallel scan splits the table by bucket ranges and runs on the common ForkJoinPool; it only scales with several cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MyHashMapIterationBenchmark {
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> map;
+
+    /**
+     * Fills the map once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+    }
+
+    /**
+     * Sums the keys through keySet().
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long keySet() {
+        long sum = 0;
+        for (Integer key : map.keySet()) {
+            sum += key;
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the values through values().
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long values() {
+        long sum = 0;
+        for (Integer value : map.values()) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Sums keys and values through entrySet().
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long entrySet() {
+        long sum = 0;
+        for (MyHashMap.Entry<Integer, Integer> entry : map.entrySet()) {
+            sum += entry.getKey() + entry.getValue();
+        }
+        return sum;
+    }
+
+    /**
+     * Sums the keys through forEach, for reference.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long forEach() {
+        long[] sum = new long[1];
+        map.forEach((key, value) -> sum[0] += key);
+        return sum[0];
+    }
+
+    /**
+     * Sums the values with a sequential stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long sequentialStream() {
+        return map.values().stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Sums the values with a parallel stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long parallelStream() {
+        return map.values().parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
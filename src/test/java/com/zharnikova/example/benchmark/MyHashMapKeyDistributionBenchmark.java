@@ -0,0 +1,102 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of MyHashMap for differently distributed keys, with java.util.HashMap as a reference.
+ * "multipleOf1024" keys only differ in their high bits and show how well the bucket index uses them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyHashMapKeyDistributionBenchmark {
+
+    /**
+     * Shape of the keys.
+     */
+    @Param({"integer", "string", "multipleOf1024"})
+    public String keyType;
+
+    /**
+     * Map implementation.
+     */
+    @Param({"MyHashMap", "HashMap"})
+    public String impl;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"100000"})
+    public int size;
+
+    private MyHashMap<Object, Object> myHashMap;
+    private HashMap<Object, Object> hashMap;
+    private Object[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the map and prepares a shuffled array of existing keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Object[] all = new Object[size];
+        for (int i = 0; i < size; i++) {
+            all[i] = key(i);
+        }
+        myHashMap = new MyHashMap<>();
+        hashMap = new HashMap<>();
+        for (Object key : all) {
+            myHashMap.put(key, key);
+            hashMap.put(key, key);
+        }
+        int lookups = Integer.highestOneBit(size);
+        mask = lookups - 1;
+        keys = new Object[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = all[random.nextInt(size)];
+        }
+    }
+
+    private Object key(int i) {
+        switch (keyType) {
+            case "string":
+                return "key-" + i;
+            case "multipleOf1024":
+                return i * 1024;
+            default:
+                return i;
+        }
+    }
+
+    /**
+     * Lookup of an existing key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Object get() {
+        Object key = keys[cursor++ & mask];
+        return "MyHashMap".equals(impl) ? myHashMap.get(key) : hashMap.get(key);
+    }
+
+    /**
+     * Replacement of the value of an existing key.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public Object put() {
+        Object key = keys[cursor++ & mask];
+        return "MyHashMap".equals(impl) ? myHashMap.put(key, key) : hashMap.put(key, key);
+    }
+}
@@ -0,0 +1,275 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regression suite for every basic MyHashMap operation, run side by side with java.util.HashMap.
+ * Each trial builds one map for a (impl, keyType, size, loadFactor) point; point operations pick keys from a
+ * pre-shuffled array so that large maps are probed at random, and iteration walks the whole map.
+ * The benchmark profile runs with the GC profiler and writes JSON results to target/jmh-result.json, e.g.
+ * {@code mvn -P benchmark test-compile exec:exec -Djmh.args="MyHashMapOperations -p size=1024,1048576"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MyHashMapOperationsBenchmark {
+
+    /**
+     * Map implementation: MyHashMap or java.util.HashMap as the baseline.
+     */
+    @Param({"my", "jdk"})
+    public String impl;
+
+    /**
+     * Key type: boxed Integer, String, a composite record, or keys whose hash codes collide in groups of eight.
+     */
+    @Param({"integer", "string", "record", "colliding"})
+    public String keyType;
+
+    /**
+     * Number of entries.
+     */
+    @Param({"16", "1024", "65536", "1048576", "10000000"})
+    public int size;
+
+    /**
+     * Load factor of both implementations.
+     */
+    @Param({"0.5", "0.75", "1.0"})
+    public float loadFactor;
+
+    private static final int PROBES = 1 << 16;
+
+    private MyHashMap<Object, Integer> my;
+    private HashMap<Object, Integer> jdk;
+    private Object[] hits;
+    private Object[] misses;
+    private int cursor;
+
+    /**
+     * Composite key of two fields, as produced by typical entity lookups.
+     *
+     * @param tenant tenant number
+     * @param id     identifier within the tenant
+     */
+    public record CompositeKey(int tenant, long id) {
+    }
+
+    /**
+     * Comparable key whose hash code is shared by eight consecutive ids.
+     */
+    public static final class GroupKey implements Comparable<GroupKey> {
+        private final int id;
+
+        GroupKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(GroupKey o) {
+            return Integer.compare(id, o.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GroupKey && ((GroupKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id >>> 3;
+        }
+    }
+
+    private Object key(int i) {
+        switch (keyType) {
+            case "integer":
+                return i;
+            case "string":
+                return "key-" + i;
+            case "record":
+                return new CompositeKey(i & 1023, i);
+            default:
+                return new GroupKey(i);
+        }
+    }
+
+    /**
+     * Fills the map and prepares random existing and absent probe keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        Object[] keys = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = key(i);
+        }
+        if (impl.equals("my")) {
+            my = new MyHashMap<>(16, loadFactor);
+            for (int i = 0; i < size; i++) {
+                my.put(keys[i], i);
+            }
+        } else {
+            jdk = new HashMap<>(16, loadFactor);
+            for (int i = 0; i < size; i++) {
+                jdk.put(keys[i], i);
+            }
+        }
+        Random random = new Random(42);
+        hits = new Object[PROBES];
+        misses = new Object[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            hits[i] = keys[random.nextInt(size)];
+            misses[i] = key(size + random.nextInt(Integer.MAX_VALUE - size));
+        }
+    }
+
+    /**
+     * Releases the map before the next trial allocates its own.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        my = null;
+        jdk = null;
+    }
+
+    private Object nextHit() {
+        return hits[cursor++ & (PROBES - 1)];
+    }
+
+    /**
+     * Lookup of an existing key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer getHit() {
+        Object key = nextHit();
+        return my != null ? my.get(key) : jdk.get(key);
+    }
+
+    /**
+     * Lookup of an absent key.
+     *
+     * @return null
+     */
+    @Benchmark
+    public Integer getMiss() {
+        Object key = misses[cursor++ & (PROBES - 1)];
+        return my != null ? my.get(key) : jdk.get(key);
+    }
+
+    /**
+     * containsKey of an existing key.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean containsKey() {
+        Object key = nextHit();
+        return my != null ? my.containsKey(key) : jdk.containsKey(key);
+    }
+
+    /**
+     * put of an existing key (value overwrite, size unchanged).
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public Integer put() {
+        Object key = nextHit();
+        return my != null ? my.put(key, cursor) : jdk.put(key, cursor);
+    }
+
+    /**
+     * remove of an existing key followed by putting it back, so the map keeps its size.
+     *
+     * @return the removed value
+     */
+    @Benchmark
+    public Integer removeAndReinsert() {
+        Object key = nextHit();
+        if (my != null) {
+            Integer value = my.remove(key);
+            my.put(key, value);
+            return value;
+        }
+        Integer value = jdk.remove(key);
+        jdk.put(key, value);
+        return value;
+    }
+
+    /**
+     * putAll of the whole map into a new empty map with the same load factor.
+     *
+     * @return the copy
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object putAll() {
+        if (my != null) {
+            MyHashMap<Object, Integer> copy = new MyHashMap<>(16, loadFactor);
+            copy.putAll(my);
+            return copy;
+        }
+        Map<Object, Integer> copy = new HashMap<>(16, loadFactor);
+        copy.putAll(jdk);
+        return copy;
+    }
+
+    /**
+     * Iteration over keySet().
+     *
+     * @param blackhole sink for keys
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void keySet(Blackhole blackhole) {
+        for (Object key : my != null ? my.keySet() : jdk.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    /**
+     * Iteration over entrySet(), reading both key and value.
+     *
+     * @param blackhole sink for keys and values
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void entrySet(Blackhole blackhole) {
+        if (my != null) {
+            for (MyHashMap.Entry<Object, Integer> entry : my.entrySet()) {
+                blackhole.consume(entry.getKey());
+                blackhole.consume(entry.getValue());
+            }
+        } else {
+            for (Map.Entry<Object, Integer> entry : jdk.entrySet()) {
+                blackhole.consume(entry.getKey());
+                blackhole.consume(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Iteration over values().
+     *
+     * @param blackhole sink for values
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void values(Blackhole blackhole) {
+        for (Integer value : my != null ? my.values() : jdk.values()) {
+            blackhole.consume(value);
+        }
+    }
+}
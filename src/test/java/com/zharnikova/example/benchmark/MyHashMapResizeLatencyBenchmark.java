@@ -0,0 +1,63 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram of MyHashMap.put while the map keeps growing, eager vs incremental resize.
+ * Compare the p0.999 / p0.9999 / p1.0 percentiles of the two modes: with the eager resize
+ * they grow with the table size, with the incremental resize they should not.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MyHashMapResizeLatencyBenchmark {
+
+    /**
+     * Resize mode of the map.
+     */
+    @Param({"eager", "incremental"})
+    public String resize;
+
+    /**
+     * The map is replaced by an empty one after this many entries.
+     */
+    @Param({"8000000"})
+    public int maxSize;
+
+    private MyHashMap<Integer, Integer> map;
+    private int next;
+
+    /**
+     * Starts every iteration with an empty map.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        map = newMap();
+        next = 0;
+    }
+
+    private MyHashMap<Integer, Integer> newMap() {
+        return new MyHashMap<>(16, 0.75f, "incremental".equals(resize));
+    }
+
+    /**
+     * Insertion of a new key.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public Integer put() {
+        if (next == maxSize) {
+            map = newMap();
+            next = 0;
+        }
+        Integer key = next++;
+        return map.put(key, key);
+    }
+}
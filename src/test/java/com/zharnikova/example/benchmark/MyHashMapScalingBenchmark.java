@@ -0,0 +1,71 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get/put latency of MyHashMap from 10K to 10M entries.
+ * With a growing table the average time per operation should stay flat across sizes
+ * (apart from cache effects), instead of growing with the chain length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MyHashMapScalingBenchmark {
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> map;
+    private Integer[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the map and prepares a shuffled array of existing keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        int lookups = Integer.highestOneBit(Math.min(size, 1 << 20));
+        mask = lookups - 1;
+        keys = new Integer[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Lookup of an existing key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public Integer get() {
+        return map.get(keys[cursor++ & mask]);
+    }
+
+    /**
+     * Replacement of the value of an existing key.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public Integer put() {
+        Integer key = keys[cursor++ & mask];
+        return map.put(key, key);
+    }
+}
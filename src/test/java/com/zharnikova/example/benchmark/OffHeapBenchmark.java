@@ -0,0 +1,99 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.Codec;
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.OffHeapMyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-heap MyHashMap&lt;Long, String&gt; vs OffHeapMyHashMap with the same data.
+ * The trial setup prints the heap used after a full GC, which shows how much of the table stays on the heap;
+ * run with "-prof gc" to compare the allocation rate of lookups.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OffHeapBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"heap", "offHeap"})
+    public String impl;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Long, String> heap;
+    private OffHeapMyHashMap<Long, String> offHeap;
+    private Long[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the selected map and prints the heap it occupies.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        if ("heap".equals(impl)) {
+            heap = new MyHashMap<>();
+            for (long i = 0; i < size; i++) {
+                heap.put(i, "value-" + i);
+            }
+        } else {
+            offHeap = new OffHeapMyHashMap<>(Codec.LONG, Codec.STRING);
+            for (long i = 0; i < size; i++) {
+                offHeap.put(i, "value-" + i);
+            }
+        }
+        System.out.println("heap used by " + impl + ": " + (usedHeap() - before) / 1024 + " KB"
+                + (offHeap != null ? ", off-heap: " + offHeap.offHeapBytes() / 1024 + " KB" : ""));
+
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keys = new Long[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = (long) random.nextInt(size);
+        }
+    }
+
+    /**
+     * Releases the native memory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeap != null) {
+            offHeap.close();
+        }
+    }
+
+    /**
+     * Lookup of an existing key; the off-heap map decodes the value on every call.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public String get() {
+        Long key = keys[cursor++ & mask];
+        return "heap".equals(impl) ? heap.get(key) : offHeap.get(key);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,98 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.RobinHoodMyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chained MyHashMap vs open-addressing RobinHoodMyHashMap on hit-heavy and miss-heavy lookups and on building a map.
+ * Run with "-prof gc" to see the allocation rate (gc.alloc.rate.norm) next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class OpenAddressingBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"chained", "robinHood"})
+    public String impl;
+
+    /**
+     * Share of lookups that find their key, in percent.
+     */
+    @Param({"90", "10"})
+    public int hitPercent;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> chained;
+    private RobinHoodMyHashMap<Integer, Integer> robinHood;
+    private Integer[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the map with even keys; odd lookup keys miss.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        chained = new MyHashMap<>();
+        robinHood = new RobinHoodMyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            chained.put(i * 2, i);
+            robinHood.put(i * 2, i);
+        }
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keys = new Integer[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            int key = random.nextInt(size) * 2;
+            keys[i] = random.nextInt(100) < hitPercent ? key : key + 1;
+        }
+    }
+
+    /**
+     * Lookup with the configured hit ratio.
+     *
+     * @return the value or null
+     */
+    @Benchmark
+    public Integer get() {
+        Integer key = keys[cursor++ & mask];
+        return "chained".equals(impl) ? chained.get(key) : robinHood.get(key);
+    }
+
+    /**
+     * Builds a map of 10000 entries, which shows the per-entry allocation.
+     *
+     * @return the built map size
+     */
+    @Benchmark
+    public int build() {
+        if ("chained".equals(impl)) {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>();
+            for (int i = 0; i < 10000; i++) {
+                map.put(keys[i], i);
+            }
+            return map.size();
+        }
+        RobinHoodMyHashMap<Integer, Integer> map = new RobinHoodMyHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            map.put(keys[i], i);
+        }
+        return map.size();
+    }
+}
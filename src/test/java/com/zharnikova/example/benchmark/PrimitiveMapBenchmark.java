@@ -0,0 +1,108 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.IntIntMap;
+import com.zharnikova.example.MyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed MyHashMap&lt;Integer, Integer&gt; vs IntIntMap.
+ * get and put measure throughput on a filled map; build measures the memory footprint: run with "-prof gc",
+ * gc.alloc.rate.norm of build is the number of bytes allocated to build a map of the given size
+ * (including the arrays dropped by resizes, and for MyHashMap the Entry objects and boxed keys and values).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimitiveMapBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"boxed", "primitive"})
+    public String impl;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> boxed;
+    private IntIntMap primitive;
+    private int[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the maps and prepares random existing keys.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        boxed = new MyHashMap<>();
+        primitive = new IntIntMap();
+        for (int i = 0; i < size; i++) {
+            boxed.put(i, i);
+            primitive.put(i, i);
+        }
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keys = new int[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            keys[i] = random.nextInt(size);
+        }
+    }
+
+    /**
+     * Lookup of an existing key.
+     *
+     * @return the value
+     */
+    @Benchmark
+    public int get() {
+        int key = keys[cursor++ & mask];
+        return "boxed".equals(impl) ? boxed.get(key) : primitive.get(key);
+    }
+
+    /**
+     * Replacement of the value of an existing key with a value outside the Integer cache.
+     *
+     * @return the previous value
+     */
+    @Benchmark
+    public int put() {
+        int key = keys[cursor++ & mask];
+        return "boxed".equals(impl) ? boxed.put(key, key + 1000) : primitive.put(key, key + 1000);
+    }
+
+    /**
+     * Builds a map of the given size from scratch.
+     *
+     * @return the built map size
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int build() {
+        if ("boxed".equals(impl)) {
+            MyHashMap<Integer, Integer> map = new MyHashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(i, i + 1000);
+            }
+            return map.size();
+        }
+        IntIntMap map = new IntIntMap();
+        for (int i = 0; i < size; i++) {
+            map.put(i, i + 1000);
+        }
+        return map.size();
+    }
+}
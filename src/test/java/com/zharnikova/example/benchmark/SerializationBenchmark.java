@@ -0,0 +1,101 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.MyHashMapBinaryCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot and restore of a MyHashMap&lt;Integer, String&gt;: Java serialization (writeObject/readObject) vs MyHashMapBinaryCodec, in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SerializationBenchmark {
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Integer, String> map;
+    private byte[] serialized;
+    private byte[] binary;
+
+    /**
+     * Fills the map and prepares both snapshots.
+     *
+     * @throws IOException never for in-memory streams
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(i, "value-" + i);
+        }
+        serialized = serialize();
+        binary = writeBinary();
+        System.out.println("serialized: " + serialized.length / 1024 + " KB, binary: " + binary.length / 1024 + " KB");
+    }
+
+    /**
+     * Java serialization of the map.
+     *
+     * @return the bytes
+     * @throws IOException never for in-memory streams
+     */
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 24);
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(bytes, 1 << 16))) {
+            out.writeObject(map);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Java deserialization of the map.
+     *
+     * @return the map
+     * @throws IOException            never for in-memory streams
+     * @throws ClassNotFoundException never
+     */
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new ByteArrayInputStream(serialized), 1 << 16))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Binary codec write.
+     *
+     * @return the bytes
+     * @throws IOException never for in-memory streams
+     */
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 24);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes, 1 << 16))) {
+            MyHashMapBinaryCodec.write(map, out);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Binary codec read.
+     *
+     * @return the map
+     * @throws IOException never for in-memory streams
+     */
+    @Benchmark
+    public Object readBinary() throws IOException {
+        return MyHashMapBinaryCodec.read(new DataInputStream(new BufferedInputStream(new ByteArrayInputStream(binary), 1 << 16)));
+    }
+}
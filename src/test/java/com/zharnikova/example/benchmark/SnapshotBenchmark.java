@@ -0,0 +1,107 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.PersistentMyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpointing a map that keeps changing: a batch of puts followed by a consistent snapshot.
+ * MyHashMap has to copy every entry per checkpoint; PersistentMyHashMap shares structure and only copies the paths the next batch touches.
+ * Also compares plain lookups, since the trie pays for snapshots with a few extra pointer hops.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SnapshotBenchmark {
+
+    /**
+     * Number of entries.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    /**
+     * Puts per batch between two checkpoints.
+     */
+    @Param({"1000"})
+    public int batch;
+
+    private Integer[] keys;
+    private MyHashMap<Integer, Integer> plain;
+    private PersistentMyHashMap<Integer, Integer> persistent;
+    private PersistentMyHashMap<Integer, Integer> snapshot;
+
+    /**
+     * Fills both maps with the same entries.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = new Integer[size];
+        plain = new MyHashMap<>();
+        persistent = new PersistentMyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = i;
+            plain.put(keys[i], i);
+            persistent.put(keys[i], i);
+        }
+        snapshot = persistent.snapshot();
+    }
+
+    /**
+     * Batch of puts, then a full copy as the checkpoint.
+     *
+     * @return the checkpoint
+     */
+    @Benchmark
+    public MyHashMap<Integer, Integer> copyCheckpoint() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < batch; i++) {
+            plain.put(keys[random.nextInt(size)], i);
+        }
+        MyHashMap<Integer, Integer> copy = MyHashMap.withExpectedSize(size);
+        copy.putAll(plain);
+        return copy;
+    }
+
+    /**
+     * Batch of puts, then an O(1) snapshot as the checkpoint.
+     *
+     * @return the checkpoint
+     */
+    @Benchmark
+    public PersistentMyHashMap<Integer, Integer> persistentCheckpoint() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < batch; i++) {
+            persistent.put(keys[random.nextInt(size)], i);
+        }
+        return persistent.snapshot();
+    }
+
+    /**
+     * Random lookup in MyHashMap.
+     *
+     * @return the value
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer getPlain() {
+        return plain.get(keys[ThreadLocalRandom.current().nextInt(size)]);
+    }
+
+    /**
+     * Random lookup in a PersistentMyHashMap snapshot.
+     *
+     * @return the value
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer getSnapshot() {
+        return snapshot.get(keys[ThreadLocalRandom.current().nextInt(size)]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.ConcurrentMyHashMap;
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.StripedMyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-heavy counter workload: every operation is merge(key, 1, Integer::sum) on one shared map.
+ * Compares StripedMyHashMap with MyHashMap behind a single lock and ConcurrentMyHashMap.
+ * Run once per thread count, e.g. {@code -t 1}, {@code -t 4}, {@code -t 16}; striping only pays off with several cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StripedCounterBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"striped", "synchronized", "concurrent"})
+    public String impl;
+
+    /**
+     * Number of distinct counters.
+     */
+    @Param({"100000"})
+    public int keys;
+
+    private StripedMyHashMap<Integer, Integer> striped;
+    private MyHashMap<Integer, Integer> locked;
+    private ConcurrentMyHashMap<Integer, Integer> concurrent;
+    private Integer[] keyObjects;
+
+    /**
+     * Creates the maps and boxes the keys up front.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        striped = new StripedMyHashMap<>(keys * 2, 0.75f, 64);
+        locked = new MyHashMap<>(keys * 2);
+        concurrent = new ConcurrentMyHashMap<>(keys * 2);
+        keyObjects = new Integer[keys];
+        for (int i = 0; i < keys; i++) {
+            keyObjects[i] = i;
+        }
+    }
+
+    /**
+     * Increments a random counter.
+     *
+     * @return the new count
+     */
+    @Benchmark
+    public Integer increment() {
+        Integer key = keyObjects[ThreadLocalRandom.current().nextInt(keys)];
+        switch (impl) {
+            case "striped":
+                return striped.merge(key, 1, Integer::sum);
+            case "synchronized":
+                synchronized (locked) {
+                    Integer old = locked.get(key);
+                    Integer value = old == null ? 1 : old + 1;
+                    locked.put(key, value);
+                    return value;
+                }
+            default:
+                return concurrent.merge(key, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.zharnikova.example.benchmark;
+
+import com.zharnikova.example.MyHashMap;
+import com.zharnikova.example.RobinHoodMyHashMap;
+import com.zharnikova.example.SwissMyHashMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chained MyHashMap, RobinHoodMyHashMap and the group-probed SwissMyHashMap on hit-heavy and miss-heavy lookups.
+ * The fork adds the jdk.incubator.vector module, so the vector GroupMatcher is used; without it the scalar fallback is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class SwissTableBenchmark {
+
+    /**
+     * Map implementation.
+     */
+    @Param({"chained", "robinHood", "swiss"})
+    public String impl;
+
+    /**
+     * Share of lookups that find their key, in percent.
+     */
+    @Param({"90", "10"})
+    public int hitPercent;
+
+    /**
+     * Number of entries in the map.
+     */
+    @Param({"1000000"})
+    public int size;
+
+    private MyHashMap<Integer, Integer> chained;
+    private RobinHoodMyHashMap<Integer, Integer> robinHood;
+    private SwissMyHashMap<Integer, Integer> swiss;
+    private Integer[] keys;
+    private int mask;
+    private int cursor;
+
+    /**
+     * Fills the maps with even keys; odd lookup keys miss.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        chained = new MyHashMap<>();
+        robinHood = new RobinHoodMyHashMap<>();
+        swiss = new SwissMyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            chained.put(i * 2, i);
+            robinHood.put(i * 2, i);
+            swiss.put(i * 2, i);
+        }
+        int lookups = 1 << 20;
+        mask = lookups - 1;
+        keys = new Integer[lookups];
+        Random random = new Random(42);
+        for (int i = 0; i < lookups; i++) {
+            int key = random.nextInt(size) * 2;
+            keys[i] = random.nextInt(100) < hitPercent ? key : key + 1;
+        }
+    }
+
+    /**
+     * Lookup with the configured hit ratio.
+     *
+     * @return the value or null
+     */
+    @Benchmark
+    public Integer get() {
+        Integer key = keys[cursor++ & mask];
+        switch (impl) {
+            case "chained":
+                return chained.get(key);
+            case "robinHood":
+                return robinHood.get(key);
+            default:
+                return swiss.get(key);
+        }
+    }
+}